@@ -9,11 +9,17 @@
  */
 package typewriter.api;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.function.UnaryOperator;
 
 import kiss.Signal;
 import kiss.Variable;
 import typewriter.query.AVGOption;
+import typewriter.query.Aggregated;
+import typewriter.query.Aggregator;
 
 public interface Accumulable<M> {
 
@@ -24,6 +30,25 @@ public interface Accumulable<M> {
      */
     long count();
 
+    /**
+     * Estimate the number of registered models from the statistics of the data source without
+     * scanning. It is the exact count when no statistics are available.
+     * 
+     * @return The estimated number.
+     */
+    default long estimatedCount() {
+        return count();
+    }
+
+    /**
+     * Collect the statistics of the data source.
+     * 
+     * @return The estimated statistics.
+     */
+    default Statistics statistics() {
+        return new Statistics(estimatedCount(), Map.of());
+    }
+
     /**
      * Distinct values by the specified property.
      * 
@@ -74,4 +99,83 @@ public interface Accumulable<M> {
      * @return Calculated result.
      */
     <N extends Number> N sum(Specifier<M, N> specifier);
+
+    /**
+     * Calculate several aggregate functions by the single scan.
+     * 
+     * @param aggregator Describes the aggregate functions.
+     * @return Calculated result.
+     */
+    Aggregated<M> aggregate(UnaryOperator<Aggregator<M>> aggregator);
+
+    /**
+     * Aggregate only the models which match the specified conditions.
+     * 
+     * @param condition Describes conditions for the target models.
+     * @return The narrowed aggregation.
+     */
+    <QUERYABLE extends Queryable<M, QUERYABLE>> Accumulable<M> where(Function<QUERYABLE, QUERYABLE> condition);
+
+    /**
+     * Aggregate for each value of the specified property.
+     * 
+     * @param specifier A {@link Specifier} of the group property.
+     * @return The grouped aggregation.
+     */
+    <K> Grouping<M, K> groupBy(Specifier<M, K> specifier);
+
+    /**
+     * Aggregate for each combination of the specified properties. The group key is the list of
+     * property values in the specified order.
+     * 
+     * @param specifiers {@link Specifier}s of the group properties.
+     * @return The grouped aggregation.
+     */
+    Grouping<M, List> groupBy(Specifier<M, ?>... specifiers);
+
+    /**
+     * Aggregate for each time bucket of the specified temporal property. The group key is the
+     * start of each bucket in UTC.
+     * 
+     * @param time A {@link Specifier} of the temporal property.
+     * @param width The bucket width.
+     * @return The grouped aggregation.
+     */
+    default <T> Grouping<M, T> bucketBy(Specifier<M, T> time, Duration width) {
+        return bucketBy(time, width, false);
+    }
+
+    /**
+     * Aggregate for each time bucket of the specified temporal property. The group key is the
+     * start of each bucket in UTC.
+     * 
+     * @param time A {@link Specifier} of the temporal property.
+     * @param width The bucket width.
+     * @param fill Whether the empty buckets between the first and the last bucket are filled.
+     * @return The grouped aggregation.
+     */
+    <T> Grouping<M, T> bucketBy(Specifier<M, T> time, Duration width, boolean fill);
+
+    /**
+     * Aggregate for each bucket of the specified numerical property (e.g. epoch time). The group
+     * key is the start of each bucket.
+     * 
+     * @param value A {@link Specifier} of the numerical property.
+     * @param width The bucket width.
+     * @return The grouped aggregation.
+     */
+    default <N extends Number> Grouping<M, N> bucketBy(Specifier<M, N> value, long width) {
+        return bucketBy(value, width, false);
+    }
+
+    /**
+     * Aggregate for each bucket of the specified numerical property (e.g. epoch time). The group
+     * key is the start of each bucket.
+     * 
+     * @param value A {@link Specifier} of the numerical property.
+     * @param width The bucket width.
+     * @param fill Whether the empty buckets between the first and the last bucket are filled.
+     * @return The grouped aggregation.
+     */
+    <N extends Number> Grouping<M, N> bucketBy(Specifier<M, N> value, long width, boolean fill);
 }
\ No newline at end of file
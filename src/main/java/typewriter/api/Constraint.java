@@ -124,6 +124,16 @@ public interface Constraint<V, Self> {
          */
         StringConstraint contains(String value);
 
+        /**
+         * Describes the full-text search condition for the property which is annotated by
+         * {@link FullText}. The matched models are ordered by relevance unless the other order is
+         * specified.
+         * 
+         * @param text The search words.
+         * @return Chainable API.
+         */
+        StringConstraint matches(String text);
+
         /**
          * Describes conditions for the specified property.
          * 
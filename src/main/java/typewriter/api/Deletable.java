@@ -9,6 +9,8 @@
  */
 package typewriter.api;
 
+import kiss.I;
+
 public interface Deletable<M extends Identifiable> {
 
     /**
@@ -37,4 +39,22 @@ public interface Deletable<M extends Identifiable> {
      * @param specifiers A list of property {@link Specifier}.
      */
     void delete(M model, Specifier<M, ?>... specifiers);
+
+    /**
+     * Delete all given models.
+     * 
+     * @param models
+     */
+    default void deleteAll(M... models) {
+        deleteAll(I.list(models));
+    }
+
+    /**
+     * Delete all given models.
+     * 
+     * @param models
+     */
+    default void deleteAll(Iterable<M> models) {
+        models.forEach(this::delete);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.api;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import typewriter.api.Constraint.StringConstraint;
+
+/**
+ * Declare the {@link String} property which is searched by {@link StringConstraint#matches(String)}.
+ * The backend creates and maintains its native full-text index (e.g. FTS5, tsvector, FULLTEXT or
+ * text index) for the annotated property when the table is opened.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface FullText {
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.api;
+
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import typewriter.query.Aggregated;
+import typewriter.query.Aggregator;
+
+/**
+ * Aggregation for each group. All results are keyed by the group value in ascending order.
+ */
+public interface Grouping<M, K> {
+
+    /**
+     * Count the number of models in each group.
+     * 
+     * @return Calculated result.
+     */
+    Map<K, Long> count();
+
+    /**
+     * Returns the lowest value in each group.
+     * 
+     * @param specifier A {@link Specifier} of the target property.
+     * @return Calculated result.
+     */
+    <C extends Comparable> Map<K, C> min(Specifier<M, C> specifier);
+
+    /**
+     * Returns the highest value in each group.
+     * 
+     * @param specifier A {@link Specifier} of the target property.
+     * @return Calculated result.
+     */
+    <C extends Comparable> Map<K, C> max(Specifier<M, C> specifier);
+
+    /**
+     * Returns an average of numerical values in each group.
+     * 
+     * @param specifier A {@link Specifier} of the target property.
+     * @return Calculated result.
+     */
+    <N extends Number> Map<K, Double> avg(Specifier<M, N> specifier);
+
+    /**
+     * Returns a sum of numerical values in each group.
+     * 
+     * @param specifier A {@link Specifier} of the target property.
+     * @return Calculated result.
+     */
+    <N extends Number> Map<K, N> sum(Specifier<M, N> specifier);
+
+    /**
+     * Calculate several aggregate functions in each group by the single scan.
+     * 
+     * @param aggregator Describes the aggregate functions.
+     * @return Calculated result.
+     */
+    Map<K, Aggregated<M>> aggregate(UnaryOperator<Aggregator<M>> aggregator);
+}
@@ -11,14 +11,41 @@ package typewriter.api;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
 
+import kiss.Disposable;
 import kiss.I;
 import kiss.Model;
+import kiss.Observer;
 import kiss.Signal;
 import kiss.Variable;
 import kiss.WiseFunction;
+import kiss.Ⅱ;
+import kiss.Ⅲ;
 import typewriter.api.Constraint.DateConstraint;
 import typewriter.api.Constraint.ListConstraint;
 import typewriter.api.Constraint.LocalDateConstraint;
@@ -41,12 +68,56 @@ import typewriter.api.Specifier.OffsetDateTimeSpecifier;
 import typewriter.api.Specifier.StringSpecifier;
 import typewriter.api.Specifier.ZonedDateTimeSpecifier;
 import typewriter.query.AVGOption;
+import typewriter.query.Aggregated;
+import typewriter.query.Aggregator;
+import typewriter.query.Columns;
+import typewriter.query.Cursor;
+import typewriter.query.SingleFlight;
 import typewriter.rdb.Dialect;
 
 public abstract class QueryExecutor<M extends Identifiable, R, Q extends Queryable<M, Q>, Self extends QueryExecutor<M, R, Q, Self>>
         extends LazyUpdatable<M>
         implements Queryable<M, R>, Accumulable<M>, Updatable<M>, Deletable<M>, Restorable<M>, Transactional<Self> {
 
+    /** The executor of the asynchronous operations. */
+    private static final ExecutorService ASYNC = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("typewriter-async-", 0).factory());
+
+    /** The default concurrency limit of the asynchronous operations which is shared by all executors. */
+    private static final Semaphore PERMITS = new Semaphore(I.env("typewriter.async.max", 16), true);
+
+    /** The default number of ranges in the parallel scan. */
+    private static final int parallelism = I.env("typewriter.scan.parallelism", Runtime.getRuntime().availableProcessors());
+
+    /** The number of models which each range of the parallel scan reads ahead. */
+    private static final int buffer = I.env("typewriter.scan.buffer", 256);
+
+    /** The end marker of the scanned range. */
+    private static final Object END = new Object();
+
+    /** The deduplication of the identical concurrent queries. */
+    private SingleFlight flights = new SingleFlight();
+
+    /**
+     * Returns the deduplication layer of the identical concurrent queries. It is disabled unless
+     * the environment variable "typewriter.singleflight" is true.
+     * 
+     * @return The deduplication layer.
+     */
+    public SingleFlight singleFlight() {
+        return flights;
+    }
+
+    /**
+     * Configure the deduplication layer of the identical concurrent queries.
+     * 
+     * @param flights The deduplication layer.
+     */
+    public void setSingleFlight(SingleFlight flights) {
+        if (flights != null) {
+            this.flights = flights;
+        }
+    }
+
     /**
      * Create {@link Queryable}.
      * 
@@ -208,7 +279,7 @@ public abstract class QueryExecutor<M extends Identifiable, R, Q extends Queryab
      */
     @Override
     public long count() {
-        return 0;
+        return count(null);
     }
 
     /**
@@ -216,7 +287,7 @@ public abstract class QueryExecutor<M extends Identifiable, R, Q extends Queryab
      */
     @Override
     public <V> Signal<V> distinct(Specifier<M, V> specifier) {
-        return null;
+        return distinct(null, specifier);
     }
 
     /**
@@ -224,7 +295,7 @@ public abstract class QueryExecutor<M extends Identifiable, R, Q extends Queryab
      */
     @Override
     public <C extends Comparable> Variable<C> min(Specifier<M, C> specifier) {
-        return null;
+        return min(null, specifier);
     }
 
     /**
@@ -232,7 +303,7 @@ public abstract class QueryExecutor<M extends Identifiable, R, Q extends Queryab
      */
     @Override
     public <C extends Comparable> Variable<C> max(Specifier<M, C> specifier) {
-        return null;
+        return max(null, specifier);
     }
 
     /**
@@ -240,7 +311,7 @@ public abstract class QueryExecutor<M extends Identifiable, R, Q extends Queryab
      */
     @Override
     public <N extends Number> Signal<Double> avg(Specifier<M, N> specifier, UnaryOperator<AVGOption<M>> option) {
-        return I.signal();
+        return avg(null, specifier, option);
     }
 
     /**
@@ -248,9 +319,227 @@ public abstract class QueryExecutor<M extends Identifiable, R, Q extends Queryab
      */
     @Override
     public <N extends Number> N sum(Specifier<M, N> specifier) {
+        return sum(null, specifier);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Aggregated<M> aggregate(UnaryOperator<Aggregator<M>> aggregator) {
+        return accumulate(null, aggregator);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <QUERYABLE extends Queryable<M, QUERYABLE>> Accumulable<M> where(Function<QUERYABLE, QUERYABLE> condition) {
+        return new Scope(List.of(condition));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <K> Grouping<M, K> groupBy(Specifier<M, K> specifier) {
+        return new Group(List.of(), new Specifier[] {specifier});
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Grouping<M, List> groupBy(Specifier<M, ?>... specifiers) {
+        return new Group(List.of(), specifiers);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> Grouping<M, T> bucketBy(Specifier<M, T> time, Duration width, boolean fill) {
+        return new Group(List.of(), new Specifier[] {time}, width.toMillis(), fill);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <N extends Number> Grouping<M, N> bucketBy(Specifier<M, N> value, long width, boolean fill) {
+        return new Group(List.of(), new Specifier[] {value}, width, fill);
+    }
+
+    /**
+     * Count the number of the matched models.
+     * 
+     * @param query A query condition, null means all models.
+     * @return Calculated result.
+     */
+    protected long count(Q query) {
+        return 0;
+    }
+
+    /**
+     * Distinct values of the matched models by the specified property.
+     * 
+     * @param query A query condition, null means all models.
+     * @param specifier A {@link Specifier} of the target property.
+     * @return Calculated result.
+     */
+    protected <V> Signal<V> distinct(Q query, Specifier<M, V> specifier) {
+        return null;
+    }
+
+    /**
+     * Returns the lowest value of the matched models.
+     * 
+     * @param query A query condition, null means all models.
+     * @param specifier A {@link Specifier} of the target property.
+     * @return Calculated result.
+     */
+    protected <C extends Comparable> Variable<C> min(Q query, Specifier<M, C> specifier) {
+        return null;
+    }
+
+    /**
+     * Returns the highest value of the matched models.
+     * 
+     * @param query A query condition, null means all models.
+     * @param specifier A {@link Specifier} of the target property.
+     * @return Calculated result.
+     */
+    protected <C extends Comparable> Variable<C> max(Q query, Specifier<M, C> specifier) {
+        return null;
+    }
+
+    /**
+     * Returns an average of the matched models.
+     * 
+     * @param query A query condition, null means all models.
+     * @param specifier A {@link Specifier} of the target property.
+     * @param option An average option.
+     * @return Calculated result.
+     */
+    protected <N extends Number> Signal<Double> avg(Q query, Specifier<M, N> specifier, UnaryOperator<AVGOption<M>> option) {
+        return I.signal();
+    }
+
+    /**
+     * Returns a sum of the matched models.
+     * 
+     * @param query A query condition, null means all models.
+     * @param specifier A {@link Specifier} of the target property.
+     * @return Calculated result.
+     */
+    protected <N extends Number> N sum(Q query, Specifier<M, N> specifier) {
         return null;
     }
 
+    /**
+     * Calculate all aggregate functions of the matched models for each group by the single scan.
+     * 
+     * @param query A query condition, null means all models.
+     * @param groups {@link Specifier}s of the group properties, empty means the single group.
+     * @param width The positive bucket width means that the single group property is divided into
+     *            the buckets by its epoch milliseconds or its numerical value. The group key is the
+     *            start of each bucket which is converted by {@link #bucket(Class, Number)}.
+     * @param aggregator The aggregate functions.
+     * @return The calculated values in the registration order for each group in ascending order.
+     *         The key is the list of group values when multiple groups are specified, null when
+     *         no group is specified.
+     */
+    protected Map<Object, Object[]> aggregate(Q query, Specifier<M, ?>[] groups, long width, Aggregator<M> aggregator) {
+        return Map.of();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public R select(Specifier<M, ?>... specifiers) {
+        return findBy(createQueryable().select(specifiers));
+    }
+
+    /**
+     * Fetch only the specified properties as tuple.
+     * 
+     * @param a The first property.
+     * @param b The second property.
+     * @return A result stream.
+     */
+    public <A, B> Signal<Ⅱ<A, B>> tuple(Specifier<M, A> a, Specifier<M, B> b) {
+        return ((Signal<M>) select(a, b)).map(m -> I.pair(a.apply(m), b.apply(m)));
+    }
+
+    /**
+     * Fetch only the specified properties as tuple.
+     * 
+     * @param a The first property.
+     * @param b The second property.
+     * @param c The third property.
+     * @return A result stream.
+     */
+    public <A, B, C> Signal<Ⅲ<A, B, C>> tuple(Specifier<M, A> a, Specifier<M, B> b, Specifier<M, C> c) {
+        return ((Signal<M>) select(a, b, c)).map(m -> I.pair(a.apply(m), b.apply(m), c.apply(m)));
+    }
+
+    /**
+     * Fetch only the specified properties as the primitive columns. Each column is read into the
+     * chunked primitive array (the text is dictionary-encoded), so no model is created per row.
+     * 
+     * @param specifiers The properties in the column order.
+     * @return The columnar result.
+     */
+    public Columns columns(Specifier<M, ?>... specifiers) {
+        return columns(createQueryable(), specifiers);
+    }
+
+    /**
+     * Fetch only the specified properties of the matched models as the primitive columns.
+     * 
+     * @param constraint A query builder.
+     * @param specifiers The properties in the column order.
+     * @return The columnar result.
+     */
+    public <QUERYABLE extends Queryable<M, QUERYABLE>> Columns columnsBy(Function<QUERYABLE, QUERYABLE> constraint, Specifier<M, ?>... specifiers) {
+        return columns((Q) constraint.apply((QUERYABLE) createQueryable()), specifiers);
+    }
+
+    /**
+     * Fetch only the specified properties as the primitive columns. The default implementation
+     * decodes the models and decides the column type by the declared type of the property.
+     * 
+     * @param query A query builder.
+     * @param specifiers The properties in the column order.
+     * @return The columnar result.
+     */
+    protected Columns columns(Q query, Specifier<M, ?>[] specifiers) {
+        List<M> models = list(findBy(query.select(specifiers)));
+
+        Columns.Vector[] vectors = new Columns.Vector[specifiers.length];
+        for (int i = 0; i < vectors.length; i++) {
+            Class type = specifiers[i].propertyType();
+            if (type == Object.class) {
+                // the generic accessor, infer the column type from the first non-null value
+                type = String.class;
+                for (M model : models) {
+                    Object value = specifiers[i].apply(model);
+                    if (value != null) {
+                        type = value instanceof Enum ? String.class : value.getClass();
+                        break;
+                    }
+                }
+            }
+
+            vectors[i] = Columns.vectorOf(type);
+            for (M model : models) {
+                vectors[i].append(specifiers[i].apply(model));
+            }
+        }
+        return new Columns(vectors);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -293,6 +582,571 @@ public abstract class QueryExecutor<M extends Identifiable, R, Q extends Queryab
      */
     public abstract R findBy(Q query);
 
+    /**
+     * Publish all models on demand.
+     * 
+     * @return The demand-driven publisher.
+     */
+    public Flow.Publisher<M> publishAll() {
+        return publish(createQueryable());
+    }
+
+    /**
+     * Publish models by query on demand. The models are read from the database only as many as the
+     * subscriber requests.
+     * 
+     * @param constraint A query builder.
+     * @return The demand-driven publisher.
+     */
+    public <QUERYABLE extends Queryable<M, QUERYABLE>> Flow.Publisher<M> publish(Function<QUERYABLE, QUERYABLE> constraint) {
+        return publish((Q) constraint.apply((QUERYABLE) createQueryable()));
+    }
+
+    /**
+     * Publish models by query on demand.
+     * 
+     * @param query A query builder.
+     * @return The demand-driven publisher.
+     */
+    protected Flow.Publisher<M> publish(Q query) {
+        return new Cursor<>(initial -> {
+            List<M> founds = list(findBy(query));
+            return Cursor.of(founds.iterator(), null);
+        });
+    }
+
+    /**
+     * Returns the concurrency limit of the asynchronous operations. The operations which exceed the
+     * limit wait on the virtual thread until the running one finishes.
+     * 
+     * @return The shared limit.
+     */
+    protected Semaphore concurrency() {
+        return PERMITS;
+    }
+
+    /**
+     * Execute the operation on the virtual thread asynchronously.
+     * 
+     * @param operation The blocking operation.
+     * @return The result of the operation.
+     */
+    public <V> CompletableFuture<V> async(WiseFunction<Self, V> operation) {
+        Semaphore limit = concurrency();
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                limit.acquire();
+            } catch (InterruptedException e) {
+                throw I.quiet(e);
+            }
+
+            try {
+                return operation.apply((Self) this);
+            } finally {
+                limit.release();
+            }
+        }, ASYNC);
+    }
+
+    /**
+     * Find all models asynchronously.
+     * 
+     * @return The found models.
+     */
+    public CompletableFuture<List<M>> findAllAsync() {
+        return async(dao -> list(dao.findAll()));
+    }
+
+    /**
+     * Find model by id asynchronously.
+     * 
+     * @param id An identifier of the target model.
+     * @return The found model or null.
+     */
+    public CompletableFuture<M> findByAsync(long id) {
+        return async(dao -> {
+            List<M> founds = list(dao.findBy(id));
+            return founds.isEmpty() ? null : founds.get(0);
+        });
+    }
+
+    /**
+     * Find models by query asynchronously.
+     * 
+     * @param constraint A query builder.
+     * @return The found models.
+     */
+    public <QUERYABLE extends Queryable<M, QUERYABLE>> CompletableFuture<List<M>> findByAsync(Function<QUERYABLE, QUERYABLE> constraint) {
+        return async(dao -> list(dao.query(constraint)));
+    }
+
+    /**
+     * Count all models asynchronously.
+     * 
+     * @return The number of models.
+     */
+    public CompletableFuture<Long> countAsync() {
+        return async(dao -> dao.count());
+    }
+
+    /**
+     * Calculate several aggregate functions asynchronously.
+     * 
+     * @param aggregator The aggregate functions.
+     * @return The calculated values.
+     */
+    public CompletableFuture<Aggregated<M>> aggregateAsync(UnaryOperator<Aggregator<M>> aggregator) {
+        return async(dao -> dao.aggregate(aggregator));
+    }
+
+    /**
+     * Update all models asynchronously.
+     * 
+     * @param models The target models.
+     * @return The completion.
+     */
+    public CompletableFuture<Void> updateAllAsync(Iterable<M> models) {
+        return async(dao -> {
+            dao.updateAll(models);
+            return null;
+        });
+    }
+
+    /**
+     * Append all models by the native bulk loader of the backend. The models must not be stored
+     * yet.
+     * 
+     * @param models The new models.
+     */
+    public void appendAll(Iterable<M> models) {
+        updateAll(models);
+    }
+
+    /**
+     * Append all models by the native bulk loader of the backend. The models must not be stored
+     * yet.
+     * 
+     * @param models The new models.
+     */
+    public void appendAll(Signal<M> models) {
+        appendAll(models.toList());
+    }
+
+    /**
+     * Insert or replace all models by the native bulk loader of the backend.
+     * 
+     * @param models The target models.
+     */
+    public void mergeAll(Iterable<M> models) {
+        updateAll(models);
+    }
+
+    /**
+     * Insert or replace all models by the native bulk loader of the backend.
+     * 
+     * @param models The target models.
+     */
+    public void mergeAll(Signal<M> models) {
+        mergeAll(models.toList());
+    }
+
+    /**
+     * Update all models in parallel. The chunk size is configured by "typewriter.update.chunk" and
+     * the failure semantics is configured by "typewriter.update.atomic".
+     * 
+     * @param models The target models.
+     */
+    public void updateAllParallel(Iterable<M> models) {
+        updateAllParallel(models, I.env("typewriter.update.chunk", 1000), I.env("typewriter.update.atomic", false));
+    }
+
+    /**
+     * Update all models in parallel. The models are split into the chunks which are written
+     * concurrently.
+     * 
+     * @param models The target models.
+     * @param chunk The number of models in each chunk.
+     * @param atomic If true, all chunks are committed only when every chunk succeeds. Otherwise, each
+     *            chunk is committed individually and the failures are reported together after all
+     *            chunks are tried. The backend without the transaction across connections always
+     *            commits each chunk individually.
+     */
+    public void updateAllParallel(Iterable<M> models, int chunk, boolean atomic) {
+        if (chunk <= 0) {
+            throw new IllegalArgumentException("The chunk size must be positive, but " + chunk + ".");
+        }
+
+        List<Throwable> errors = new ArrayList();
+        for (CompletableFuture<Void> future : I.signal(models).buffer(chunk).map(this::updateAllAsync).toList()) {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                errors.add(e.getCause());
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            Throwable error = errors.get(0);
+            for (int i = 1; i < errors.size(); i++) {
+                error.addSuppressed(errors.get(i));
+            }
+            throw I.quiet(error);
+        }
+    }
+
+    /**
+     * Delete all models asynchronously.
+     * 
+     * @param models The target models.
+     * @return The completion.
+     */
+    public CompletableFuture<Void> deleteAllAsync(Iterable<M> models) {
+        return async(dao -> {
+            dao.deleteAll(models);
+            return null;
+        });
+    }
+
+    /**
+     * Scan all models in parallel. The identifier space is split into the ranges which are read
+     * concurrently on the separate connections.
+     * 
+     * @param ordered If true, the models are emitted in the identifier order. Otherwise, each range
+     *            is emitted as soon as it is read.
+     * @return The merged models.
+     */
+    public Signal<M> scan(boolean ordered) {
+        return scan(M::getId, parallelism, ordered);
+    }
+
+    /**
+     * Scan all models in parallel. The value space of the specified property is split into the
+     * ranges by its lowest and highest values, and the ranges are read concurrently on the separate
+     * connections. The models whose property is null are not scanned.
+     * 
+     * @param specifier A {@link Specifier} of the numeric property to split.
+     * @param partitions The number of ranges.
+     * @param ordered If true, the models are emitted in the order of the specified property.
+     *            Otherwise, each range is emitted as soon as it is read.
+     * @return The merged models.
+     */
+    public <N extends Number> Signal<M> scan(NumericSpecifier<M, N> specifier, int partitions, boolean ordered) {
+        if (partitions <= 0) {
+            throw new IllegalArgumentException("The number of partitions must be positive, but " + partitions + ".");
+        }
+
+        return new Signal<>((observer, disposer) -> {
+            // stops the reading ranges when the scan is disposed or fails
+            Disposable running = Disposable.empty();
+            disposer.add(running);
+
+            Semaphore limit = concurrency();
+            int acquired = 0;
+
+            try {
+                Aggregated<M> bounds = aggregate(a -> a.min((Specifier) specifier).max((Specifier) specifier));
+                N min = (N) bounds.min((Specifier) specifier);
+                N max = (N) bounds.max((Specifier) specifier);
+
+                if (min != null && max != null) {
+                    // each range streams into the bounded buffer, so the ranges can read ahead
+                    // concurrently without holding the whole range in memory
+                    List<LinkedBlockingQueue<Object>> buffers = new ArrayList();
+                    List<Runnable> ranges = new ArrayList();
+                    LinkedBlockingQueue<Object> shared = new LinkedBlockingQueue(buffer);
+                    List<N> splits = split(min, max, partitions);
+                    for (int i = 0; i < splits.size(); i++) {
+                        N from = splits.get(i);
+                        N to = i + 1 < splits.size() ? splits.get(i + 1) : null;
+                        LinkedBlockingQueue<Object> queue = ordered ? new LinkedBlockingQueue(buffer) : shared;
+                        buffers.add(queue);
+
+                        ranges.add(() -> ASYNC.execute(() -> {
+                            try {
+                                if (!running.isDisposed()) {
+                                    Q query = createQueryable()
+                                            .findBy(specifier, c -> to == null ? c.isOrMoreThan(from) : c.isOrMoreThan(from).isLessThan(to));
+                                    if (ordered) query = query.sortBy(specifier, true);
+
+                                    ((Signal<M>) findBy(query)).to(new Observer<M>() {
+
+                                        @Override
+                                        public void accept(M model) {
+                                            offer(queue, model, running);
+                                        }
+
+                                        @Override
+                                        public void error(Throwable e) {
+                                            offer(queue, e, running);
+                                        }
+
+                                        @Override
+                                        public void complete() {
+                                            offer(queue, END, running);
+                                        }
+                                    }, running);
+                                }
+                            } catch (Throwable e) {
+                                offer(queue, e, running);
+                            }
+                        }));
+                    }
+
+                    // The ranges don't wait for the permit of the asynchronous operation because
+                    // the scan itself may hold it (e.g. async(dao -> dao.scan(true).toList())).
+                    // Instead, only the ranges for the free permits run at once and the next range
+                    // starts when the running one is drained, so the range which the reader waits
+                    // for never lacks the connection.
+                    while (acquired < ranges.size() && limit.tryAcquire()) {
+                        acquired++;
+                    }
+
+                    Iterator<Runnable> pending = ranges.iterator();
+                    for (int i = 0; i < Math.max(1, acquired); i++) {
+                        pending.next().run();
+                    }
+                    Runnable next = () -> {
+                        if (pending.hasNext()) pending.next().run();
+                    };
+
+                    if (ordered) {
+                        for (LinkedBlockingQueue<Object> queue : buffers) {
+                            drain(queue, 1, next, observer, disposer);
+                        }
+                    } else {
+                        drain(shared, buffers.size(), next, observer, disposer);
+                    }
+                }
+
+                if (!disposer.isDisposed()) {
+                    observer.complete();
+                }
+            } catch (CompletionException e) {
+                observer.error(e.getCause());
+            } catch (Throwable e) {
+                observer.error(e);
+            } finally {
+                running.dispose();
+                limit.release(acquired);
+            }
+            return disposer;
+        });
+    }
+
+    /**
+     * Split the value space into the ranges.
+     * 
+     * @param min The lowest value.
+     * @param max The highest value.
+     * @param partitions The number of ranges.
+     * @return The lower bounds of each range in ascending order.
+     */
+    private static <N extends Number> List<N> split(N min, N max, int partitions) {
+        List<N> splits = new ArrayList();
+        splits.add(min);
+
+        if (min instanceof Double || min instanceof Float) {
+            double from = min.doubleValue();
+            double step = max.doubleValue() / partitions - from / partitions;
+            for (int i = 1; i < partitions && 0 < step; i++) {
+                splits.add((N) (min instanceof Float ? (Number) (float) (from + step * i) : (Number) (from + step * i)));
+            }
+        } else {
+            // the span of the whole long range exceeds the signed long, so treat it as unsigned
+            long from = min.longValue();
+            long remaining = max.longValue() - from;
+            long step = Long.divideUnsigned(remaining, partitions) + 1;
+            for (long bound = from; splits.size() < partitions && Long.compareUnsigned(step, remaining) <= 0;) {
+                bound += step;
+                remaining -= step;
+                splits.add((N) (Number) (min instanceof Integer ? (Number) (int) bound
+                        : min instanceof Short ? (Number) (short) bound : min instanceof Byte ? (Number) (byte) bound : (Number) bound));
+            }
+        }
+        return splits;
+    }
+
+    /**
+     * Pass the item of the range to the reader. The range waits while the buffer is full.
+     * 
+     * @param queue The buffer of the range.
+     * @param item The model, the error or the end marker.
+     * @param running The scan state.
+     */
+    private static void offer(LinkedBlockingQueue<Object> queue, Object item, Disposable running) {
+        try {
+            while (!running.isDisposed() && !queue.offer(item, 100, TimeUnit.MILLISECONDS)) {
+                // wait for the reader
+            }
+        } catch (InterruptedException e) {
+            throw I.quiet(e);
+        }
+    }
+
+    /**
+     * Emit the models of the ranges until all of them end.
+     * 
+     * @param queue The buffer of the ranges.
+     * @param ranges The number of the ranges which write to the buffer.
+     * @param ended The action when the range ends.
+     * @param observer The receiver.
+     * @param disposer The disposer.
+     */
+    private static <M> void drain(LinkedBlockingQueue<Object> queue, int ranges, Runnable ended, Observer<? super M> observer, Disposable disposer)
+            throws Throwable {
+        while (0 < ranges && !disposer.isDisposed()) {
+            Object item = queue.poll(100, TimeUnit.MILLISECONDS);
+            if (item == null) {
+                continue;
+            } else if (item == END) {
+                ranges--;
+                ended.run();
+            } else if (item instanceof Throwable e) {
+                throw e;
+            } else {
+                observer.accept((M) item);
+            }
+        }
+    }
+
+    /**
+     * Collect the result stream.
+     * 
+     * @param result The result stream.
+     * @return The collected models.
+     */
+    private List<M> list(R result) {
+        // all executors return the result as Signal
+        return ((Signal<M>) result).toList();
+    }
+
+    /**
+     * Build the query from the accumulated conditions.
+     * 
+     * @param conditions
+     * @return The query or null when no condition is specified.
+     */
+    private Q build(List<Function> conditions) {
+        if (conditions.isEmpty()) {
+            return null;
+        }
+
+        Q query = createQueryable();
+        for (Function condition : conditions) {
+            query = (Q) condition.apply(query);
+        }
+        return query;
+    }
+
+    /**
+     * Calculate all aggregate functions of the matched models as the single group.
+     * 
+     * @param query A query condition, null means all models.
+     * @param aggregator Describes the aggregate functions.
+     * @return Calculated result.
+     */
+    private Aggregated<M> accumulate(Q query, UnaryOperator<Aggregator<M>> aggregator) {
+        Aggregator<M> functions = aggregator.apply(new Aggregator());
+        Object[] values = aggregate(query, new Specifier[0], 0, functions).get(null);
+        return new Aggregated(functions, values == null ? new Object[functions.functions.size()] : values);
+    }
+
+    /**
+     * Fill the empty buckets between the first and the last bucket.
+     * 
+     * @param buckets The calculated buckets in ascending order.
+     * @param width The bucket width.
+     * @param aggregator The aggregate functions.
+     * @return The continuous buckets.
+     */
+    private Map<Object, Object[]> fill(Map<Object, Object[]> buckets, long width, Aggregator<M> aggregator) {
+        if (buckets.size() < 2) {
+            return buckets;
+        }
+
+        List<Object> keys = List.copyOf(buckets.keySet());
+        Class type = keys.get(0).getClass();
+        long end = epoch(keys.get(keys.size() - 1));
+
+        Map<Object, Object[]> filled = new LinkedHashMap();
+        for (long start = epoch(keys.get(0)); start <= end; start += width) {
+            Object key = bucket(type, start);
+            Object[] values = buckets.get(key);
+            if (values == null) {
+                values = new Object[aggregator.functions.size()];
+                for (int i = 0; i < values.length; i++) {
+                    if (aggregator.functions.get(i).ⅰ.equals("count")) values[i] = 0L;
+                }
+            }
+            filled.put(key, values);
+        }
+        return filled;
+    }
+
+    /**
+     * Convert the start of bucket to the value of the bucket property type.
+     * 
+     * @param type The bucket property type.
+     * @param start The epoch milliseconds (the milliseconds of day for {@link LocalTime}) or the
+     *            numerical value.
+     * @return The bucket key.
+     */
+    protected static Object bucket(Class type, Number start) {
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(start.longValue()), ZoneOffset.UTC);
+        } else if (type == LocalDate.class) {
+            return LocalDate.ofInstant(Instant.ofEpochMilli(start.longValue()), ZoneOffset.UTC);
+        } else if (type == LocalTime.class) {
+            return LocalTime.ofNanoOfDay(start.longValue() * 1000000);
+        } else if (type == ZonedDateTime.class) {
+            return ZonedDateTime.ofInstant(Instant.ofEpochMilli(start.longValue()), ZoneOffset.UTC);
+        } else if (type == OffsetDateTime.class) {
+            return OffsetDateTime.ofInstant(Instant.ofEpochMilli(start.longValue()), ZoneOffset.UTC);
+        } else if (type == Date.class) {
+            return new Date(start.longValue());
+        } else if (type == int.class || type == Integer.class) {
+            return start.intValue();
+        } else if (type == short.class || type == Short.class) {
+            return start.shortValue();
+        } else if (type == byte.class || type == Byte.class) {
+            return start.byteValue();
+        } else if (type == double.class || type == Double.class) {
+            return start.doubleValue();
+        } else if (type == float.class || type == Float.class) {
+            return start.floatValue();
+        } else if (type == BigDecimal.class) {
+            return (start instanceof BigDecimal decimal ? decimal : BigDecimal.valueOf(start.longValue())).stripTrailingZeros();
+        } else {
+            return start.longValue();
+        }
+    }
+
+    /**
+     * Convert the bucket key to the epoch milliseconds (the milliseconds of day for
+     * {@link LocalTime}) or the numerical value.
+     * 
+     * @param key The bucket key.
+     * @return The start of bucket.
+     */
+    private static long epoch(Object key) {
+        if (key instanceof LocalDateTime time) {
+            return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+        } else if (key instanceof LocalDate date) {
+            return date.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+        } else if (key instanceof LocalTime time) {
+            return time.toNanoOfDay() / 1000000;
+        } else if (key instanceof ZonedDateTime time) {
+            return time.toInstant().toEpochMilli();
+        } else if (key instanceof OffsetDateTime time) {
+            return time.toInstant().toEpochMilli();
+        } else if (key instanceof Date date) {
+            return date.getTime();
+        } else {
+            // the floating bucket starts at the multiple of the integral width
+            return ((Number) key).longValue();
+        }
+    }
+
     /**
      * Helper to convert from {@link Specifier} to property names.
      * 
@@ -302,4 +1156,255 @@ public abstract class QueryExecutor<M extends Identifiable, R, Q extends Queryab
     protected static Signal<String> names(Dialect dialect, Specifier[] specifiers) {
         return I.signal(specifiers).skipNull().map(specifier -> specifier.propertyName(dialect));
     }
-}
\ No newline at end of file
+
+    /**
+     * The narrowed aggregation.
+     */
+    private class Scope implements Accumulable<M> {
+
+        /** The accumulated conditions. */
+        private final List<Function> conditions;
+
+        /**
+         * @param conditions
+         */
+        private Scope(List<Function> conditions) {
+            this.conditions = conditions;
+        }
+
+        /**
+         * Build the query from all conditions.
+         * 
+         * @return
+         */
+        private Q query() {
+            return build(conditions);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long count() {
+            return QueryExecutor.this.count(query());
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public <V> Signal<V> distinct(Specifier<M, V> specifier) {
+            return QueryExecutor.this.distinct(query(), specifier);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public <C extends Comparable> Variable<C> min(Specifier<M, C> specifier) {
+            return QueryExecutor.this.min(query(), specifier);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public <C extends Comparable> Variable<C> max(Specifier<M, C> specifier) {
+            return QueryExecutor.this.max(query(), specifier);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public <N extends Number> Signal<Double> avg(Specifier<M, N> specifier, UnaryOperator<AVGOption<M>> option) {
+            return QueryExecutor.this.avg(query(), specifier, option);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public <N extends Number> N sum(Specifier<M, N> specifier) {
+            return QueryExecutor.this.sum(query(), specifier);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Aggregated<M> aggregate(UnaryOperator<Aggregator<M>> aggregator) {
+            return accumulate(query(), aggregator);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public <QUERYABLE extends Queryable<M, QUERYABLE>> Accumulable<M> where(Function<QUERYABLE, QUERYABLE> condition) {
+            List<Function> list = new ArrayList(conditions);
+            list.add(condition);
+            return new Scope(list);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public <K> Grouping<M, K> groupBy(Specifier<M, K> specifier) {
+            return new Group(conditions, new Specifier[] {specifier});
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Grouping<M, List> groupBy(Specifier<M, ?>... specifiers) {
+            return new Group(conditions, specifiers);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public <T> Grouping<M, T> bucketBy(Specifier<M, T> time, Duration width, boolean fill) {
+            return new Group(conditions, new Specifier[] {time}, width.toMillis(), fill);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public <N extends Number> Grouping<M, N> bucketBy(Specifier<M, N> value, long width, boolean fill) {
+            return new Group(conditions, new Specifier[] {value}, width, fill);
+        }
+    }
+
+    /**
+     * The grouped aggregation.
+     */
+    private class Group<K> implements Grouping<M, K> {
+
+        /** The accumulated conditions. */
+        private final List<Function> conditions;
+
+        /** The group properties. */
+        private final Specifier<M, ?>[] groups;
+
+        /** The bucket width, zero means no bucket. */
+        private final long width;
+
+        /** The gap filling. */
+        private final boolean fill;
+
+        /**
+         * @param conditions
+         * @param groups
+         */
+        private Group(List<Function> conditions, Specifier<M, ?>[] groups) {
+            this.conditions = conditions;
+            this.groups = groups;
+            this.width = 0;
+            this.fill = false;
+        }
+
+        /**
+         * @param conditions
+         * @param groups
+         * @param width
+         * @param fill
+         */
+        private Group(List<Function> conditions, Specifier<M, ?>[] groups, long width, boolean fill) {
+            if (width <= 0) {
+                throw new IllegalArgumentException("Bucket width must be positive. [" + width + "]");
+            }
+            this.conditions = conditions;
+            this.groups = groups;
+            this.width = width;
+            this.fill = fill;
+        }
+
+        /**
+         * Calculate all aggregate functions for each group.
+         * 
+         * @param aggregator
+         * @return
+         */
+        private Map<Object, Object[]> calculate(Aggregator<M> aggregator) {
+            Map<Object, Object[]> result = QueryExecutor.this.aggregate(query(), groups, width, aggregator);
+            return fill && 0 < width ? QueryExecutor.this.fill(result, width, aggregator) : result;
+        }
+
+        /**
+         * Build the query from all conditions.
+         * 
+         * @return
+         */
+        private Q query() {
+            return build(conditions);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Map<K, Long> count() {
+            return pick(new Aggregator<M>().count());
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public <C extends Comparable> Map<K, C> min(Specifier<M, C> specifier) {
+            return pick(new Aggregator<M>().min(specifier));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public <C extends Comparable> Map<K, C> max(Specifier<M, C> specifier) {
+            return pick(new Aggregator<M>().max(specifier));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public <N extends Number> Map<K, Double> avg(Specifier<M, N> specifier) {
+            return pick(new Aggregator<M>().avg(specifier));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public <N extends Number> Map<K, N> sum(Specifier<M, N> specifier) {
+            return pick(new Aggregator<M>().sum(specifier));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Map<K, Aggregated<M>> aggregate(UnaryOperator<Aggregator<M>> aggregator) {
+            Aggregator<M> functions = aggregator.apply(new Aggregator());
+            Map<K, Aggregated<M>> result = new LinkedHashMap();
+            calculate(functions).forEach((key, values) -> result.put((K) key, new Aggregated(functions, values)));
+            return result;
+        }
+
+        /**
+         * Calculate the single aggregate function for each group.
+         * 
+         * @param aggregator
+         * @return
+         */
+        private <V> Map<K, V> pick(Aggregator<M> aggregator) {
+            Map<K, V> result = new LinkedHashMap();
+            calculate(aggregator).forEach((key, values) -> result.put((K) key, (V) values[0]));
+            return result;
+        }
+    }
+}
@@ -174,6 +174,15 @@ public interface Queryable<M, R> {
      */
     <N> R findBy(ListSpecifier<M, N> specifier, UnaryOperator<ListConstraint<N>> constraint);
 
+    /**
+     * Fetch only the specified properties. The identifier is always fetched, and the other
+     * properties of the resulting model are left as their default values.
+     * 
+     * @param specifiers Specify the target properties type-safely.
+     * @return Chainable API.
+     */
+    R select(Specifier<M, ?>... specifiers);
+
     /**
      * Limit size of query result.
      * 
@@ -53,6 +53,15 @@ public interface Specifier<S, T> extends Function<S, T>, Serializable {
         });
     }
 
+    /**
+     * Estimate the property type by the declared type of the accessor.
+     * 
+     * @return
+     */
+    default Class propertyType() {
+        return method().ⅰ.getReturnType();
+    }
+
     /**
      * Get the implementation of this lambda.
      * 
@@ -0,0 +1,32 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.api;
+
+import java.util.Map;
+
+/**
+ * The statistics of the data source. All values are estimated and may be stale.
+ *
+ * @param rows The estimated number of models.
+ * @param columns The statistics of each column keyed by the column name. It may be empty when the
+ *            data source has no column statistics.
+ */
+public record Statistics(long rows, Map<String, Column> columns) {
+
+    /**
+     * The statistics of the column.
+     *
+     * @param name The column name.
+     * @param nullFraction The fraction of null values, NaN means unknown.
+     * @param distinct The estimated number of distinct values, NaN means unknown.
+     */
+    public record Column(String name, double nullFraction, double distinct) {
+    }
+}
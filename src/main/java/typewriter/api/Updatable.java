@@ -59,6 +59,16 @@ public interface Updatable<M extends Identifiable> {
         models.forEach(this::update);
     }
 
+    /**
+     * Update the properties of all given models.
+     * 
+     * @param models
+     * @param specifiers A list of property {@link Specifier}.
+     */
+    default void updateAll(Iterable<M> models, Specifier<M, ?>... specifiers) {
+        models.forEach(model -> update(model, specifiers));
+    }
+
     /**
      * Update the properties of all given models.
      * 
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.duck;
+
+import java.sql.ResultSet;
+import java.util.function.Function;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowReader;
+import org.duckdb.DuckDBResultSet;
+
+import kiss.I;
+import kiss.Observer;
+import kiss.Signal;
+import typewriter.api.Identifiable;
+import typewriter.rdb.RDB;
+import typewriter.rdb.RDBQuery;
+
+/**
+ * The Arrow export of {@link DuckDB}. The query result is exported by the Arrow C stream interface
+ * without decoding the rows into models, so the core classes never depend on Arrow.
+ */
+public class DuckArrow {
+
+    /** The maximum number of rows in one Arrow record batch. */
+    private static final long batch = I.env("typewriter.query.arrow.batch", 65536L);
+
+    /**
+     * Hide constructor.
+     */
+    private DuckArrow() {
+    }
+
+    /**
+     * Read all rows as Arrow record batches. The emitted root is reused for all batches, so it is
+     * valid only while the observer processes it.
+     * 
+     * @param rdb The DuckDB data source.
+     * @param allocator The allocator of the off-heap buffers.
+     * @return The record batches.
+     */
+    public static <M extends Identifiable> Signal<VectorSchemaRoot> arrow(RDB<M> rdb, BufferAllocator allocator) {
+        return arrow(rdb, Function.identity(), allocator);
+    }
+
+    /**
+     * Read the matched rows as Arrow record batches. The emitted root is reused for all batches, so
+     * it is valid only while the observer processes it.
+     * 
+     * @param rdb The DuckDB data source.
+     * @param constraint A query builder.
+     * @param allocator The allocator of the off-heap buffers.
+     * @return The record batches.
+     */
+    public static <M extends Identifiable> Signal<VectorSchemaRoot> arrow(RDB<M> rdb, Function<RDBQuery<M>, RDBQuery<M>> constraint, BufferAllocator allocator) {
+        if (!(rdb.dialect() instanceof DuckDB)) {
+            throw new UnsupportedOperationException(rdb.dialect().getClass().getSimpleName() + " can't export Arrow record batches.");
+        }
+
+        return new Signal<>((observer, disposer) -> {
+            rdb.results(constraint).to(new Observer<ResultSet>() {
+
+                @Override
+                public void accept(ResultSet result) {
+                    try (ArrowReader reader = (ArrowReader) result.unwrap(DuckDBResultSet.class).arrowExportStream(allocator, batch)) {
+                        while (!disposer.isDisposed() && reader.loadNextBatch()) {
+                            observer.accept(reader.getVectorSchemaRoot());
+                        }
+                    } catch (Exception e) {
+                        throw I.quiet(e);
+                    }
+                }
+
+                @Override
+                public void error(Throwable e) {
+                    observer.error(e);
+                }
+
+                @Override
+                public void complete() {
+                    observer.complete();
+                }
+            }, disposer);
+            return disposer;
+        });
+    }
+}
\ No newline at end of file
@@ -11,18 +11,41 @@ package typewriter.duck;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+import org.duckdb.DuckDBAppender;
+import org.duckdb.DuckDBConnection;
 
 import kiss.I;
+import kiss.Property;
+import kiss.Ⅱ;
 import typewriter.rdb.Dialect;
+import typewriter.rdb.FileFormat;
+import typewriter.rdb.RDBCodec;
 
 public class DuckDB extends Dialect {
 
     /** The JAVA-SQL type mapping. */
     private static final Map<Class, String> TYPES = new HashMap();
 
+    /** The column types which are written by the appender, Void means the unknown column. */
+    private static final Set<Class> APPENDABLES = Set
+            .of(int.class, long.class, float.class, double.class, short.class, byte.class, boolean.class, Integer.class, Long.class, Float.class, Double.class, Short.class, Byte.class, Boolean.class, String.class, BigDecimal.class, Void.class);
+
+    /** The column comment which marks the list column storing the plain (not JSON-quoted) text. */
+    private static final String PLAIN_LIST = "typewriter:plain";
+
     static {
         TYPES.put(int.class, "integer");
         TYPES.put(long.class, "long");
@@ -82,6 +105,197 @@ public class DuckDB extends Dialect {
         return "regexp_matches(" + propertyName + ", '" + regex + "')";
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String commandEstimatedCount(String name) {
+        return "SELECT estimated_size FROM duckdb_tables() WHERE schema_name = current_schema() AND table_name = '" + name + "'";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String commandStatistics(String name) {
+        // DuckDB keeps no persistent distinct count, so report only what the catalog knows
+        return "SELECT column_name, CASE WHEN NOT is_nullable THEN 0 END, NULL FROM duckdb_columns() WHERE schema_name = current_schema() AND table_name = '" + name + "'";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String commandDistinctCount(String columnName) {
+        return "approx_count_distinct(" + columnName + ")";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void bind(PreparedStatement statement, int index, Object value) throws SQLException {
+        if (value instanceof RDBCodec.Elements elements) {
+            statement.setArray(index, statement.getConnection().createArrayOf("VARCHAR", elements.texts()));
+        } else {
+            super.bind(statement, index, value);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void migrateList(Connection connection, String tableName, String column, Property property, String typeName) throws SQLException {
+        String name = tableName.replace("'", "''");
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet result = statement.executeQuery("SELECT comment FROM duckdb_columns() WHERE table_name = '" + name + "' AND column_name = '" + column + "'")) {
+                if (result.next() && PLAIN_LIST.equals(result.getString(1))) {
+                    return;
+                }
+            }
+
+            // the elements were stored as JSON text (e.g. "text"), unquote them at once and mark the
+            // column (the new table is empty, so it is just marked)
+            String quoted = "\"" + column + "\"";
+            statement.execute("UPDATE \"" + tableName + "\" SET " + quoted + " = list_transform(" + quoted + ", x -> CASE WHEN json_valid(x) THEN json_extract_string(x, '$') ELSE x END)");
+            statement.execute("COMMENT ON COLUMN \"" + tableName + "\"." + quoted + " IS '" + PLAIN_LIST + "'");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean append(Connection connection, String name, List<Ⅱ<String, Class>> columns, Iterable<Object[]> rows) throws Exception {
+        for (Ⅱ<String, Class> column : columns) {
+            if (!APPENDABLES.contains(column.ⅱ)) {
+                return false;
+            }
+        }
+        Lazy.append(connection, name, rows);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean exportFile(Connection connection, String tableName, Collection<String> lists, Path file, FileFormat format) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(format.copy("SELECT *" + replace(lists, "to_json(%s)::VARCHAR") + " FROM " + tableName, file));
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean importFile(Connection connection, String tableName, Collection<String> lists, Path file, FileFormat format) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            String select = "SELECT *" + replace(lists, "from_json(%s, '[\"VARCHAR\"]')") + " FROM " + format.read(file);
+            statement.execute("INSERT INTO " + tableName + " BY NAME " + select);
+        }
+        return true;
+    }
+
+    /**
+     * Build the REPLACE clause which converts the list columns by the expression.
+     * 
+     * @param lists The list column names.
+     * @param expression The conversion which receives the quoted column name.
+     * @return The clause or empty text.
+     */
+    private static String replace(Collection<String> lists, String expression) {
+        if (lists.isEmpty()) {
+            return "";
+        }
+
+        StringJoiner joiner = new StringJoiner(", ", " REPLACE (", ")");
+        for (String list : lists) {
+            String column = "\"" + list + "\"";
+            joiner.add(String.format(expression, column) + " AS " + column);
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String commandCreateStage(String stageName, String tableName) {
+        // the appender can't write into the temporary schema
+        return "CREATE TABLE " + stageName + " AS SELECT * FROM " + tableName + " WHERE 1=0";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String commandMerge(String tableName, String stageName, List<String> columns) {
+        // the staging table has the same column order as the target table
+        return "INSERT OR REPLACE INTO " + tableName + " SELECT * FROM " + stageName;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void createFullTextIndex(Connection connection, String tableName, List<String> columns) throws SQLException {
+        StringBuilder fields = new StringBuilder();
+        for (String column : columns) {
+            fields.append(", '").append(column).append("'");
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            try {
+                statement.execute("LOAD fts");
+            } catch (SQLException e) {
+                // the extension is not installed yet
+                statement.execute("INSTALL fts");
+                statement.execute("LOAD fts");
+            }
+            statement.execute("PRAGMA create_fts_index('" + tableName + "', 'id'" + fields + ", stemmer = 'none', stopwords = 'none', overwrite = 1)");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean maintainFullTextIndex() {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String commandFullText(String tableName, String propertyName, String text) {
+        return score(tableName, propertyName, text) + " IS NOT NULL";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String commandFullTextOrder(String tableName, String propertyName, String text) {
+        return score(tableName, propertyName, text) + " DESC";
+    }
+
+    /**
+     * Build the BM25 score which requires all words.
+     * 
+     * @param tableName
+     * @param column
+     * @param text
+     * @return
+     */
+    private String score(String tableName, String column, String text) {
+        return "\"fts_main_" + tableName + "\".match_bm25(id, '" + text.replace("'", "''") + "', fields := '" + column + "', conjunctive := 1)";
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -94,15 +308,79 @@ public class DuckDB extends Dialect {
      * {@inheritDoc}
      */
     @Override
-    public String commnadListContains(String propertyName, Object value) {
-        return "list_contains(" + propertyName + ", " + convert(value) + ")";
+    public String commnadListContains(String tableName, String propertyName, Object value) {
+        return "list_contains(" + propertyName + ", '" + I.transform(value, String.class).replace("'", "''") + "')";
     }
 
-    private String convert(Object value) {
-        if (value instanceof String) {
-            return "'\"" + value + "\"'";
-        } else {
-            return I.transform(value, String.class);
+    /**
+     * In-direct lazy initializer to avoid {@link ClassNotFoundException} in no duckdb environment.
+     */
+    private static class Lazy {
+
+        /**
+         * Append the encoded rows by {@link DuckDBAppender}. The appender flushes the appended rows
+         * even if the later row fails, so the rows are written in the transaction which is rolled
+         * back on failure.
+         * 
+         * @param connection
+         * @param name
+         * @param rows
+         */
+        private static void append(Connection connection, String name, Iterable<Object[]> rows) throws SQLException {
+            boolean autoCommit = connection.getAutoCommit();
+            if (autoCommit) connection.setAutoCommit(false);
+
+            try {
+                appendAll(connection, name, rows);
+                if (autoCommit) connection.commit();
+            } catch (Throwable e) {
+                // the outer transaction is rolled back by its owner
+                if (autoCommit) connection.rollback();
+                throw e;
+            } finally {
+                if (autoCommit) connection.setAutoCommit(true);
+            }
+        }
+
+        /**
+         * Append the encoded rows by {@link DuckDBAppender}.
+         * 
+         * @param connection
+         * @param name
+         * @param rows
+         */
+        private static void appendAll(Connection connection, String name, Iterable<Object[]> rows) throws SQLException {
+            try (DuckDBAppender appender = connection.unwrap(DuckDBConnection.class).createAppender(DuckDBConnection.DEFAULT_SCHEMA, name)) {
+                for (Object[] row : rows) {
+                    appender.beginRow();
+                    for (Object value : row) {
+                        if (value == null) {
+                            appender.append((String) null);
+                        } else if (value instanceof String v) {
+                            appender.append(v);
+                        } else if (value instanceof Integer v) {
+                            appender.append(v.intValue());
+                        } else if (value instanceof Long v) {
+                            appender.append(v.longValue());
+                        } else if (value instanceof Double v) {
+                            appender.append(v.doubleValue());
+                        } else if (value instanceof Float v) {
+                            appender.append(v.floatValue());
+                        } else if (value instanceof Boolean v) {
+                            appender.append(v.booleanValue());
+                        } else if (value instanceof Short v) {
+                            appender.append(v.shortValue());
+                        } else if (value instanceof Byte v) {
+                            appender.append(v.byteValue());
+                        } else if (value instanceof BigDecimal v) {
+                            appender.appendBigDecimal(v);
+                        } else {
+                            appender.append(value.toString());
+                        }
+                    }
+                    appender.endRow();
+                }
+            }
         }
     }
 }
\ No newline at end of file
@@ -12,6 +12,8 @@ package typewriter.h2;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.HashMap;
@@ -23,6 +25,7 @@ import kiss.I;
 import kiss.Property;
 import typewriter.api.Identifiable;
 import typewriter.rdb.Dialect;
+import typewriter.rdb.RDBCodec;
 import typewriter.rdb.SQL;
 
 public class H2 extends Dialect {
@@ -48,7 +51,7 @@ public class H2 extends Dialect {
         TYPES.put(BigDecimal.class, "decimal");
         TYPES.put(Boolean.class, "boolean");
         TYPES.put(String.class, "varchar");
-        TYPES.put(List.class, "varchar");
+        TYPES.put(List.class, "varchar array");
     }
 
     /**
@@ -78,16 +81,19 @@ public class H2 extends Dialect {
      */
     @Override
     public Connection createConnection(String url, Properties properties) throws Exception {
-        Connection con = super.createConnection(url + ";database_to_upper=false", properties);
+        return super.createConnection(url + ";database_to_upper=false", properties);
+    }
 
-        try (Statement stat = con.createStatement()) {
-            stat.execute("CREATE ALIAS json_array_length FOR '" + Functions.class.getName() + ".jsonArrayLength'");
-            stat.execute("CREATE ALIAS json_array_contains FOR '" + Functions.class.getName() + ".jsonArrayContains'");
-        } catch (SQLException e) {
-            // ignore
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void bind(PreparedStatement statement, int index, Object value) throws SQLException {
+        if (value instanceof RDBCodec.Elements elements) {
+            statement.setArray(index, statement.getConnection().createArrayOf("VARCHAR", elements.texts()));
+        } else {
+            super.bind(statement, index, value);
         }
-
-        return con;
     }
 
     /**
@@ -103,15 +109,90 @@ public class H2 extends Dialect {
      */
     @Override
     public String commnadListLength() {
-        return "json_array_length";
+        return "cardinality";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String commnadListContains(String tableName, String propertyName, Object value) {
+        return commandListSemiJoin(tableName, propertyName, "'" + I.transform(value, String.class).replace("'", "''") + "'");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void migrateList(Connection connection, String tableName, String column, Property property, String typeName) throws SQLException {
+        if (typeName == null || typeName.endsWith("ARRAY")) {
+            return;
+        }
+
+        // the list was stored as JSON text in varchar column, re-encode each row into the new array
+        // column which replaces the old one
+        String table = "\"" + tableName + "\"";
+        String array = column + "__array";
+        RDBCodec codec = RDBCodec.by(property.model);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + table + " ADD COLUMN IF NOT EXISTS \"" + array + "\" " + types(List.class));
+
+            try (ResultSet rows = statement.executeQuery("SELECT id, \"" + column + "\" FROM " + table);
+                    PreparedStatement update = connection.prepareStatement("UPDATE " + table + " SET \"" + array + "\" = ? WHERE id = ?")) {
+                Map<String, Object> encoded = new HashMap();
+                while (rows.next()) {
+                    String text = rows.getString(2);
+                    codec.encode(encoded, column, text == null ? null : I.json(text).as(property.model));
+                    bind(update, 1, encoded.get(column));
+                    update.setLong(2, rows.getLong(1));
+                    update.addBatch();
+                }
+                update.executeBatch();
+            }
+
+            statement.execute("ALTER TABLE " + table + " DROP COLUMN \"" + column + "\"");
+            statement.execute("ALTER TABLE " + table + " ALTER COLUMN \"" + array + "\" RENAME TO \"" + column + "\"");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void createListIndex(Connection connection, String tableName, String column) throws SQLException {
+        String list = listTableName(tableName, column);
+        if (exists(connection, list)) {
+            return;
+        }
+
+        String index = "\"" + list + "\"";
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + index + " (id bigint NOT NULL, \"value\" varchar)");
+            statement.execute("CREATE INDEX IF NOT EXISTS \"" + list + "__value\" ON " + index + " (\"value\", id)");
+            statement.execute("CREATE INDEX IF NOT EXISTS \"" + list + "__id\" ON " + index + " (id)");
+            statement.execute("CREATE TRIGGER IF NOT EXISTS \"" + list + ListIndexer.SUFFIX + "\" AFTER INSERT, UPDATE, DELETE ON \"" + tableName + "\" FOR EACH ROW CALL '" + ListIndexer.class.getName() + "'");
+        }
+        ListIndexer.backfill(connection, tableName, column);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String commandEstimatedCount(String name) {
+        return "SELECT ROW_COUNT_ESTIMATE FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = SCHEMA() AND TABLE_NAME = '" + name + "'";
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public String commnadListContains(String propertyName, Object value) {
-        return "json_array_contains(" + propertyName + ", '" + I.transform(value, String.class) + "')";
+    public String commandStatistics(String name) {
+        // the selectivity is the percentage of distinct values which is collected by ANALYZE, and 50
+        // is the default value of the unanalyzed column
+        return "SELECT c.COLUMN_NAME, CASE WHEN c.IS_NULLABLE = 'NO' THEN 0 END, CASE WHEN c.SELECTIVITY <> 50 THEN t.ROW_COUNT_ESTIMATE * c.SELECTIVITY / 100.0 END" //
+                + " FROM INFORMATION_SCHEMA.COLUMNS c JOIN INFORMATION_SCHEMA.TABLES t ON t.TABLE_SCHEMA = c.TABLE_SCHEMA AND t.TABLE_NAME = c.TABLE_NAME" //
+                + " WHERE c.TABLE_SCHEMA = SCHEMA() AND c.TABLE_NAME = '" + name + "'";
     }
 
     /**
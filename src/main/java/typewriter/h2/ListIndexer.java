@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.h2;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.h2.api.Trigger;
+
+import typewriter.rdb.Dialect;
+
+/**
+ * The row trigger which maintains the inverted side table of the list column. The trigger name must
+ * be the side table name with the "__sync" suffix.
+ */
+public class ListIndexer implements Trigger {
+
+    /** The suffix of the trigger name. */
+    static final String SUFFIX = "__sync";
+
+    /** The position of id column. */
+    private int id = -1;
+
+    /** The position of list column. */
+    private int column = -1;
+
+    /** The quoted side table name. */
+    private String index;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void init(Connection connection, String schemaName, String triggerName, String tableName, boolean before, int type)
+            throws SQLException {
+        String name = triggerName.substring(0, triggerName.length() - SUFFIX.length());
+        String list = name.substring(tableName.length() + 2);
+        this.index = '"' + name + '"';
+
+        try (ResultSet columns = connection.getMetaData().getColumns(null, schemaName, tableName, null)) {
+            while (columns.next()) {
+                String columnName = columns.getString("COLUMN_NAME");
+                if (columnName.equals("id")) {
+                    id = columns.getInt("ORDINAL_POSITION") - 1;
+                } else if (columnName.equals(list)) {
+                    column = columns.getInt("ORDINAL_POSITION") - 1;
+                }
+            }
+        }
+
+        if (id == -1 || column == -1) {
+            throw new SQLException("The list column [" + list + "] is not found in [" + tableName + "].");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void fire(Connection connection, Object[] oldRow, Object[] newRow) throws SQLException {
+        if (oldRow != null && newRow != null && Objects.equals(oldRow[id], newRow[id])
+                && Arrays.equals(elements(oldRow[column]), elements(newRow[column]))) {
+            return;
+        }
+
+        if (oldRow != null) {
+            try (PreparedStatement delete = connection.prepareStatement("DELETE FROM " + index + " WHERE id = ?")) {
+                delete.setObject(1, oldRow[id]);
+                delete.executeUpdate();
+            }
+        }
+
+        if (newRow != null) {
+            insert(connection, index, newRow[id], elements(newRow[column]));
+        }
+    }
+
+    /**
+     * Insert all elements of the existing rows into the side table.
+     * 
+     * @param connection
+     * @param tableName The unquoted table name.
+     * @param column The list column name.
+     */
+    static void backfill(Connection connection, String tableName, String column) throws SQLException {
+        String index = '"' + Dialect.listTableName(tableName, column) + '"';
+
+        try (Statement statement = connection.createStatement();
+                ResultSet rows = statement.executeQuery("SELECT id, " + column + " FROM \"" + tableName + "\"")) {
+            while (rows.next()) {
+                insert(connection, index, rows.getObject(1), elements(rows.getObject(2)));
+            }
+        }
+    }
+
+    /**
+     * Insert the elements of the row.
+     * 
+     * @param connection
+     * @param index The quoted side table name.
+     * @param id The row id.
+     * @param elements The elements.
+     */
+    private static void insert(Connection connection, String index, Object id, Object[] elements) throws SQLException {
+        if (elements.length != 0) {
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + index + " (id, \"value\") VALUES (?, ?)")) {
+                for (Object element : elements) {
+                    insert.setObject(1, id);
+                    insert.setObject(2, element);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Read the elements of the list column.
+     * 
+     * @param value
+     * @return
+     */
+    private static Object[] elements(Object value) throws SQLException {
+        if (value instanceof Array array) {
+            return (Object[]) array.getArray();
+        } else if (value instanceof Object[] array) {
+            return array;
+        } else {
+            return new Object[0];
+        }
+    }
+}
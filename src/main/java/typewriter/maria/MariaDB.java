@@ -9,21 +9,32 @@
  */
 package typewriter.maria;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
 import java.sql.Statement;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
+import java.util.StringJoiner;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import kiss.I;
 import kiss.Property;
+import kiss.Ⅱ;
 import typewriter.api.Identifiable;
+import typewriter.rdb.CSV;
 import typewriter.rdb.Dialect;
 import typewriter.rdb.SQL;
 
@@ -35,6 +46,9 @@ public class MariaDB extends Dialect {
     /** The JAVA-SQL type mapping. */
     private static final Map<Class, String> TYPES = new HashMap();
 
+    /** The number of rows which are loaded by the single LOAD DATA statement. */
+    private static final int CHUNK = I.env("typewriter.maria.load.chunk", 50000);
+
     static {
         TYPES.put(int.class, "integer");
         TYPES.put(long.class, "bigint");
@@ -78,6 +92,22 @@ public class MariaDB extends Dialect {
         return "jdbc:mariadb:mem:temporary";
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Connection createConnection(String url, Properties properties) throws Exception {
+        Properties config = new Properties();
+        // send the batched statements (e.g. the row insertion of import) by the bulk protocol and
+        // accept the streamed LOAD DATA
+        config.setProperty("useBulkStmts", "true");
+        config.setProperty("useBulkStmtsForInserts", "true");
+        config.setProperty("allowLocalInfile", "true");
+        if (properties != null) config.putAll(properties);
+
+        return super.createConnection(url, config);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -110,6 +140,123 @@ public class MariaDB extends Dialect {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String commandEstimatedCount(String name) {
+        return "SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = '" + name + "'";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String commandStatistics(String name) {
+        // the engine-independent statistics which are collected by ANALYZE TABLE ... PERSISTENT
+        return "SELECT s.column_name, s.nulls_ratio, t.TABLE_ROWS * (1 - s.nulls_ratio) / s.avg_frequency" //
+                + " FROM mysql.column_stats s JOIN information_schema.TABLES t ON t.TABLE_SCHEMA = s.db_name AND t.TABLE_NAME = s.table_name" //
+                + " WHERE s.db_name = DATABASE() AND s.table_name = '" + name + "'";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void createListIndex(Connection connection, String tableName, String column) throws SQLException {
+        String list = listTableName(tableName, column);
+        String table = "`" + tableName + "`";
+        String index = "`" + list + "`";
+
+        if (exists(connection, list)) {
+            if (!truncating(connection, list)) {
+                return;
+            }
+
+            // the side table of the previous version truncates the long element, rebuild it
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TRIGGER IF EXISTS `" + list + "__insert`");
+                statement.execute("DROP TRIGGER IF EXISTS `" + list + "__update`");
+                statement.execute("DROP TRIGGER IF EXISTS `" + list + "__delete`");
+                statement.execute("DROP TABLE " + index);
+            }
+        }
+
+        // the element is stored in full length and only its prefix is indexed, because the index
+        // key is limited to 3072 bytes
+        String insert = "INSERT INTO " + index + " (id, `value`) SELECT NEW.id, j.`value` FROM JSON_TABLE(NEW." + column + ", '$[*]' COLUMNS (`value` LONGTEXT PATH '$')) j";
+        String delete = "DELETE FROM " + index + " WHERE id = OLD.id";
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + index + " (id BIGINT NOT NULL, `value` LONGTEXT, INDEX (`value`(512), id), INDEX (id))");
+            statement.execute("CREATE TRIGGER IF NOT EXISTS `" + list + "__insert` AFTER INSERT ON " + table + " FOR EACH ROW " + insert);
+            statement.execute("CREATE TRIGGER IF NOT EXISTS `" + list + "__update` AFTER UPDATE ON " + table + " FOR EACH ROW IF NOT (NEW." + column + " <=> OLD." + column + ") THEN " + delete + "; " + insert + "; END IF");
+            statement.execute("CREATE TRIGGER IF NOT EXISTS `" + list + "__delete` AFTER DELETE ON " + table + " FOR EACH ROW " + delete);
+            statement.execute("INSERT INTO " + index + " (id, `value`) SELECT t.id, j.`value` FROM " + table + " t, JSON_TABLE(t." + column + ", '$[*]' COLUMNS (`value` LONGTEXT PATH '$')) j");
+        }
+    }
+
+    /**
+     * Check whether the side table has the length-limited column of the previous version.
+     * 
+     * @param connection
+     * @param list The side table name.
+     * @return
+     */
+    private static boolean truncating(Connection connection, String list) throws SQLException {
+        try (PreparedStatement statement = connection
+                .prepareStatement("SELECT DATA_TYPE FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = 'value'")) {
+            statement.setString(1, list);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getString(1).equalsIgnoreCase("varchar");
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void createFullTextIndex(Connection connection, String tableName, List<String> columns) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String column : columns) {
+                statement.execute("CREATE FULLTEXT INDEX IF NOT EXISTS `" + fullTextName(tableName, column) + "` ON `" + tableName + "` (" + column + ")");
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String commandFullText(String tableName, String propertyName, String text) {
+        return match(propertyName, text);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String commandFullTextOrder(String tableName, String propertyName, String text) {
+        return match(propertyName, text) + " DESC";
+    }
+
+    /**
+     * Build the boolean mode search which requires all words as the phrase to ignore the query
+     * syntax in the user input.
+     * 
+     * @param column
+     * @param text
+     * @return
+     */
+    private String match(String column, String text) {
+        StringJoiner joiner = new StringJoiner(" ");
+        for (String word : words(text)) {
+            joiner.add("+\"" + word.replace("\"", " ") + "\"");
+        }
+        return "MATCH (" + column + ") AGAINST ('" + joiner.toString().replace("\\", "\\\\").replace("'", "''") + "' IN BOOLEAN MODE)";
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -122,8 +269,10 @@ public class MariaDB extends Dialect {
      * {@inheritDoc}
      */
     @Override
-    public String commnadListContains(String propertyName, Object value) {
-        return "JSON_CONTAINS(" + propertyName + ", " + convert(value) + ", '$')";
+    public String commnadListContains(String tableName, String propertyName, Object value) {
+        return commandListSemiJoin(tableName, propertyName, "'" + I.transform(value, String.class)
+                .replace("\\", "\\\\")
+                .replace("'", "''") + "'");
     }
 
     /**
@@ -139,11 +288,170 @@ public class MariaDB extends Dialect {
                 .properties("ON DUPLICATE KEY UPDATE", properties, name -> name + "=VALUES(" + name + ")");
     }
 
-    private String convert(Object value) {
-        if (value instanceof String) {
-            return "'\"" + value + "\"'";
-        } else {
-            return I.transform(value, String.class);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean append(Connection connection, String name, List<Ⅱ<String, Class>> columns, Iterable<Object[]> rows) throws Exception {
+        // LOCAL loading can't raise the duplicated key error, it skips the duplicated rows with the
+        // warning instead, so the skipped rows are detected by the affected count to reject the
+        // whole rows as well as the other databases
+        load(connection, name, columns, rows, "IGNORE", true);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean upsert(Connection connection, String name, List<Ⅱ<String, Class>> columns, Iterable<Object[]> rows) throws Exception {
+        load(connection, name, columns, rows, "REPLACE", false);
+        return true;
+    }
+
+    /**
+     * Stream the encoded rows by LOAD DATA LOCAL INFILE in chunks.
+     * 
+     * @param connection
+     * @param name
+     * @param columns
+     * @param rows
+     * @param duplication
+     * @param strict Reject all rows if any row is skipped.
+     */
+    private void load(Connection connection, String name, List<Ⅱ<String, Class>> columns, Iterable<Object[]> rows, String duplication, boolean strict)
+            throws Exception {
+        StringJoiner names = new StringJoiner(", ", "(", ")");
+        for (Ⅱ<String, Class> column : columns) {
+            names.add(quote() + column.ⅰ + quote());
+        }
+
+        // the empty escape character makes the unquoted NULL as null and the quoted NULL as text
+        String command = "LOAD DATA LOCAL INFILE 'typewriter' " + duplication + " INTO TABLE " + quote() + name + quote() //
+                + " CHARACTER SET utf8mb4 FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' ESCAPED BY ''" //
+                + " LINES TERMINATED BY '\\n' " + names;
+
+        boolean autoCommit = connection.getAutoCommit();
+        if (autoCommit) connection.setAutoCommit(false);
+
+        try {
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Rows chunk = new Rows(iterator, CHUNK);
+                long loaded = Lazy.load(connection, command, chunk);
+                if (strict && loaded != chunk.count) {
+                    throw new SQLIntegrityConstraintViolationException((chunk.count - loaded) + " rows are duplicated in " + name + ".");
+                }
+            }
+            if (autoCommit) connection.commit();
+        } catch (Throwable e) {
+            // the outer transaction is rolled back by its owner
+            if (autoCommit) connection.rollback();
+            throw e;
+        } finally {
+            if (autoCommit) connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * The lazy CSV encoder of the rows which are read by the server on demand.
+     */
+    private static class Rows extends InputStream {
+
+        /** The encoded rows. */
+        private final Iterator<Object[]> rows;
+
+        /** The number of rows to read. */
+        private int remaining;
+
+        /** The number of encoded rows. */
+        private int count;
+
+        /** The current line. */
+        private byte[] line = new byte[0];
+
+        /** The read position in the current line. */
+        private int position;
+
+        /**
+         * @param rows The encoded rows.
+         * @param limit The number of rows to read.
+         */
+        private Rows(Iterator<Object[]> rows, int limit) {
+            this.rows = rows;
+            this.remaining = Math.max(1, limit);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read() throws IOException {
+            return fill() ? line[position++] & 0xFF : -1;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+
+            int read = 0;
+            while (read < length && fill()) {
+                int size = Math.min(length - read, line.length - position);
+                System.arraycopy(line, position, buffer, offset + read, size);
+                position += size;
+                read += size;
+            }
+            return read == 0 ? -1 : read;
+        }
+
+        /**
+         * Encode the next row if the current line is consumed.
+         * 
+         * @return false at the end of chunk.
+         */
+        private boolean fill() throws IOException {
+            while (line.length <= position) {
+                if (remaining == 0 || !rows.hasNext()) {
+                    return false;
+                }
+                remaining--;
+                count++;
+
+                Object[] row = rows.next();
+                for (int i = 0; i < row.length; i++) {
+                    // the boolean column is tinyint
+                    if (row[i] instanceof Boolean value) row[i] = value ? 1 : 0;
+                }
+                line = CSV.write(new StringBuilder(), row, ',', "NULL").toString().getBytes(StandardCharsets.UTF_8);
+                position = 0;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * In-direct lazy initializer to avoid {@link ClassNotFoundException} in no mariadb environment.
+     */
+    private static class Lazy {
+
+        /**
+         * Execute LOAD DATA LOCAL INFILE with the streamed content.
+         * 
+         * @param connection
+         * @param command
+         * @param input
+         * @return The number of loaded rows.
+         */
+        private static long load(Connection connection, String command, InputStream input) throws SQLException {
+            try (Statement statement = connection.createStatement()) {
+                statement.unwrap(org.mariadb.jdbc.Statement.class).setLocalInfileInputStream(input);
+                return statement.executeLargeUpdate(command);
+            }
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.mongo;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declare the index which {@link Mongo} ensures when the collection is opened. On the property,
+ * the annotated property is indexed. On the model type, the properties listed in {@link #value()}
+ * are indexed as the compound index.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.FIELD, ElementType.METHOD})
+@Repeatable(Index.List.class)
+public @interface Index {
+
+    /**
+     * The indexed property names in order. The name starting with '-' is indexed in descending
+     * order. On the property, it can be omitted.
+     * 
+     * @return
+     */
+    String[] value() default {};
+
+    /**
+     * The index name. The server generates it from the keys by default.
+     * 
+     * @return
+     */
+    String name() default "";
+
+    /**
+     * Reject the duplicated value.
+     * 
+     * @return
+     */
+    boolean unique() default false;
+
+    /**
+     * Remove the document automatically when the specified seconds have passed since the indexed
+     * date value. The negative value disables expiration.
+     * 
+     * @return
+     */
+    long expireAfterSeconds() default -1;
+
+    /**
+     * Index only the document which matches the given filter in JSON (e.g. "{age: {$gt: 20}}").
+     * 
+     * @return
+     */
+    String partial() default "";
+
+    /**
+     * The container of the repeated {@link Index}.
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.FIELD, ElementType.METHOD})
+    @interface List {
+
+        /**
+         * The repeated {@link Index}.
+         * 
+         * @return
+         */
+        Index[] value();
+    }
+}
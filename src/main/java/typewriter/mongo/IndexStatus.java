@@ -0,0 +1,25 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.mongo;
+
+import org.bson.Document;
+
+/**
+ * The status of the index on the collection.
+ * 
+ * @param name The index name.
+ * @param keys The indexed keys and their orders.
+ * @param unique The uniqueness.
+ * @param expireAfterSeconds The expiration seconds, the negative value means no expiration.
+ * @param size The index size in bytes.
+ * @param building Whether the index is still being built.
+ */
+public record IndexStatus(String name, Document keys, boolean unique, long expireAfterSeconds, long size, boolean building) {
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.mongo;
+
+import java.lang.invoke.MethodType;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecProvider;
+import org.bson.codecs.configuration.CodecRegistry;
+
+import kiss.I;
+import kiss.Model;
+import kiss.Property;
+import typewriter.api.Identifiable;
+
+/**
+ * {@link Codec} which reads and writes BSON directly from and to the model properties without the
+ * intermediate {@link org.bson.Document}. The property layout and the value codecs are resolved
+ * only once per model type.
+ */
+class ModelCodec<M extends Identifiable> implements Codec<M> {
+
+    /** The primary key. */
+    static final String PrimaryKey = "_id";
+
+    /** The local identical key. */
+    static final String IdenticalKey = "id";
+
+    /** The {@link CodecProvider} for all {@link Identifiable} types. */
+    static final CodecProvider PROVIDER = new CodecProvider() {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public <T> Codec<T> get(Class<T> clazz, CodecRegistry registry) {
+            return Identifiable.class.isAssignableFrom(clazz) ? new ModelCodec(clazz, registry) : null;
+        }
+    };
+
+    /** The model. */
+    private final Model<M> model;
+
+    /** The ordered property layout. */
+    private final Slot[] slots;
+
+    /** The property layout by BSON name. */
+    private final Map<String, Slot> names = new HashMap();
+
+    /**
+     * @param type
+     * @param registry
+     */
+    private ModelCodec(Class<M> type, CodecRegistry registry) {
+        this.model = Model.of(type);
+
+        List<Property> properties = model.properties();
+        this.slots = new Slot[properties.size()];
+        for (int i = 0; i < slots.length; i++) {
+            Property property = properties.get(i);
+            Slot slot = new Slot(property, registry);
+
+            // write primary key at first
+            if (slot.name.equals(PrimaryKey) && i != 0) {
+                slots[i] = slots[0];
+                slots[0] = slot;
+            } else {
+                slots[i] = slot;
+            }
+            names.put(slot.name, slot);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Class<M> getEncoderClass() {
+        return model.type;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void encode(BsonWriter writer, M value, EncoderContext context) {
+        writer.writeStartDocument();
+        for (Slot slot : slots) {
+            Object v = model.get(value, slot.property);
+
+            // absent property is not stored to keep the existence query available
+            if (v != null) {
+                writer.writeName(slot.name);
+                if (slot.codec == null) {
+                    writer.writeString(I.transform(v, String.class));
+                } else {
+                    context.encodeWithChildContext(slot.codec, writer, v);
+                }
+            }
+        }
+        writer.writeEndDocument();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public M decode(BsonReader reader, DecoderContext context) {
+        return decode(reader, context, I.make(model.type));
+    }
+
+    /**
+     * Decode into the given model. The property which is not contained in the document is kept.
+     *
+     * @param reader
+     * @param context
+     * @param object
+     * @return
+     */
+    M decode(BsonReader reader, DecoderContext context, M object) {
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            Slot slot = names.get(reader.readName());
+
+            if (slot == null) {
+                reader.skipValue();
+            } else {
+                Object value = read(slot, reader, context);
+                if (value != null || !slot.primitive) object = model.set(object, slot.property, value);
+            }
+        }
+        reader.readEndDocument();
+
+        return object;
+    }
+
+    /**
+     * Decode the current value as the type of the specified field.
+     * 
+     * @param name The BSON field name.
+     * @param reader
+     * @param context
+     * @return The decoded value.
+     */
+    Object read(String name, BsonReader reader, DecoderContext context) {
+        Slot slot = names.get(name);
+        if (slot == null) {
+            reader.skipValue();
+            return null;
+        } else {
+            return read(slot, reader, context);
+        }
+    }
+
+    /**
+     * Decode the current value as the type of the specified slot.
+     * 
+     * @param slot
+     * @param reader
+     * @param context
+     * @return
+     */
+    private Object read(Slot slot, BsonReader reader, DecoderContext context) {
+        if (reader.getCurrentBsonType() == BsonType.NULL) {
+            reader.readNull();
+            return null;
+        } else if (slot.codec == null) {
+            return I.transform(reader.readString(), slot.property.model.type);
+        } else {
+            return context.decodeWithChildContext(slot.codec, reader);
+        }
+    }
+
+    /**
+     * The precomputed property layout.
+     */
+    private static class Slot {
+
+        /** The BSON name. */
+        private final String name;
+
+        /** The target property. */
+        private final Property property;
+
+        /** The value codec, null means the enum which is stored as its name. */
+        private final Codec codec;
+
+        /** The primitive flag. */
+        private final boolean primitive;
+
+        /**
+         * @param property
+         * @param registry
+         */
+        private Slot(Property property, CodecRegistry registry) {
+            Class type = property.model.type;
+
+            this.name = property.name.equals(IdenticalKey) ? PrimaryKey : property.name;
+            this.property = property;
+            this.codec = type.isEnum() ? null : registry.get(MethodType.methodType(type).wrap().returnType());
+            this.primitive = type.isPrimitive();
+        }
+    }
+}
@@ -12,28 +12,36 @@ package typewriter.mongo;
 import static com.mongodb.client.model.Aggregates.*;
 import static typewriter.api.Constraint.ZonedDateTimeConstraint.*;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.time.Instant;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.BiFunction;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
+import org.bson.BsonDocument;
 import org.bson.BsonReader;
+import org.bson.BsonType;
 import org.bson.BsonWriter;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.bson.codecs.Codec;
 import org.bson.codecs.DecoderContext;
 import org.bson.codecs.EncoderContext;
@@ -42,6 +50,7 @@ import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.conversions.Bson;
 
 import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCommandException;
 import com.mongodb.client.DistinctIterable;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoClient;
@@ -50,11 +59,22 @@ import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.BsonField;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteManyModel;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
 import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOneModel;
 import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.UpdateOptions;
 import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
 import com.mongodb.client.model.changestream.ChangeStreamDocument;
 import com.mongodb.client.model.changestream.FullDocument;
 
@@ -66,55 +86,30 @@ import kiss.Signal;
 import kiss.Singleton;
 import kiss.Variable;
 import kiss.WiseFunction;
+import kiss.WiseSupplier;
+import typewriter.api.FullText;
 import typewriter.api.Identifiable;
 import typewriter.api.QueryExecutor;
 import typewriter.api.Specifier;
 import typewriter.query.AVGOption;
+import typewriter.query.Aggregator;
+import typewriter.query.Cursor;
+import typewriter.query.SingleFlight;
 
 public class Mongo<M extends Identifiable> extends QueryExecutor<M, Signal<M>, MongoQuery<M>, Mongo<M>> {
 
-    private static final CodecRegistry CODEC_REGISTRY = CodecRegistries.fromRegistries(MongoClientSettings
-            .getDefaultCodecRegistry(), CodecRegistries.fromCodecs(I.make(OffsetDateTimeCodec.class), I.make(ZonedDateTimeCodec.class)));
+    private static final CodecRegistry CODEC_REGISTRY = CodecRegistries.fromRegistries(CodecRegistries
+            .fromCodecs(I.make(OffsetDateTimeCodec.class), I.make(ZonedDateTimeCodec.class)), CodecRegistries
+                    .fromProviders(ModelCodec.PROVIDER), MongoClientSettings.getDefaultCodecRegistry());
 
     /** The primary key. */
-    private static final String PrimaryKey = "_id";
+    private static final String PrimaryKey = ModelCodec.PrimaryKey;
 
-    /** The local identical key. */
-    private static final String IdenticalKey = "id";
+    /** The maximum number of operations per bulk write. */
+    private static final int BulkSize = I.env("typewriter.mongodb.bulk", 1000);
 
-    /** The decoder manager. */
-    private static final Map<Class, BiFunction<Document, String, ?>> decoders = new HashMap();
-
-    /** The default decorder. */
-    private static final BiFunction<Document, String, ?> defaultDecoder = Document::get;
-
-    // register built-in decoders
-    static {
-        register(Byte.class, Document::getInteger, Integer::byteValue);
-        register(Short.class, Document::getInteger, Integer::shortValue);
-        register(Float.class, Document::getDouble, Double::floatValue);
-        register(LocalDate.class, Document::getDate, date -> LocalDate.ofInstant(date.toInstant(), ZoneOffset.UTC));
-        register(LocalTime.class, Document::getDate, date -> LocalTime.ofInstant(date.toInstant(), ZoneOffset.UTC));
-        register(LocalDateTime.class, Document::getDate, date -> LocalDateTime.ofInstant(date.toInstant(), ZoneOffset.UTC));
-        decoders.put(OffsetDateTime.class, I.make(OffsetDateTimeCodec.class));
-        decoders.put(ZonedDateTime.class, I.make(ZonedDateTimeCodec.class));
-    }
-
-    /**
-     * Register the value codec for your type.
-     * 
-     * @param <T> Target type
-     * @param <B> Type for BSON
-     * @param type The target type.
-     * @param retriver
-     * @param converter
-     */
-    private static <T, B> void register(Class<T> type, BiFunction<Document, String, B> retriver, Function<B, T> converter) {
-        decoders.put(type, (doc, key) -> {
-            B value = retriver.apply(doc, key);
-            return value == null ? null : converter.apply(value);
-        });
-    }
+    /** The reusable option for bulk write. */
+    private static final BulkWriteOptions Unordered = new BulkWriteOptions().ordered(false);
 
     /** The reusabel {@link Mongo} cache. */
     private static final Map<Class, Mongo> Cache = new ConcurrentHashMap();
@@ -122,6 +117,9 @@ public class Mongo<M extends Identifiable> extends QueryExecutor<M, Signal<M>, M
     /** The singleton. */
     private static final MongoClient Client = MongoClients.create(I.env("typewriter.mongodb", "mongodb://localhost:27017"));
 
+    /** The concurrency limit of the asynchronous operations for each backend. */
+    private static final Map<MongoClient, Semaphore> Limits = Collections.synchronizedMap(new WeakHashMap());
+
     /** The document model. */
     private final Model<M> model;
 
@@ -129,7 +127,13 @@ public class Mongo<M extends Identifiable> extends QueryExecutor<M, Signal<M>, M
     private final MongoDatabase db;
 
     /** The associated collection. */
-    private final MongoCollection<Document> collection;
+    private final MongoCollection<M> collection;
+
+    /** The model codec. */
+    private final ModelCodec<M> codec;
+
+    /** The concurrency limit which is shared by all collections on the same backend. */
+    private final Semaphore limit;
 
     /**
      * @param model
@@ -148,16 +152,147 @@ public class Mongo<M extends Identifiable> extends QueryExecutor<M, Signal<M>, M
             name = managed.name();
         }
 
+        client = Objects.requireNonNullElse(client, Client);
+
         this.model = Model.of(model);
-        this.db = Objects.requireNonNullElse(client, Client).getDatabase("master").withCodecRegistry(CODEC_REGISTRY);
-        this.collection = db.getCollection(name.replace('$', '#'));
+        this.db = client.getDatabase("master").withCodecRegistry(CODEC_REGISTRY);
+        this.collection = db.getCollection(name.replace('$', '#'), model);
+        this.codec = (ModelCodec<M>) CODEC_REGISTRY.get(model);
+        this.limit = Limits.computeIfAbsent(client, key -> new Semaphore(I.env("typewriter.async.max", 16), true));
+
+        ensureIndexes(model);
+    }
+
+    /**
+     * Create all indexes which are declared by {@link Index} on the model type and its properties.
+     * The server ignores the index which already exists.
+     * 
+     * @param type
+     */
+    private void ensureIndexes(Class type) {
+        List<IndexModel> indexes = new ArrayList();
+        List<Bson> texts = new ArrayList();
+        for (Class c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Index index : (Index[]) c.getDeclaredAnnotationsByType(Index.class)) {
+                indexes.add(index(index, null));
+            }
+
+            for (Field field : c.getDeclaredFields()) {
+                for (Index index : field.getDeclaredAnnotationsByType(Index.class)) {
+                    indexes.add(index(index, field.getName()));
+                }
+                if (field.isAnnotationPresent(FullText.class)) {
+                    texts.add(Indexes.text(field.getName()));
+                }
+            }
+
+            for (Method method : c.getDeclaredMethods()) {
+                String name = method.getName().replaceFirst("^(get|is|set)", "");
+                if (!name.isEmpty()) name = Character.toLowerCase(name.charAt(0)) + name.substring(1);
+
+                for (Index index : method.getDeclaredAnnotationsByType(Index.class)) {
+                    indexes.add(index(index, name));
+                }
+                if (method.isAnnotationPresent(FullText.class)) {
+                    texts.add(Indexes.text(name));
+                }
+            }
+        }
+
+        // the collection can have only one text index which covers all full-text properties
+        if (!texts.isEmpty()) {
+            indexes.add(new IndexModel(Indexes.compoundIndex(texts)));
+        }
+
+        if (!indexes.isEmpty()) {
+            collection.createIndexes(indexes);
+        }
+    }
+
+    /**
+     * Build the index definition.
+     * 
+     * @param index The declaration.
+     * @param property The annotated property name or null.
+     * @return
+     */
+    private IndexModel index(Index index, String property) {
+        String[] names = index.value().length == 0 && property != null ? new String[] {property} : index.value();
+        if (names.length == 0) {
+            throw new IllegalArgumentException("Index on [" + model.type.getName() + "] must specify the property names.");
+        }
+
+        List<Bson> keys = new ArrayList();
+        for (String name : names) {
+            boolean descending = name.startsWith("-");
+            if (descending) name = name.substring(1);
+            if (name.equals(ModelCodec.IdenticalKey)) name = PrimaryKey;
+
+            keys.add(descending ? Indexes.descending(name) : Indexes.ascending(name));
+        }
+
+        IndexOptions options = new IndexOptions().unique(index.unique());
+        if (!index.name().isEmpty()) options.name(index.name());
+        if (0 <= index.expireAfterSeconds()) options.expireAfter(index.expireAfterSeconds(), TimeUnit.SECONDS);
+        if (!index.partial().isEmpty()) options.partialFilterExpression(BsonDocument.parse(index.partial()));
+
+        return new IndexModel(Indexes.compoundIndex(keys), options);
+    }
+
+    /**
+     * List up all indexes on this collection with their sizes and build status.
+     * 
+     * @return
+     */
+    public Signal<IndexStatus> indexes() {
+        return new Signal<>((observer, disposer) -> {
+            try {
+                Document stats;
+                try {
+                    stats = db.runCommand(new Document("collStats", collection.getNamespace().getCollectionName()));
+                } catch (MongoCommandException e) {
+                    // some servers don't support the statistics
+                    stats = new Document();
+                }
+                Document sizes = stats.get("indexSizes", new Document());
+                List<String> builds = stats.getList("indexBuilds", String.class, List.of());
+
+                for (Document index : collection.listIndexes(Document.class)) {
+                    if (!disposer.isDisposed()) {
+                        String name = index.getString("name");
+                        Number expire = index.get("expireAfterSeconds", Number.class);
+                        Number size = sizes.get(name, Number.class);
+
+                        observer.accept(new IndexStatus(name, index.get("key", Document.class), index
+                                .getBoolean("unique", false), expire == null ? -1 : expire.longValue(), size == null ? 0 : size
+                                        .longValue(), builds.contains(name)));
+                    }
+                }
+                observer.complete();
+            } catch (Throwable e) {
+                observer.error(e);
+            }
+            return disposer;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected long count(MongoQuery<M> query) {
+        if (query == null) {
+            return collection.estimatedDocumentCount();
+        } else {
+            return flight(() -> List.of("count", query.fingerprint(CODEC_REGISTRY)), () -> collection.countDocuments(query.filter()));
+        }
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public long count() {
+    public long estimatedCount() {
         return collection.estimatedDocumentCount();
     }
 
@@ -165,12 +300,14 @@ public class Mongo<M extends Identifiable> extends QueryExecutor<M, Signal<M>, M
      * {@inheritDoc}
      */
     @Override
-    public <V> Signal<V> distinct(Specifier<M, V> specifier) {
+    protected <V> Signal<V> distinct(MongoQuery<M> query, Specifier<M, V> specifier) {
         return new Signal<>((observer, disposer) -> {
             try {
                 Property property = model.property(specifier.propertyName(null));
 
                 DistinctIterable<V> founds = collection.distinct(property.name, (Class<V>) property.model.type);
+                if (query != null) founds = founds.filter(query.filter());
+
                 for (V found : founds) {
                     if (!disposer.isDisposed()) {
                         observer.accept(found);
@@ -188,36 +325,166 @@ public class Mongo<M extends Identifiable> extends QueryExecutor<M, Signal<M>, M
      * {@inheritDoc}
      */
     @Override
-    public <C extends Comparable> Variable<C> min(Specifier<M, C> specifier) {
-        Document doc = collection.aggregate(List.of(group(null, Accumulators.min("R", "$" + specifier.propertyName(null))))).first();
-        return doc == null ? Variable.empty() : Variable.of((C) doc.get("R"));
+    protected <C extends Comparable> Variable<C> min(MongoQuery<M> query, Specifier<M, C> specifier) {
+        Object[] values = aggregate(query, new Specifier[0], 0, new Aggregator<M>().min(specifier)).get(null);
+        return values == null ? Variable.empty() : Variable.of((C) values[0]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected <C extends Comparable> Variable<C> max(MongoQuery<M> query, Specifier<M, C> specifier) {
+        Object[] values = aggregate(query, new Specifier[0], 0, new Aggregator<M>().max(specifier)).get(null);
+        return values == null ? Variable.empty() : Variable.of((C) values[0]);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public <C extends Comparable> Variable<C> max(Specifier<M, C> specifier) {
-        Document doc = collection.aggregate(List.of(group(null, Accumulators.max("R", "$" + specifier.propertyName(null))))).first();
-        return doc == null ? Variable.empty() : Variable.of((C) doc.get("R"));
+    protected <N extends Number> Signal<Double> avg(MongoQuery<M> query, Specifier<M, N> specifier, UnaryOperator<AVGOption<M>> option) {
+        Object[] values = aggregate(query, new Specifier[0], 0, new Aggregator<M>().avg(specifier)).get(null);
+        return values == null ? I.signal() : I.signal((Double) values[0]);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public <N extends Number> Signal<Double> avg(Specifier<M, N> specifier, UnaryOperator<AVGOption<M>> option) {
-        return I.signal(collection.aggregate(List.of(group(null, Accumulators.avg("R", "$" + specifier.propertyName(null)))))
-                .first()
-                .getDouble("R"));
+    protected <N extends Number> N sum(MongoQuery<M> query, Specifier<M, N> specifier) {
+        Object[] values = aggregate(query, new Specifier[0], 0, new Aggregator<M>().sum(specifier)).get(null);
+        return values == null ? null : (N) values[0];
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public <N extends Number> N sum(Specifier<M, N> specifier) {
-        return (N) collection.aggregate(List.of(group(null, Accumulators.sum("R", "$" + specifier.propertyName(null))))).first().get("R");
+    protected Map<Object, Object[]> aggregate(MongoQuery<M> query, Specifier<M, ?>[] groups, long width, Aggregator<M> aggregator) {
+        List<String> keys = names(null, groups).map(key -> key.equals(ModelCodec.IdenticalKey) ? PrimaryKey : key).toList();
+        List<String> targets = new ArrayList();
+        List<Codec> types = new ArrayList();
+        List<BsonField> accumulators = new ArrayList();
+
+        for (int i = 0; i < aggregator.functions.size(); i++) {
+            String function = aggregator.functions.get(i).ⅰ;
+            Specifier<M, ?> specifier = aggregator.functions.get(i).ⅱ;
+            String target = specifier == null ? null : specifier.propertyName(null);
+            if (target != null && target.equals(ModelCodec.IdenticalKey)) target = PrimaryKey;
+
+            String name = "a" + i;
+            accumulators.add(switch (function) {
+            case "min" -> Accumulators.min(name, "$" + target);
+            case "max" -> Accumulators.max(name, "$" + target);
+            case "sum" -> Accumulators.sum(name, "$" + target);
+            case "avg" -> Accumulators.avg(name, "$" + target);
+            case "first" -> Accumulators.first(name, "$" + target);
+            case "last" -> Accumulators.last(name, "$" + target);
+            default -> Accumulators.sum(name, 1);
+            });
+            types.add(switch (function) {
+            case "count" -> CODEC_REGISTRY.get(Long.class);
+            case "avg" -> CODEC_REGISTRY.get(Double.class);
+            default -> null;
+            });
+            targets.add(target);
+        }
+
+        Object id = null;
+        String order = PrimaryKey;
+        if (0 < width) {
+            Class type = model.property(groups[0].propertyName(null)).model.type;
+            order = keys.get(0);
+
+            // the bucket is floored by the arithmetic on the epoch milliseconds or the number
+            Object value = "$" + order;
+            if (type == ZonedDateTime.class || type == OffsetDateTime.class) {
+                order = order + ".date";
+                value = new Document("$subtract", List.of("$" + order, new Date(0)));
+            } else if (!type.isPrimitive() && !Number.class.isAssignableFrom(type)) {
+                value = new Document("$subtract", List.of(value, new Date(0)));
+            }
+            Document mod = new Document("$mod", List.of(new Document("$add", List.of(new Document("$mod", List.of(value, width)), width)), width));
+            id = new Document("$subtract", List.of(value, mod));
+        } else if (keys.size() == 1) {
+            id = "$" + keys.get(0);
+        } else if (1 < keys.size()) {
+            Document compound = new Document();
+            for (int i = 0; i < keys.size(); i++) {
+                compound.put("k" + i, "$" + keys.get(i));
+            }
+            id = compound;
+        }
+
+        // all accumulators are calculated in the single $group stage
+        List<Bson> pipeline = new ArrayList();
+        if (query != null) pipeline.add(match(query.filter()));
+        if (aggregator.functions.stream().anyMatch(f -> f.ⅰ.equals("first") || f.ⅰ.equals("last"))) {
+            pipeline.add(sort(Sorts.ascending(order)));
+        }
+        pipeline.add(Aggregates.group(id, accumulators));
+        if (!keys.isEmpty()) pipeline.add(sort(Sorts.ascending(PrimaryKey)));
+
+        return flight(() -> I.signal(pipeline).map(stage -> stage.toBsonDocument(BsonDocument.class, CODEC_REGISTRY)).toList(), () -> {
+            DecoderContext context = DecoderContext.builder().build();
+            Map<Object, Object[]> result = new LinkedHashMap();
+            for (RawBsonDocument doc : collection.aggregate(pipeline, RawBsonDocument.class)) {
+                BsonReader reader = doc.asBsonReader();
+                Object key = null;
+                Object[] values = new Object[accumulators.size()];
+
+                reader.readStartDocument();
+                while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                    String name = reader.readName();
+
+                    if (!name.equals(PrimaryKey)) {
+                        int index = Integer.parseInt(name.substring(1));
+                        Codec type = types.get(index);
+
+                        if (reader.getCurrentBsonType() == BsonType.NULL) {
+                            reader.readNull();
+                        } else {
+                            values[index] = type == null ? codec.read(targets.get(index), reader, context) : type.decode(reader, context);
+                        }
+                    } else if (0 < width) {
+                        key = bucket(model.property(groups[0].propertyName(null)).model.type, readNumber(reader));
+                    } else if (keys.size() == 1) {
+                        key = codec.read(keys.get(0), reader, context);
+                    } else if (1 < keys.size()) {
+                        List list = Arrays.asList(new Object[keys.size()]);
+                        reader.readStartDocument();
+                        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                            int index = Integer.parseInt(reader.readName().substring(1));
+                            list.set(index, codec.read(keys.get(index), reader, context));
+                        }
+                        reader.readEndDocument();
+                        key = list;
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.readEndDocument();
+
+                result.put(key, values);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Read the current numerical value without truncating the floating value.
+     * 
+     * @param reader
+     * @return
+     */
+    private static Number readNumber(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+        case INT32 -> reader.readInt32();
+        case DOUBLE -> reader.readDouble();
+        case DECIMAL128 -> reader.readDecimal128().bigDecimalValue();
+        default -> reader.readInt64();
+        };
     }
 
     /**
@@ -236,7 +503,56 @@ public class Mongo<M extends Identifiable> extends QueryExecutor<M, Signal<M>, M
      */
     @Override
     public Signal<M> findBy(MongoQuery<M> query) {
-        return find(query::buildQuery);
+        if (!singleFlight().isEnabled()) {
+            return find(query::buildQuery);
+        }
+
+        return new Signal<>((observer, disposer) -> {
+            try {
+                List<M> founds = flight(() -> query.fingerprint(CODEC_REGISTRY), () -> find(query::buildQuery).toList());
+                for (M found : founds) {
+                    if (!disposer.isDisposed()) {
+                        observer.accept(found);
+                    }
+                }
+                observer.complete();
+            } catch (Throwable e) {
+                observer.error(e);
+            }
+            return disposer;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Flow.Publisher<M> publish(MongoQuery<M> query) {
+        return new Cursor<>(initial -> {
+            MongoCursor<M> cursor = query.buildQuery(collection).batchSize(Cursor.size(initial)).iterator();
+            return Cursor.of(cursor, cursor);
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Semaphore concurrency() {
+        // the asynchronous callers of all collections queue up on the same backend
+        return limit;
+    }
+
+    /**
+     * Execute the task in the single flight when it is enabled.
+     * 
+     * @param fingerprint The normalized query which identifies the execution.
+     * @param task The actual execution.
+     * @return The shared result.
+     */
+    private <T> T flight(Supplier<Object> fingerprint, WiseSupplier<T> task) {
+        SingleFlight flights = singleFlight();
+        return flights.isEnabled() ? flights.execute(fingerprint.get(), task) : task.get();
     }
 
     /**
@@ -245,13 +561,13 @@ public class Mongo<M extends Identifiable> extends QueryExecutor<M, Signal<M>, M
      * @param query
      * @return
      */
-    private Signal<M> find(Function<MongoCollection, FindIterable<Document>> process) {
+    private Signal<M> find(Function<MongoCollection<M>, FindIterable<M>> process) {
         return new Signal<>((observer, disposer) -> {
             try {
-                FindIterable<Document> founds = process.apply(collection);
-                for (Document found : founds) {
-                    if (!disposer.isDisposed()) {
-                        observer.accept(decode(found));
+                // the cursor is closed as soon as the downstream (e.g. first or take) is disposed
+                try (MongoCursor<M> cursor = process.apply(collection).iterator()) {
+                    while (!disposer.isDisposed() && cursor.hasNext()) {
+                        observer.accept(cursor.next());
                     }
                 }
                 observer.complete();
@@ -271,10 +587,13 @@ public class Mongo<M extends Identifiable> extends QueryExecutor<M, Signal<M>, M
             try {
                 List<String> names = names(null, specifiers).toList();
 
-                Document doc = collection.find(identify(model)).projection(names.isEmpty() ? null : Projections.include(names)).first();
+                RawBsonDocument doc = collection.withDocumentClass(RawBsonDocument.class)
+                        .find(identify(model))
+                        .projection(names.isEmpty() ? null : Projections.include(names))
+                        .first();
 
                 if (doc != null) {
-                    observer.accept(decode(doc, model));
+                    observer.accept(codec.decode(doc.asBsonReader(), DecoderContext.builder().build(), model));
                 }
                 observer.complete();
             } catch (Throwable e) {
@@ -306,6 +625,31 @@ public class Mongo<M extends Identifiable> extends QueryExecutor<M, Signal<M>, M
             }
             collection.updateOne(identify(model), Updates.combine(operations));
         }
+        singleFlight().invalidate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteAll(Iterable<M> models) {
+        List<WriteModel<M>> writes = new ArrayList();
+        List<Long> ids = new ArrayList();
+        for (M model : models) {
+            if (model != null) {
+                ids.add(model.getId());
+
+                if (BulkSize <= ids.size()) {
+                    writes.add(new DeleteManyModel(Filters.in(PrimaryKey, ids)));
+                    ids = new ArrayList();
+                }
+            }
+        }
+
+        if (!ids.isEmpty()) {
+            writes.add(new DeleteManyModel(Filters.in(PrimaryKey, ids)));
+        }
+        write(writes);
     }
 
     /**
@@ -319,20 +663,58 @@ public class Mongo<M extends Identifiable> extends QueryExecutor<M, Signal<M>, M
 
         if (specifiers == null || specifiers.length == 0) {
             // update model
-            collection.replaceOne(identify(model), encode(model), new ReplaceOptions().upsert(true));
+            collection.replaceOne(identify(model), model, new ReplaceOptions().upsert(true));
         } else {
             // update properties
-            Model m = Model.of(model);
-            List<Bson> operations = new ArrayList();
-            for (Specifier<M, ?> specifier : specifiers) {
-                if (specifier != null) {
-                    String name = specifier.propertyName(null);
-                    Property property = m.property(name);
+            collection.updateOne(identify(model), modify(model, specifiers), new UpdateOptions().upsert(true));
+        }
+        singleFlight().invalidate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateAll(Iterable<M> models) {
+        updateAll(models, (Specifier[]) null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateAll(Iterable<M> models, Specifier<M, ?>... specifiers) {
+        ReplaceOptions replace = new ReplaceOptions().upsert(true);
+        UpdateOptions update = new UpdateOptions().upsert(true);
+
+        List<WriteModel<M>> writes = new ArrayList();
+        for (M model : models) {
+            if (model != null) {
+                if (specifiers == null || specifiers.length == 0) {
+                    writes.add(new ReplaceOneModel(identify(model), model, replace));
+                } else {
+                    writes.add(new UpdateOneModel(identify(model), modify(model, specifiers), update));
+                }
 
-                    operations.add(Updates.set(name, m.get(model, property)));
+                if (BulkSize <= writes.size()) {
+                    write(writes);
+                    writes = new ArrayList();
                 }
             }
-            collection.updateOne(identify(model), Updates.combine(operations), new UpdateOptions().upsert(true));
+        }
+        write(writes);
+    }
+
+    /**
+     * Send all operations at once. The operations are unordered, so the server can apply them in
+     * parallel and continue after the individual failure.
+     * 
+     * @param writes
+     */
+    private void write(List<WriteModel<M>> writes) {
+        if (!writes.isEmpty()) {
+            collection.bulkWrite(writes, Unordered);
+            singleFlight().invalidate();
         }
     }
 
@@ -352,12 +734,12 @@ public class Mongo<M extends Identifiable> extends QueryExecutor<M, Signal<M>, M
     public Signal<M> watch() {
         return new Signal<M>((observer, disposer) -> {
             try {
-                MongoCursor<ChangeStreamDocument<Document>> iterator = collection.watch()
+                MongoCursor<ChangeStreamDocument<M>> iterator = collection.watch()
                         .fullDocument(FullDocument.UPDATE_LOOKUP)
                         .iterator();
 
                 while (iterator.hasNext() && !disposer.isDisposed()) {
-                    observer.accept(decode(iterator.next().getFullDocument()));
+                    observer.accept(iterator.next().getFullDocument());
                 }
                 observer.complete();
             } catch (Throwable e) {
@@ -378,67 +760,24 @@ public class Mongo<M extends Identifiable> extends QueryExecutor<M, Signal<M>, M
     }
 
     /**
-     * Encode to {@link Document}.
-     * 
-     * @param object
-     * @return
-     */
-    private Document encode(M object) {
-        Document doc = new Document();
-
-        model.walk(object, (m, p, v) -> {
-            String name = p.name;
-            if (name.equals(IdenticalKey)) {
-                name = PrimaryKey;
-            }
-
-            Class type = p.model.type;
-            if (type.isEnum()) {
-                v = I.transform(v, String.class);
-            }
-            doc.put(name, v);
-        });
-
-        return doc;
-    }
-
-    /**
-     * Decode from {@link Document}.
-     * 
-     * @param doc
-     * @return
-     */
-    private M decode(Document doc) {
-        return decode(doc, I.make(model.type));
-    }
-
-    /**
-     * Decode from {@link Document}.
+     * Create the partial update operation.
      * 
-     * @param doc
+     * @param model
+     * @param specifiers
      * @return
      */
-    private M decode(Document doc, M object) {
-        for (Entry<String, Object> entry : doc.entrySet()) {
-            String key = entry.getKey();
-            String localKey = key;
-            if (localKey.equals(PrimaryKey)) {
-                localKey = IdenticalKey;
-            }
-
-            Property property = model.property(localKey);
-            if (property != null) {
-                Class type = property.model.type;
-                Object value;
-                if (type.isEnum()) {
-                    value = I.transform(doc.getString(key), type);
-                } else {
-                    value = decoders.getOrDefault(type, defaultDecoder).apply(doc, key);
-                }
-                object = model.set(object, property, value);
+    private Bson modify(M model, Specifier<M, ?>[] specifiers) {
+        Model m = Model.of(model);
+        List<Bson> operations = new ArrayList();
+        for (Specifier<M, ?> specifier : specifiers) {
+            if (specifier != null) {
+                String name = specifier.propertyName(null);
+                Property property = m.property(name);
+
+                operations.add(Updates.set(name, m.get(model, property)));
             }
         }
-        return object;
+        return Updates.combine(operations);
     }
 
     /**
@@ -456,14 +795,27 @@ public class Mongo<M extends Identifiable> extends QueryExecutor<M, Signal<M>, M
      * Built-in codec.
      */
     @Managed(Singleton.class)
-    private static class OffsetDateTimeCodec implements Codec<OffsetDateTime>, BiFunction<Document, String, OffsetDateTime> {
+    private static class OffsetDateTimeCodec implements Codec<OffsetDateTime> {
 
         /**
          * {@inheritDoc}
          */
         @Override
         public OffsetDateTime decode(BsonReader reader, DecoderContext decoderContext) {
-            throw new Error();
+            long date = 0;
+            int offset = 0;
+
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                switch (reader.readName()) {
+                case "date" -> date = reader.readDateTime();
+                case "offset" -> offset = reader.readInt32();
+                default -> reader.skipValue();
+                }
+            }
+            reader.readEndDocument();
+
+            return OffsetDateTime.ofInstant(Instant.ofEpochMilli(date), ZoneOffset.ofTotalSeconds(offset));
         }
 
         /**
@@ -477,21 +829,6 @@ public class Mongo<M extends Identifiable> extends QueryExecutor<M, Signal<M>, M
             writer.writeEndDocument();
         }
 
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public OffsetDateTime apply(Document doc, String key) {
-            Document sub = doc.get(key, Document.class);
-            if (sub == null) {
-                return null;
-            } else {
-                Instant date = sub.getDate("date").toInstant();
-                ZoneOffset zone = ZoneOffset.ofTotalSeconds(sub.getInteger("offset"));
-                return OffsetDateTime.ofInstant(date, zone);
-            }
-        }
-
         /**
          * {@inheritDoc}
          */
@@ -505,14 +842,27 @@ public class Mongo<M extends Identifiable> extends QueryExecutor<M, Signal<M>, M
      * Built-in codec.
      */
     @Managed(Singleton.class)
-    private static class ZonedDateTimeCodec implements Codec<ZonedDateTime>, BiFunction<Document, String, ZonedDateTime> {
+    private static class ZonedDateTimeCodec implements Codec<ZonedDateTime> {
 
         /**
          * {@inheritDoc}
          */
         @Override
         public ZonedDateTime decode(BsonReader reader, DecoderContext decoderContext) {
-            throw new Error();
+            long date = 0;
+            String zone = "Z";
+
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                switch (reader.readName()) {
+                case "date" -> date = reader.readDateTime();
+                case "zone" -> zone = reader.readString();
+                default -> reader.skipValue();
+                }
+            }
+            reader.readEndDocument();
+
+            return ZonedDateTime.ofInstant(Instant.ofEpochMilli(date), UTC).withZoneSameInstant(ZoneId.of(zone));
         }
 
         /**
@@ -526,21 +876,6 @@ public class Mongo<M extends Identifiable> extends QueryExecutor<M, Signal<M>, M
             writer.writeEndDocument();
         }
 
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public ZonedDateTime apply(Document doc, String key) {
-            Document sub = doc.get(key, Document.class);
-            if (sub == null) {
-                return null;
-            } else {
-                Instant date = sub.getDate("date").toInstant();
-                ZoneId zone = ZoneId.of(sub.getString("zone"));
-                return ZonedDateTime.ofInstant(date, UTC).withZoneSameInstant(zone);
-            }
-        }
-
         /**
          * {@inheritDoc}
          */
@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
+import java.util.StringJoiner;
 import java.util.regex.Pattern;
 
 import org.bson.BsonDocument;
@@ -43,6 +44,9 @@ abstract class MongoConstraint<V, Self> implements Constraint<V, Self> {
     /** All filters. */
     protected final List<Bson> filters = new ArrayList();
 
+    /** The full-text search which is ordered by relevance. */
+    protected boolean ranked;
+
     /**
      * Hide constructor.
      * 
@@ -205,6 +209,27 @@ abstract class MongoConstraint<V, Self> implements Constraint<V, Self> {
             return regex(".*" + value + ".*");
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public StringConstraint matches(String text) {
+            if (text == null || text.isBlank()) {
+                filters.add(Filters.not(Filters.exists("_id")));
+            } else {
+                // all words are required as the phrase, the text index covers all full-text
+                // properties, so each word also filters the specified property
+                StringJoiner phrases = new StringJoiner(" ");
+                for (String word : text.strip().split("\\s+")) {
+                    phrases.add('"' + word.replace('"', ' ') + '"');
+                    filters.add(Filters.regex(propertyName, Pattern.compile(Pattern.quote(word), Pattern.CASE_INSENSITIVE)));
+                }
+                filters.add(Filters.text(phrases.toString()));
+                ranked = true;
+            }
+            return this;
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -10,6 +10,7 @@
 package typewriter.mongo;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.StringJoiner;
@@ -19,12 +20,14 @@ import java.util.function.UnaryOperator;
 import org.bson.BsonArray;
 import org.bson.BsonDocument;
 import org.bson.BsonValue;
-import org.bson.Document;
 import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.conversions.Bson;
 
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
 
 import kiss.I;
 import kiss.Ⅱ;
@@ -80,6 +83,15 @@ public class MongoQuery<M> implements Queryable<M, MongoQuery<M>> {
     /** The sorting property. */
     private List<Ⅱ<String, Boolean>> sorts;
 
+    /** The selected property. */
+    private List<String> selections;
+
+    /** The index name to use. */
+    private String hintName;
+
+    /** The index keys to use. */
+    private Bson hintKeys;
+
     /**
      * Hide constructor.
      */
@@ -204,6 +216,24 @@ public class MongoQuery<M> implements Queryable<M, MongoQuery<M>> {
         return findBy(constraint.apply(new ForList(specifier)));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public MongoQuery<M> select(Specifier<M, ?>... specifiers) {
+        if (specifiers != null) {
+            if (selections == null) {
+                selections = new ArrayList();
+            }
+            for (Specifier<M, ?> specifier : specifiers) {
+                if (specifier != null) {
+                    selections.add(specifier.propertyName(null));
+                }
+            }
+        }
+        return this;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -239,15 +269,64 @@ public class MongoQuery<M> implements Queryable<M, MongoQuery<M>> {
         return this;
     }
 
+    /**
+     * Force the query to use the specified index.
+     * 
+     * @param index The index name.
+     * @return Chainable API.
+     */
+    public MongoQuery<M> hint(String index) {
+        this.hintName = index;
+        this.hintKeys = null;
+        return this;
+    }
+
+    /**
+     * Force the query to use the ascending index on the specified properties.
+     * 
+     * @param specifiers The indexed properties in order.
+     * @return Chainable API.
+     */
+    public MongoQuery<M> hint(Specifier<M, ?>... specifiers) {
+        List<String> names = new ArrayList();
+        for (Specifier<M, ?> specifier : specifiers) {
+            String name = specifier.propertyName(null);
+            names.add(name.equals("id") ? "_id" : name);
+        }
+        this.hintName = null;
+        this.hintKeys = Indexes.ascending(names);
+        return this;
+    }
+
+    /**
+     * Build the normalized representation of this query to identify the identical queries.
+     * 
+     * @param registry The codec registry to render the filter.
+     * @return The comparable representation.
+     */
+    List fingerprint(CodecRegistry registry) {
+        return Arrays.asList(filter().toBsonDocument(BsonDocument.class, registry), limit, offset, String
+                .valueOf(sorts), selections, hintName, hintKeys == null ? null : hintKeys.toBsonDocument(BsonDocument.class, registry));
+    }
+
+    /**
+     * Build the combined filter of all constraints.
+     * 
+     * @return
+     */
+    Bson filter() {
+        return new AndFilter(I.signal(constraints).flatIterable(c -> c.filters).toList());
+    }
+
     /**
      * Build query.
      * 
      * @param collection
      * @return
      */
-    FindIterable<Document> buildQuery(MongoCollection collection) {
-        FindIterable finder = collection.find();
-        finder = finder.filter(new AndFilter(I.signal(constraints).flatIterable(c -> c.filters).toList()));
+    FindIterable<M> buildQuery(MongoCollection<M> collection) {
+        FindIterable<M> finder = collection.find();
+        finder = finder.filter(filter());
         if (0 < limit) finder = finder.limit(limit);
         if (0 < offset) finder = finder.skip(offset);
         if (sorts != null) {
@@ -256,7 +335,13 @@ public class MongoQuery<M> implements Queryable<M, MongoQuery<M>> {
                 join.add('"' + sort.ⅰ + '"' + ":" + (sort.ⅱ ? 1 : -1));
             }
             finder = finder.sort(BsonDocument.parse(join.toString()));
+        } else if (constraints.stream().anyMatch(c -> c.ranked)) {
+            // order by relevance of the full-text search
+            finder = finder.sort(Sorts.metaTextScore("score"));
         }
+        if (selections != null) finder = finder.projection(Projections.include(selections));
+        if (hintName != null) finder = finder.hintString(hintName);
+        if (hintKeys != null) finder = finder.hint(hintKeys);
 
         return finder;
     }
@@ -9,20 +9,40 @@
  */
 package typewriter.postgres;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.StringJoiner;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
 
 import kiss.I;
+import kiss.Property;
+import kiss.Ⅱ;
+import typewriter.rdb.CSV;
 import typewriter.rdb.Dialect;
+import typewriter.rdb.RDBCodec;
 
 public class PostgreSQL extends Dialect {
 
     /** The JAVA-SQL type mapping. */
     private static final Map<Class, String> TYPES = new HashMap();
 
+    /** The text search configuration of the full-text index. */
+    private static final String TEXT_SEARCH = I.env("typewriter.postgres.fts", "simple");
+
     static {
         I.env("typewriter.connection.perThread.postgresql", true);
 
@@ -43,7 +63,7 @@ public class PostgreSQL extends Dialect {
         TYPES.put(BigDecimal.class, "decimal");
         TYPES.put(Boolean.class, "boolean");
         TYPES.put(String.class, "varchar");
-        TYPES.put(List.class, "varchar");
+        TYPES.put(List.class, "jsonb");
     }
 
     /**
@@ -84,20 +104,172 @@ public class PostgreSQL extends Dialect {
         return name.toLowerCase();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String commandEstimatedCount(String name) {
+        // reltuples is negative until the table is vacuumed or analyzed
+        return "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass('\"" + name + "\"')";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String commandStatistics(String name) {
+        // the negative n_distinct is the ratio to the number of rows
+        return "SELECT s.attname, s.null_frac, CASE WHEN s.n_distinct < 0 THEN -s.n_distinct * c.reltuples ELSE s.n_distinct END" //
+                + " FROM pg_stats s JOIN pg_class c ON c.oid = to_regclass('\"" + name + "\"')" //
+                + " WHERE s.schemaname = current_schema() AND s.tablename = '" + name + "'";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean append(Connection connection, String name, List<Ⅱ<String, Class>> columns, Iterable<Object[]> rows) throws Exception {
+        StringJoiner names = new StringJoiner(", ");
+        for (Ⅱ<String, Class> column : columns) {
+            names.add(quote() + column.ⅰ + quote());
+        }
+        Lazy.copyIn(connection, "COPY " + quote() + name + quote() + " (" + names + ") FROM STDIN WITH (FORMAT csv)", rows);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean export(Connection connection, String query, OutputStream output) throws Exception {
+        Lazy.manager(connection).copyOut("COPY (" + query + ") TO STDOUT WITH (FORMAT csv, HEADER)", output);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean load(Connection connection, String tableName, List<String> columns, InputStream input) throws Exception {
+        StringJoiner names = new StringJoiner(", ");
+        for (String column : columns) {
+            names.add(quote() + column + quote());
+        }
+        Lazy.manager(connection).copyIn("COPY " + tableName + " (" + names + ") FROM STDIN WITH (FORMAT csv)", input);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void migrateList(Connection connection, String tableName, String column, Property property, String typeName) throws SQLException {
+        if (typeName != null && !typeName.equals("jsonb")) {
+            // the list was stored as JSON text in varchar column
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ALTER TABLE \"" + tableName + "\" ALTER COLUMN " + column + " TYPE jsonb USING " + column + "::jsonb");
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void createListIndex(Connection connection, String tableName, String column) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX IF NOT EXISTS \"" + listTableName(tableName, column) + "\" ON \"" + tableName + "\" USING GIN (" + column + " jsonb_path_ops)");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void createFullTextIndex(Connection connection, String tableName, List<String> columns) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String column : columns) {
+                statement.execute("CREATE INDEX IF NOT EXISTS \"" + fullTextName(tableName, column) + "\" ON \"" + tableName + "\" USING GIN (" + vector(column) + ")");
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String commandFullText(String tableName, String propertyName, String text) {
+        return vector(propertyName) + " @@ " + query(text);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String commandFullTextOrder(String tableName, String propertyName, String text) {
+        return "ts_rank(" + vector(propertyName) + ", " + query(text) + ") DESC";
+    }
+
+    /**
+     * Build the tsvector expression which is identical to the indexed expression.
+     * 
+     * @param column
+     * @return
+     */
+    private String vector(String column) {
+        return "to_tsvector('" + TEXT_SEARCH + "', coalesce(" + column + ", ''))";
+    }
+
+    /**
+     * Build the tsquery expression which requires all words.
+     * 
+     * @param text
+     * @return
+     */
+    private String query(String text) {
+        return "plainto_tsquery('" + TEXT_SEARCH + "', '" + text.replace("'", "''") + "')";
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public String commnadListLength() {
-        return null;
+        return "jsonb_array_length";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String commnadListContains(String tableName, String propertyName, Object value) {
+        return propertyName + " @> '[" + convert(value) + "]'::jsonb";
+    }
+
+    /**
+     * Convert the value to JSON literal.
+     * 
+     * @param value
+     * @return
+     */
+    private String convert(Object value) {
+        if (value instanceof Number || value instanceof Boolean) {
+            return value.toString();
+        } else {
+            return "\"" + I.transform(value, String.class).replace("\\", "\\\\").replace("\"", "\\\"").replace("'", "''") + "\"";
+        }
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public String commnadListContains(String propertyName, Object value) {
-        return null;
+    public void bind(PreparedStatement statement, int index, Object value) throws SQLException {
+        if (value instanceof RDBCodec.Elements) {
+            statement.setObject(index, value.toString(), Types.OTHER);
+        } else {
+            super.bind(statement, index, value);
+        }
     }
 
     /**
@@ -107,4 +279,62 @@ public class PostgreSQL extends Dialect {
     public String commandRegex(String propertyName, String regex) {
         return propertyName + " ~ '" + regex + "'";
     }
+
+    /**
+     * In-direct lazy initializer to avoid {@link ClassNotFoundException} in no pgjdbc environment.
+     */
+    private static class Lazy {
+
+        /** The buffer size to send the rows at once. */
+        private static final int BUFFER = 64 * 1024;
+
+        /**
+         * Retrieve the COPY API of the connection.
+         * 
+         * @param connection
+         * @return
+         */
+        private static CopyManager manager(Connection connection) throws Exception {
+            return connection.unwrap(PGConnection.class).getCopyAPI();
+        }
+
+        /**
+         * Stream the encoded rows by COPY FROM STDIN.
+         * 
+         * @param connection
+         * @param command
+         * @param rows
+         */
+        private static void copyIn(Connection connection, String command, Iterable<Object[]> rows) throws Exception {
+            CopyIn copy = manager(connection).copyIn(command);
+            try {
+                StringBuilder buffer = new StringBuilder(BUFFER);
+                for (Object[] row : rows) {
+                    CSV.write(buffer, row, ',');
+
+                    if (BUFFER <= buffer.length()) {
+                        write(copy, buffer);
+                    }
+                }
+                write(copy, buffer);
+                copy.endCopy();
+            } finally {
+                if (copy.isActive()) copy.cancelCopy();
+            }
+        }
+
+        /**
+         * Send the buffered rows.
+         * 
+         * @param copy
+         * @param buffer
+         */
+        private static void write(CopyIn copy, StringBuilder buffer) throws Exception {
+            if (!buffer.isEmpty()) {
+                byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+                copy.writeToCopy(bytes, 0, bytes.length);
+                buffer.setLength(0);
+            }
+        }
+    }
 }
\ No newline at end of file
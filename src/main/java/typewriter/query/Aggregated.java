@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.query;
+
+import java.util.List;
+import java.util.StringJoiner;
+
+import kiss.Ⅱ;
+import typewriter.api.Specifier;
+
+/**
+ * The result of the {@link Aggregator}. Each value is retrieved type-safely by the same function
+ * and {@link Specifier} which were registered. The value is null when no model is matched.
+ */
+public class Aggregated<M> {
+
+    /** The aggregate functions. */
+    private final List<Ⅱ<String, Specifier<M, ?>>> functions;
+
+    /** The calculated values in the registration order. */
+    private final Object[] values;
+
+    /**
+     * @param aggregator The executed aggregator.
+     * @param values The calculated values in the registration order.
+     */
+    public Aggregated(Aggregator<M> aggregator, Object[] values) {
+        this.functions = aggregator.functions;
+        this.values = values;
+    }
+
+    /**
+     * Returns the number of models.
+     *
+     * @return Calculated result.
+     */
+    public long count() {
+        Object value = find("count", null);
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+
+    /**
+     * Returns the lowest value.
+     *
+     * @param specifier A {@link Specifier} of the target property.
+     * @return Calculated result.
+     */
+    public <C extends Comparable> C min(Specifier<M, C> specifier) {
+        return (C) find("min", specifier);
+    }
+
+    /**
+     * Returns the highest value.
+     *
+     * @param specifier A {@link Specifier} of the target property.
+     * @return Calculated result.
+     */
+    public <C extends Comparable> C max(Specifier<M, C> specifier) {
+        return (C) find("max", specifier);
+    }
+
+    /**
+     * Returns a sum of numerical values.
+     *
+     * @param specifier A {@link Specifier} of the target property.
+     * @return Calculated result.
+     */
+    public <N extends Number> N sum(Specifier<M, N> specifier) {
+        return (N) find("sum", specifier);
+    }
+
+    /**
+     * Returns an average of numerical values.
+     *
+     * @param specifier A {@link Specifier} of the target property.
+     * @return Calculated result.
+     */
+    public <N extends Number> Double avg(Specifier<M, N> specifier) {
+        return (Double) find("avg", specifier);
+    }
+
+    /**
+     * Returns the first value.
+     *
+     * @param specifier A {@link Specifier} of the target property.
+     * @return Calculated result.
+     */
+    public <V> V first(Specifier<M, V> specifier) {
+        return (V) find("first", specifier);
+    }
+
+    /**
+     * Returns the last value.
+     *
+     * @param specifier A {@link Specifier} of the target property.
+     * @return Calculated result.
+     */
+    public <V> V last(Specifier<M, V> specifier) {
+        return (V) find("last", specifier);
+    }
+
+    /**
+     * Find the calculated value.
+     *
+     * @param function The aggregate function name.
+     * @param specifier The target property.
+     * @return The calculated value.
+     */
+    private Object find(String function, Specifier<M, ?> specifier) {
+        for (int i = 0; i < values.length; i++) {
+            Ⅱ<String, Specifier<M, ?>> registered = functions.get(i);
+
+            if (registered.ⅰ.equals(function)) {
+                if (specifier == registered.ⅱ || specifier.propertyName(null).equals(registered.ⅱ.propertyName(null))) {
+                    return values[i];
+                }
+            }
+        }
+        throw new IllegalArgumentException(function + "(" + (specifier == null ? "" : specifier.propertyName(null)) + ") is not aggregated.");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "Aggregated[", "]");
+        for (int i = 0; i < values.length; i++) {
+            Ⅱ<String, Specifier<M, ?>> registered = functions.get(i);
+            joiner.add(registered.ⅰ + "(" + (registered.ⅱ == null ? "" : registered.ⅱ.propertyName(null)) + ")=" + values[i]);
+        }
+        return joiner.toString();
+    }
+}
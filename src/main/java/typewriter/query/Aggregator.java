@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import kiss.I;
+import kiss.Ⅱ;
+import typewriter.api.Specifier;
+
+/**
+ * Collect several aggregate functions which are calculated by the single scan.
+ */
+public class Aggregator<M> {
+
+    /**
+     * The aggregate function names (count, min, max, sum, avg, first or last) and their target
+     * properties.
+     */
+    public final List<Ⅱ<String, Specifier<M, ?>>> functions = new ArrayList();
+
+    /**
+     * Count the number of models.
+     *
+     * @return Chainable API.
+     */
+    public Aggregator<M> count() {
+        return add("count", null);
+    }
+
+    /**
+     * Calculate the lowest value.
+     *
+     * @param specifier A {@link Specifier} of the target property.
+     * @return Chainable API.
+     */
+    public <C extends Comparable> Aggregator<M> min(Specifier<M, C> specifier) {
+        return add("min", specifier);
+    }
+
+    /**
+     * Calculate the highest value.
+     *
+     * @param specifier A {@link Specifier} of the target property.
+     * @return Chainable API.
+     */
+    public <C extends Comparable> Aggregator<M> max(Specifier<M, C> specifier) {
+        return add("max", specifier);
+    }
+
+    /**
+     * Calculate a sum of numerical values.
+     *
+     * @param specifier A {@link Specifier} of the target property.
+     * @return Chainable API.
+     */
+    public <N extends Number> Aggregator<M> sum(Specifier<M, N> specifier) {
+        return add("sum", specifier);
+    }
+
+    /**
+     * Calculate an average of numerical values.
+     *
+     * @param specifier A {@link Specifier} of the target property.
+     * @return Chainable API.
+     */
+    public <N extends Number> Aggregator<M> avg(Specifier<M, N> specifier) {
+        return add("avg", specifier);
+    }
+
+    /**
+     * Take the first value. The models are ordered by the bucket property in the time bucket,
+     * otherwise by the identifier.
+     *
+     * @param specifier A {@link Specifier} of the target property.
+     * @return Chainable API.
+     */
+    public <V> Aggregator<M> first(Specifier<M, V> specifier) {
+        return add("first", specifier);
+    }
+
+    /**
+     * Take the last value. The models are ordered by the bucket property in the time bucket,
+     * otherwise by the identifier.
+     *
+     * @param specifier A {@link Specifier} of the target property.
+     * @return Chainable API.
+     */
+    public <V> Aggregator<M> last(Specifier<M, V> specifier) {
+        return add("last", specifier);
+    }
+
+    /**
+     * Register the aggregate function.
+     *
+     * @param function
+     * @param specifier
+     * @return
+     */
+    private Aggregator<M> add(String function, Specifier<M, ?> specifier) {
+        functions.add(I.pair(function, specifier));
+        return this;
+    }
+}
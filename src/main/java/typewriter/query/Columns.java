@@ -0,0 +1,739 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.query;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+import kiss.I;
+
+/**
+ * The columnar query result which stores each selected property in the primitive vector. The
+ * vector grows by the fixed-size chunk, so the rows are never boxed nor copied while reading and
+ * the aggregation runs over the primitive arrays directly.
+ */
+public class Columns {
+
+    /** The number of bits of the chunk size. */
+    private static final int SHIFT = 31 - Integer.numberOfLeadingZeros(Math.max(16, I.env("typewriter.query.columnar.chunk", 65536)));
+
+    /** The number of rows in the chunk. */
+    private static final int CHUNK = 1 << SHIFT;
+
+    /** The index mask in the chunk. */
+    private static final int MASK = CHUNK - 1;
+
+    /** The vectors in the selection order. */
+    private final Vector[] vectors;
+
+    /**
+     * @param vectors The vectors in the selection order.
+     */
+    public Columns(Vector... vectors) {
+        this.vectors = vectors;
+    }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return
+     */
+    public int size() {
+        return vectors.length == 0 ? 0 : vectors[0].size;
+    }
+
+    /**
+     * Returns the number of columns.
+     *
+     * @return
+     */
+    public int width() {
+        return vectors.length;
+    }
+
+    /**
+     * Returns the column of the int-like property (int, short, byte and boolean).
+     *
+     * @param index The selection order.
+     * @return The column.
+     */
+    public Ints ints(int index) {
+        return (Ints) vectors[index];
+    }
+
+    /**
+     * Returns the column of the long property.
+     *
+     * @param index The selection order.
+     * @return The column.
+     */
+    public Longs longs(int index) {
+        return (Longs) vectors[index];
+    }
+
+    /**
+     * Returns the column of the floating-point property (double, float and BigDecimal).
+     *
+     * @param index The selection order.
+     * @return The column.
+     */
+    public Doubles doubles(int index) {
+        return (Doubles) vectors[index];
+    }
+
+    /**
+     * Returns the column of the textual property (String, char and enum).
+     *
+     * @param index The selection order.
+     * @return The column.
+     */
+    public Strings strings(int index) {
+        return (Strings) vectors[index];
+    }
+
+    /**
+     * Create the vector which can store the specified type.
+     *
+     * @param type The property type.
+     * @return The empty vector.
+     * @throws IllegalArgumentException The type has no columnar representation (e.g. BigInteger
+     *             which the long vector would truncate).
+     */
+    public static Vector vectorOf(Class type) {
+        if (type == int.class || type == Integer.class || type == short.class || type == Short.class || type == byte.class || type == Byte.class || type == boolean.class || type == Boolean.class) {
+            return new Ints();
+        } else if (type == long.class || type == Long.class) {
+            return new Longs();
+        } else if (type == double.class || type == Double.class || type == float.class || type == Float.class || type == BigDecimal.class) {
+            return new Doubles();
+        } else if (type == String.class || type == char.class || type == Character.class || type.isEnum()) {
+            return new Strings();
+        } else {
+            throw new IllegalArgumentException(type + " has no columnar representation.");
+        }
+    }
+
+    /**
+     * The chunked column.
+     */
+    public static abstract class Vector {
+
+        /** The number of rows. */
+        int size;
+
+        /** The null rows, created lazily. */
+        private BitSet nulls;
+
+        /**
+         * Hide constructor.
+         */
+        private Vector() {
+        }
+
+        /**
+         * Returns the number of rows.
+         *
+         * @return
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Check whether the row is null.
+         *
+         * @param index The row index.
+         * @return The result.
+         */
+        public boolean isNull(int index) {
+            return nulls != null && nulls.get(index);
+        }
+
+        /**
+         * Returns the number of non-null rows.
+         *
+         * @return
+         */
+        public int count() {
+            return nulls == null ? size : size - nulls.cardinality();
+        }
+
+        /**
+         * Add the boxed value.
+         *
+         * @param value The value or null.
+         */
+        public abstract void append(Object value);
+
+        /**
+         * Add the null row.
+         */
+        public abstract void addNull();
+
+        /**
+         * Mark the last row as null.
+         */
+        final void markNull() {
+            if (nulls == null) nulls = new BitSet();
+            nulls.set(size - 1);
+        }
+
+        /**
+         * Add the new chunk for the next row.
+         *
+         * @param chunks The current table.
+         * @param chunk The chunk builder.
+         * @return The table which has the chunk for the next row.
+         */
+        final <A> A[] grow(A[] chunks, Supplier<A> chunk) {
+            int index = size >>> SHIFT;
+            if (index == chunks.length) {
+                chunks = Arrays.copyOf(chunks, Math.max(4, chunks.length * 2));
+            }
+            chunks[index] = chunk.get();
+            return chunks;
+        }
+    }
+
+    /**
+     * The column of int.
+     */
+    public static final class Ints extends Vector {
+
+        /** The chunks. */
+        private int[][] chunks = new int[0][];
+
+        /**
+         * Add the value.
+         *
+         * @param value
+         */
+        public void add(int value) {
+            if ((size & MASK) == 0) chunks = grow(chunks, () -> new int[CHUNK]);
+            chunks[size >>> SHIFT][size & MASK] = value;
+            size++;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void addNull() {
+            add(0);
+            markNull();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void append(Object value) {
+            if (value == null) {
+                addNull();
+            } else if (value instanceof Boolean bool) {
+                add(bool ? 1 : 0);
+            } else {
+                add(((Number) value).intValue());
+            }
+        }
+
+        /**
+         * Read the value.
+         *
+         * @param index The row index.
+         * @return The value (0 for null).
+         */
+        public int get(int index) {
+            return chunks[index >>> SHIFT][index & MASK];
+        }
+
+        /**
+         * Iterate all non-null values without boxing.
+         *
+         * @param action
+         */
+        public void forEach(IntConsumer action) {
+            for (int i = 0; i < size; i++) {
+                if (!isNull(i)) action.accept(chunks[i >>> SHIFT][i & MASK]);
+            }
+        }
+
+        /**
+         * Copy into the single array.
+         *
+         * @return The values (0 for null).
+         */
+        public int[] toArray() {
+            int[] array = new int[size];
+            for (int i = 0, offset = 0; offset < size; i++, offset += CHUNK) {
+                System.arraycopy(chunks[i], 0, array, offset, Math.min(CHUNK, size - offset));
+            }
+            return array;
+        }
+
+        /**
+         * Calculate the sum of non-null values.
+         *
+         * @return
+         */
+        public long sum() {
+            long sum = 0;
+            for (int i = 0; i < size; i++) {
+                sum += chunks[i >>> SHIFT][i & MASK];
+            }
+            return sum;
+        }
+
+        /**
+         * Calculate the average of non-null values.
+         *
+         * @return NaN for no value.
+         */
+        public double avg() {
+            int count = count();
+            return count == 0 ? Double.NaN : (double) sum() / count;
+        }
+
+        /**
+         * Find the minimum non-null value.
+         *
+         * @return
+         */
+        public OptionalInt min() {
+            boolean found = false;
+            int min = Integer.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                if (!isNull(i)) {
+                    found = true;
+                    min = Math.min(min, chunks[i >>> SHIFT][i & MASK]);
+                }
+            }
+            return found ? OptionalInt.of(min) : OptionalInt.empty();
+        }
+
+        /**
+         * Find the maximum non-null value.
+         *
+         * @return
+         */
+        public OptionalInt max() {
+            boolean found = false;
+            int max = Integer.MIN_VALUE;
+            for (int i = 0; i < size; i++) {
+                if (!isNull(i)) {
+                    found = true;
+                    max = Math.max(max, chunks[i >>> SHIFT][i & MASK]);
+                }
+            }
+            return found ? OptionalInt.of(max) : OptionalInt.empty();
+        }
+    }
+
+    /**
+     * The column of long.
+     */
+    public static final class Longs extends Vector {
+
+        /** The chunks. */
+        private long[][] chunks = new long[0][];
+
+        /**
+         * Add the value.
+         *
+         * @param value
+         */
+        public void add(long value) {
+            if ((size & MASK) == 0) chunks = grow(chunks, () -> new long[CHUNK]);
+            chunks[size >>> SHIFT][size & MASK] = value;
+            size++;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void addNull() {
+            add(0);
+            markNull();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void append(Object value) {
+            if (value == null) {
+                addNull();
+            } else {
+                add(((Number) value).longValue());
+            }
+        }
+
+        /**
+         * Read the value.
+         *
+         * @param index The row index.
+         * @return The value (0 for null).
+         */
+        public long get(int index) {
+            return chunks[index >>> SHIFT][index & MASK];
+        }
+
+        /**
+         * Iterate all non-null values without boxing.
+         *
+         * @param action
+         */
+        public void forEach(LongConsumer action) {
+            for (int i = 0; i < size; i++) {
+                if (!isNull(i)) action.accept(chunks[i >>> SHIFT][i & MASK]);
+            }
+        }
+
+        /**
+         * Copy into the single array.
+         *
+         * @return The values (0 for null).
+         */
+        public long[] toArray() {
+            long[] array = new long[size];
+            for (int i = 0, offset = 0; offset < size; i++, offset += CHUNK) {
+                System.arraycopy(chunks[i], 0, array, offset, Math.min(CHUNK, size - offset));
+            }
+            return array;
+        }
+
+        /**
+         * Calculate the sum of non-null values.
+         *
+         * @return
+         */
+        public long sum() {
+            long sum = 0;
+            for (int i = 0; i < size; i++) {
+                sum += chunks[i >>> SHIFT][i & MASK];
+            }
+            return sum;
+        }
+
+        /**
+         * Calculate the average of non-null values.
+         *
+         * @return NaN for no value.
+         */
+        public double avg() {
+            int count = count();
+            return count == 0 ? Double.NaN : (double) sum() / count;
+        }
+
+        /**
+         * Find the minimum non-null value.
+         *
+         * @return
+         */
+        public OptionalLong min() {
+            boolean found = false;
+            long min = Long.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                if (!isNull(i)) {
+                    found = true;
+                    min = Math.min(min, chunks[i >>> SHIFT][i & MASK]);
+                }
+            }
+            return found ? OptionalLong.of(min) : OptionalLong.empty();
+        }
+
+        /**
+         * Find the maximum non-null value.
+         *
+         * @return
+         */
+        public OptionalLong max() {
+            boolean found = false;
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < size; i++) {
+                if (!isNull(i)) {
+                    found = true;
+                    max = Math.max(max, chunks[i >>> SHIFT][i & MASK]);
+                }
+            }
+            return found ? OptionalLong.of(max) : OptionalLong.empty();
+        }
+    }
+
+    /**
+     * The column of double.
+     */
+    public static final class Doubles extends Vector {
+
+        /** The chunks. */
+        private double[][] chunks = new double[0][];
+
+        /**
+         * Add the value.
+         *
+         * @param value
+         */
+        public void add(double value) {
+            if ((size & MASK) == 0) chunks = grow(chunks, () -> new double[CHUNK]);
+            chunks[size >>> SHIFT][size & MASK] = value;
+            size++;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void addNull() {
+            add(0);
+            markNull();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void append(Object value) {
+            if (value == null) {
+                addNull();
+            } else {
+                add(((Number) value).doubleValue());
+            }
+        }
+
+        /**
+         * Read the value.
+         *
+         * @param index The row index.
+         * @return The value (0 for null).
+         */
+        public double get(int index) {
+            return chunks[index >>> SHIFT][index & MASK];
+        }
+
+        /**
+         * Iterate all non-null values without boxing.
+         *
+         * @param action
+         */
+        public void forEach(DoubleConsumer action) {
+            for (int i = 0; i < size; i++) {
+                if (!isNull(i)) action.accept(chunks[i >>> SHIFT][i & MASK]);
+            }
+        }
+
+        /**
+         * Copy into the single array.
+         *
+         * @return The values (0 for null).
+         */
+        public double[] toArray() {
+            double[] array = new double[size];
+            for (int i = 0, offset = 0; offset < size; i++, offset += CHUNK) {
+                System.arraycopy(chunks[i], 0, array, offset, Math.min(CHUNK, size - offset));
+            }
+            return array;
+        }
+
+        /**
+         * Calculate the sum of non-null values.
+         *
+         * @return
+         */
+        public double sum() {
+            double sum = 0;
+            for (int i = 0; i < size; i++) {
+                sum += chunks[i >>> SHIFT][i & MASK];
+            }
+            return sum;
+        }
+
+        /**
+         * Calculate the average of non-null values.
+         *
+         * @return NaN for no value.
+         */
+        public double avg() {
+            int count = count();
+            return count == 0 ? Double.NaN : sum() / count;
+        }
+
+        /**
+         * Find the minimum non-null value.
+         *
+         * @return
+         */
+        public OptionalDouble min() {
+            boolean found = false;
+            double min = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < size; i++) {
+                if (!isNull(i)) {
+                    found = true;
+                    min = Math.min(min, chunks[i >>> SHIFT][i & MASK]);
+                }
+            }
+            return found ? OptionalDouble.of(min) : OptionalDouble.empty();
+        }
+
+        /**
+         * Find the maximum non-null value.
+         *
+         * @return
+         */
+        public OptionalDouble max() {
+            boolean found = false;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < size; i++) {
+                if (!isNull(i)) {
+                    found = true;
+                    max = Math.max(max, chunks[i >>> SHIFT][i & MASK]);
+                }
+            }
+            return found ? OptionalDouble.of(max) : OptionalDouble.empty();
+        }
+    }
+
+    /**
+     * The dictionary-encoded column of text. Each row stores the code of the distinct value, so the
+     * repeated values share the single instance.
+     */
+    public static final class Strings extends Vector {
+
+        /** The codes. */
+        private final Ints codes = new Ints();
+
+        /** The code mapping. */
+        private final Map<String, Integer> encoder = new HashMap();
+
+        /** The distinct values in the code order. */
+        private final List<String> dictionary = new ArrayList();
+
+        /**
+         * Add the value.
+         *
+         * @param value
+         */
+        public void add(String value) {
+            if (value == null) {
+                addNull();
+            } else {
+                Integer code = encoder.get(value);
+                if (code == null) {
+                    code = dictionary.size();
+                    encoder.put(value, code);
+                    dictionary.add(value);
+                }
+                codes.add(code);
+                size++;
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void addNull() {
+            codes.add(-1);
+            size++;
+            markNull();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void append(Object value) {
+            if (value == null) {
+                addNull();
+            } else if (value instanceof Enum e) {
+                add(e.name());
+            } else {
+                add(value.toString());
+            }
+        }
+
+        /**
+         * Read the value.
+         *
+         * @param index The row index.
+         * @return The value or null.
+         */
+        public String get(int index) {
+            int code = codes.get(index);
+            return code == -1 ? null : dictionary.get(code);
+        }
+
+        /**
+         * Read the dictionary code.
+         *
+         * @param index The row index.
+         * @return The code or -1 for null.
+         */
+        public int code(int index) {
+            return codes.get(index);
+        }
+
+        /**
+         * Returns the distinct values in the code order.
+         *
+         * @return
+         */
+        public String[] dictionary() {
+            return dictionary.toArray(String[]::new);
+        }
+
+        /**
+         * Returns the number of distinct non-null values.
+         *
+         * @return
+         */
+        public int cardinality() {
+            return dictionary.size();
+        }
+
+        /**
+         * Count the rows of each distinct value without boxing.
+         *
+         * @return The counts in the code order.
+         */
+        public long[] counts() {
+            long[] counts = new long[dictionary.size()];
+            codes.forEach(code -> {
+                if (code != -1) counts[code]++;
+            });
+            return counts;
+        }
+
+        /**
+         * Copy into the single array.
+         *
+         * @return The values.
+         */
+        public String[] toArray() {
+            String[] array = new String[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = get(i);
+            }
+            return array;
+        }
+    }
+}
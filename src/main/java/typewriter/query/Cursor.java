@@ -0,0 +1,282 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.query;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import kiss.I;
+import kiss.WiseFunction;
+
+/**
+ * The demand-driven {@link Flow.Publisher} over the database cursor. The cursor is opened at the
+ * first request, reads the rows only as many as requested and is closed as soon as the subscriber
+ * cancels or the rows are exhausted.
+ */
+public class Cursor<T> implements Flow.Publisher<T> {
+
+    /** The number of rows which are transferred at once at most. */
+    private static final int fetch = I.env("typewriter.query.fetch", 256);
+
+    /** The executor of the blocking reads. */
+    private static final ExecutorService READER = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("typewriter-cursor-", 0).factory());
+
+    /** The cursor opener which accepts the first demand. */
+    private final WiseFunction<Long, Source<T>> opener;
+
+    /**
+     * @param opener The cursor opener which accepts the first demand.
+     */
+    public Cursor(WiseFunction<Long, Source<T>> opener) {
+        this.opener = Objects.requireNonNull(opener);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        subscriber.onSubscribe(new Subscription(Objects.requireNonNull(subscriber)));
+    }
+
+    /**
+     * Compute the number of rows which are transferred at once for the demand.
+     *
+     * @param demand The requested number of rows.
+     * @return The fetch size.
+     */
+    public static int size(long demand) {
+        return (int) Math.max(1, Math.min(demand, fetch));
+    }
+
+    /**
+     * Create the {@link Source} from the {@link Iterator}.
+     *
+     * @param iterator The rows.
+     * @param resource The resource which is closed with the cursor.
+     * @return The created {@link Source}.
+     */
+    public static <T> Source<T> of(Iterator<T> iterator, AutoCloseable resource) {
+        return new Source<T>() {
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public boolean hasNext() throws Exception {
+                return iterator.hasNext();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public T next() throws Exception {
+                return iterator.next();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void close() throws Exception {
+                if (resource != null) resource.close();
+            }
+        };
+    }
+
+    /**
+     * The opened database cursor.
+     */
+    public interface Source<T> extends AutoCloseable {
+
+        /**
+         * Check whether the next row exists.
+         *
+         * @return The result.
+         */
+        boolean hasNext() throws Exception;
+
+        /**
+         * Read the next row.
+         *
+         * @return The decoded row.
+         */
+        T next() throws Exception;
+
+        /**
+         * Notify the outstanding demand to adjust the transfer size.
+         *
+         * @param demand The requested number of rows.
+         */
+        default void demand(long demand) throws Exception {
+        }
+    }
+
+    /**
+     * The demand management for each subscriber.
+     */
+    private class Subscription implements Flow.Subscription {
+
+        /** The subscriber. */
+        private final Flow.Subscriber<? super T> subscriber;
+
+        /** The outstanding demand. */
+        private final AtomicLong requested = new AtomicLong();
+
+        /** The number of the pending drain requests. */
+        private final AtomicInteger wip = new AtomicInteger();
+
+        /** The cancellation. */
+        private volatile boolean cancelled;
+
+        /** The illegal request. */
+        private volatile Throwable error;
+
+        /** The termination, accessed by the draining thread only. */
+        private boolean done;
+
+        /** The opened cursor, accessed by the draining thread only. */
+        private Source<T> source;
+
+        /**
+         * @param subscriber The subscriber.
+         */
+        private Subscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("The request must be positive, but " + n + ".");
+            } else {
+                requested.getAndAccumulate(n, (current, added) -> Long.MAX_VALUE - current <= added ? Long.MAX_VALUE : current + added);
+            }
+            schedule();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        /**
+         * Read the rows on the other thread to avoid blocking the requester and the reentrancy from
+         * onNext.
+         */
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                READER.execute(this::drain);
+            }
+        }
+
+        /**
+         * Read the rows as many as requested.
+         */
+        private void drain() {
+            int missed = 1;
+            do {
+                if (!done) emit();
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * Emit the requested rows.
+         */
+        private void emit() {
+            try {
+                if (cancelled) {
+                    close();
+                    return;
+                }
+
+                if (error != null) {
+                    close();
+                    subscriber.onError(error);
+                    return;
+                }
+
+                long demand = requested.get();
+                if (demand == 0) {
+                    return;
+                }
+
+                if (source == null) {
+                    source = opener.apply(demand);
+                } else {
+                    source.demand(demand);
+                }
+
+                long emitted = 0;
+                while (emitted < demand) {
+                    if (cancelled) {
+                        close();
+                        return;
+                    }
+
+                    if (!source.hasNext()) {
+                        close();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    subscriber.onNext(source.next());
+                    emitted++;
+                }
+
+                if (demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+
+                // the demand is exactly satisfied, complete now instead of waiting for the next
+                // request which may never come
+                if (!cancelled && !source.hasNext()) {
+                    close();
+                    subscriber.onComplete();
+                }
+            } catch (Throwable e) {
+                if (!done) {
+                    close();
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        /**
+         * Release the cursor and its connection.
+         */
+        private void close() {
+            done = true;
+
+            if (source != null) {
+                try {
+                    source.close();
+                } catch (Throwable e) {
+                    // ignore
+                } finally {
+                    source = null;
+                }
+            }
+        }
+    }
+}
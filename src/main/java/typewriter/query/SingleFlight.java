@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.query;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import kiss.I;
+import kiss.WiseSupplier;
+
+/**
+ * Deduplicate the identical concurrent queries. The callers with the same fingerprint share the
+ * single in-flight execution and receive the same result.
+ */
+public class SingleFlight {
+
+    /** The activation. */
+    private final boolean enabled;
+
+    /** The time (ms) to share the completed result with the late callers. */
+    private final long window;
+
+    /** The maximum number of callers which share the single execution. */
+    private final int fanIn;
+
+    /** The in-flight executions. */
+    private final ConcurrentHashMap<Object, Flight> flights = new ConcurrentHashMap();
+
+    /** The number of actual executions. */
+    private final LongAdder executed = new LongAdder();
+
+    /** The number of deduplicated calls. */
+    private final LongAdder deduplicated = new LongAdder();
+
+    /**
+     * Configure by the environment variables (typewriter.singleflight, typewriter.singleflight.window
+     * and typewriter.singleflight.fanIn).
+     */
+    public SingleFlight() {
+        this(I.env("typewriter.singleflight", false), I.env("typewriter.singleflight.window", 0L), I
+                .env("typewriter.singleflight.fanIn", 256));
+    }
+
+    /**
+     * @param enabled The activation.
+     * @param window The time (ms) to share the completed result with the late callers.
+     * @param fanIn The maximum number of callers which share the single execution.
+     */
+    public SingleFlight(boolean enabled, long window, int fanIn) {
+        this.enabled = enabled;
+        this.window = Math.max(0, window);
+        this.fanIn = Math.max(1, fanIn);
+    }
+
+    /**
+     * Check the activation.
+     *
+     * @return
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the number of actual executions.
+     *
+     * @return
+     */
+    public long executed() {
+        return executed.sum();
+    }
+
+    /**
+     * Returns the number of calls which shared the other execution.
+     *
+     * @return
+     */
+    public long deduplicated() {
+        return deduplicated.sum();
+    }
+
+    /**
+     * Discard all shared executions, the later callers execute again. The callers which have already
+     * joined still receive the current result.
+     */
+    public void invalidate() {
+        flights.clear();
+    }
+
+    /**
+     * Execute the task or join the in-flight execution with the same fingerprint.
+     *
+     * @param fingerprint The normalized query which identifies the execution.
+     * @param task The actual execution.
+     * @return The shared result.
+     */
+    public <T> T execute(Object fingerprint, WiseSupplier<T> task) {
+        if (!enabled) {
+            executed.increment();
+            return task.get();
+        }
+
+        while (true) {
+            Flight flight = new Flight();
+            Flight current = flights.putIfAbsent(fingerprint, flight);
+
+            if (current == null) {
+                executed.increment();
+                try {
+                    flight.future.complete(task.get());
+                } catch (Throwable e) {
+                    flight.future.completeExceptionally(e);
+                } finally {
+                    if (window == 0) {
+                        flights.remove(fingerprint, flight);
+                    } else {
+                        CompletableFuture.delayedExecutor(window, TimeUnit.MILLISECONDS).execute(() -> flights.remove(fingerprint, flight));
+                    }
+                }
+                return (T) flight.join();
+            } else if (current.members.incrementAndGet() <= fanIn) {
+                deduplicated.increment();
+                return (T) current.join();
+            } else if (current.future.isDone()) {
+                // the shared result is saturated, start the new window
+                flights.remove(fingerprint, current);
+            } else {
+                // the in-flight execution is saturated, execute independently
+                executed.increment();
+                return task.get();
+            }
+        }
+    }
+
+    /**
+     * The single execution.
+     */
+    private static class Flight {
+
+        /** The result. */
+        private final CompletableFuture<Object> future = new CompletableFuture();
+
+        /** The number of callers which joined. */
+        private final AtomicInteger members = new AtomicInteger();
+
+        /**
+         * Wait for the result.
+         *
+         * @return
+         */
+        private Object join() {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                throw I.quiet(e.getCause());
+            }
+        }
+    }
+}
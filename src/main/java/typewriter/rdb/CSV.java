@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.rdb;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * The minimal RFC 4180 CSV codec for the bulk loaders. The null value is written as the unquoted
+ * empty field and the empty string is written as the quoted empty field, which is the default
+ * convention of COPY and LOAD DATA.
+ */
+public final class CSV {
+
+    /**
+     * Hide constructor.
+     */
+    private CSV() {
+    }
+
+    /**
+     * Write the row as the single CSV line.
+     *
+     * @param output The output.
+     * @param row The encoded values.
+     * @param delimiter The field delimiter.
+     * @return The output.
+     */
+    public static <A extends Appendable> A write(A output, Object[] row, char delimiter) throws IOException {
+        return write(output, row, delimiter, "");
+    }
+
+    /**
+     * Write the row as the single CSV line.
+     *
+     * @param output The output.
+     * @param row The encoded values.
+     * @param delimiter The field delimiter.
+     * @param nullValue The unquoted field which represents null (e.g. NULL of LOAD DATA).
+     * @return The output.
+     */
+    public static <A extends Appendable> A write(A output, Object[] row, char delimiter, String nullValue) throws IOException {
+        for (int i = 0; i < row.length; i++) {
+            if (i != 0) output.append(delimiter);
+
+            Object value = row[i];
+            if (value == null) {
+                output.append(nullValue);
+            } else if (value instanceof BigDecimal decimal) {
+                output.append(decimal.toPlainString());
+            } else if (value instanceof Number || value instanceof Boolean) {
+                output.append(value.toString());
+            } else {
+                String text = value.toString();
+                if (text.isEmpty() || text.equals(nullValue) || needQuote(text, delimiter)) {
+                    output.append('"').append(text.replace("\"", "\"\"")).append('"');
+                } else {
+                    output.append(text);
+                }
+            }
+        }
+        return (A) output.append('\n');
+    }
+
+    /**
+     * Check whether the text must be quoted.
+     *
+     * @param text
+     * @param delimiter
+     * @return
+     */
+    private static boolean needQuote(String text, char delimiter) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == delimiter || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Read the CSV lines lazily. The unquoted empty field is read as null.
+     *
+     * @param input The input.
+     * @param delimiter The field delimiter.
+     * @return The rows.
+     */
+    public static Iterator<String[]> read(Reader input, char delimiter) {
+        Reader reader = input.markSupported() ? input : new BufferedReader(input);
+
+        return new Iterator<>() {
+
+            /** The read-ahead row. */
+            private String[] next;
+
+            /** The end of input. */
+            private boolean end;
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public boolean hasNext() {
+                if (next == null && !end) {
+                    try {
+                        next = parse();
+                        end = next == null;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return next != null;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public String[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                String[] row = next;
+                next = null;
+                return row;
+            }
+
+            /**
+             * Parse the next line.
+             *
+             * @return The fields or null at the end of input.
+             */
+            private String[] parse() throws IOException {
+                List<String> fields = new ArrayList();
+                StringBuilder field = new StringBuilder();
+                boolean quoted = false;
+                boolean wasQuoted = false;
+                boolean any = false;
+
+                int c;
+                while ((c = reader.read()) != -1) {
+                    any = true;
+
+                    if (quoted) {
+                        if (c == '"') {
+                            reader.mark(1);
+                            if (reader.read() == '"') {
+                                field.append('"');
+                            } else {
+                                reader.reset();
+                                quoted = false;
+                            }
+                        } else {
+                            field.append((char) c);
+                        }
+                    } else if (c == '"') {
+                        quoted = wasQuoted = true;
+                    } else if (c == delimiter) {
+                        fields.add(field.isEmpty() && !wasQuoted ? null : field.toString());
+                        field.setLength(0);
+                        wasQuoted = false;
+                    } else if (c == '\n') {
+                        break;
+                    } else if (c != '\r') {
+                        field.append((char) c);
+                    }
+                }
+
+                if (!any) {
+                    return null;
+                }
+                fields.add(field.isEmpty() && !wasQuoted ? null : field.toString());
+                return fields.toArray(String[]::new);
+            }
+        };
+    }
+}
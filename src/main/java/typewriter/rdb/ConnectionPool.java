@@ -35,6 +35,7 @@ import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
@@ -79,9 +80,16 @@ class ConnectionPool implements WiseSupplier<Connection> {
     /** The stream mode. */
     private final boolean longevity;
 
+    /** The concurrency limit of the asynchronous operations. */
+    final Semaphore permits;
+
+    /** The single writer which commits the statements in group, null when it is disabled. */
+    final GroupCommit writer;
+
     public ConnectionPool(String url) {
         this.url = url;
         this.dialect = detectDialect(url);
+        this.dialect.configure(url);
         this.max = config("typewriter.connection.max", 16);
         this.min = config("typewriter.connection.min", 0);
         this.autoCommit = config("typewriter.connection.autoCommit", true);
@@ -92,6 +100,10 @@ class ConnectionPool implements WiseSupplier<Connection> {
         this.longevity = config("typewriter.connection.longevity", max > 4);
         this.idles = new ArrayBlockingQueue(max);
         this.busy = ConcurrentHashMap.newKeySet();
+        this.permits = new Semaphore(max, true);
+        this.writer = config("typewriter.connection.groupCommit", false)
+                ? new GroupCommit(url, dialect, config("typewriter.connection.groupCommitSize", 256))
+                : null;
     }
 
     /**
@@ -134,6 +146,10 @@ class ConnectionPool implements WiseSupplier<Connection> {
      * Close system resources.
      */
     private void close() {
+        if (writer != null) {
+            writer.close();
+        }
+
         for (ManagedConnection connecton : busy) {
             try {
                 connecton.delegation.close();
@@ -187,6 +203,41 @@ class ConnectionPool implements WiseSupplier<Connection> {
         }
     }
 
+    /**
+     * Returns the max size of pooled connections.
+     * 
+     * @return
+     */
+    int size() {
+        return max;
+    }
+
+    /**
+     * Borrow the connection which stays out of the pool until it is released by
+     * {@link #unpin(Connection)}, even if the statement closes it.
+     * 
+     * @return
+     */
+    Connection pin() throws Exception {
+        ManagedConnection connection = (ManagedConnection) call();
+        connection.pinned = true;
+        return connection;
+    }
+
+    /**
+     * Return the pinned connection to the pool.
+     * 
+     * @param connection
+     */
+    static void unpin(Connection connection) {
+        try {
+            ((ManagedConnection) connection).pinned = false;
+            connection.close();
+        } catch (SQLException e) {
+            throw I.quiet(e);
+        }
+    }
+
     private void log(String message) {
         I.debug("typewriter", (Supplier<String>) () -> {
             int idle = idles.size();
@@ -248,6 +299,9 @@ class ConnectionPool implements WiseSupplier<Connection> {
         /** State. */
         private boolean processing;
 
+        /** The connection is used exclusively over several statements. */
+        private volatile boolean pinned;
+
         /**
          * @param delegation
          * @throws SQLException
@@ -319,6 +373,10 @@ class ConnectionPool implements WiseSupplier<Connection> {
             }
             resources.clear();
 
+            if (pinned) {
+                return;
+            }
+
             idles.offer(this);
             busy.remove(this);
             processing = false;
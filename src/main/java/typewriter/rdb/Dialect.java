@@ -9,16 +9,27 @@
  */
 package typewriter.rdb;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
 import java.util.Properties;
+import java.util.StringJoiner;
 
 import kiss.I;
 import kiss.Managed;
 import kiss.Model;
 import kiss.Property;
 import kiss.Singleton;
+import kiss.Ⅱ;
 import typewriter.api.Constraint.ListConstraint;
+import typewriter.api.FullText;
 import typewriter.api.Identifiable;
 import typewriter.api.Specifier.ListSpecifier;
 import typewriter.rdb.RDBConstraint.ForList;
@@ -94,6 +105,18 @@ public abstract class Dialect {
         return DriverManager.getConnection(url, properties);
     }
 
+    /**
+     * Bind the encoded value to the statement. The encoded {@link List} is bound as JSON text by
+     * default, override it to bind in the dialect-native storage.
+     * 
+     * @param statement
+     * @param index
+     * @param value
+     */
+    public void bind(PreparedStatement statement, int index, Object value) throws SQLException {
+        statement.setObject(index, value instanceof RDBCodec.Elements ? value.toString() : value);
+    }
+
     /**
      * Create new database.
      * 
@@ -106,8 +129,162 @@ public abstract class Dialect {
      * @param specifier
      * @return
      */
-    public <M, N> ListConstraint<N> createListConstraint(ListSpecifier<M, N> specifier) {
-        return new ForList(specifier, this);
+    public <M, N> ListConstraint<N> createListConstraint(ListSpecifier<M, N> specifier, String tableName) {
+        return new ForList(specifier, this, tableName);
+    }
+
+    /**
+     * Create the index for the membership query of the list column. The dialect which can't index
+     * the list column itself maintains the inverted side table {@link #listTableName(String, String)}
+     * which has the owner's id and each element.
+     * 
+     * @param connection
+     * @param tableName The unquoted table name.
+     * @param column The list column name.
+     */
+    public void createListIndex(Connection connection, String tableName, String column) throws SQLException {
+    }
+
+    /**
+     * Migrate the list column which is written in the previous storage (JSON text) into the current
+     * storage. It is called before {@link #createListIndex(Connection, String, String)} whenever
+     * the table is opened, so the migrated column must be detected and skipped.
+     * 
+     * @param connection
+     * @param tableName The unquoted table name.
+     * @param column The list column name.
+     * @param property The list property.
+     * @param typeName The type name of the existing column, null when the column is added now.
+     */
+    public void migrateList(Connection connection, String tableName, String column, Property property, String typeName) throws SQLException {
+    }
+
+    /**
+     * Compute the unquoted name of the inverted side table of the list column.
+     * 
+     * @param tableName The unquoted table name.
+     * @param column The list column name.
+     * @return
+     */
+    public static String listTableName(String tableName, String column) {
+        return tableName + "__" + column;
+    }
+
+    /**
+     * Check whether the table exists.
+     * 
+     * @param connection
+     * @param tableName The unquoted table name.
+     * @return
+     */
+    protected static boolean exists(Connection connection, String tableName) throws SQLException {
+        try (ResultSet tables = connection.getMetaData().getTables(null, null, tableName, null)) {
+            return tables.next();
+        }
+    }
+
+    /**
+     * Create the native full-text index of the columns which are annotated by {@link FullText}.
+     * 
+     * @param connection
+     * @param tableName The unquoted table name.
+     * @param columns The full-text column names.
+     */
+    public void createFullTextIndex(Connection connection, String tableName, List<String> columns) throws SQLException {
+    }
+
+    /**
+     * Check whether the database maintains the full-text index on modification. Otherwise,
+     * {@link #createFullTextIndex(Connection, String, List)} rebuilds the index before the search
+     * if the table has been modified.
+     * 
+     * @return
+     */
+    public boolean maintainFullTextIndex() {
+        return true;
+    }
+
+    /**
+     * Configure the connection pool of the specified address before it is created. The dialect can
+     * set the default values of the address-specific configuration here.
+     * 
+     * @param url The backend address.
+     */
+    protected void configure(String url) {
+    }
+
+    /**
+     * Check whether the database accepts the concurrent writes from the multiple connections.
+     * Otherwise, the parallel update writes all chunks on the single connection to avoid the lock
+     * contention.
+     * 
+     * @return
+     */
+    public boolean concurrentWrite() {
+        return true;
+    }
+
+    /**
+     * Define condition for the full-text search. The default implementation requires all words by
+     * LIKE without any index.
+     * 
+     * @param tableName The unquoted table name.
+     * @param propertyName The full-text column name.
+     * @param text The search words.
+     * @return
+     */
+    public String commandFullText(String tableName, String propertyName, String text) {
+        StringJoiner joiner = new StringJoiner(" AND ", "(", ")");
+        for (String word : words(text)) {
+            String escaped = word.replace("!", "!!").replace("%", "!%").replace("_", "!_").replace("'", "''");
+            joiner.add(propertyName + " LIKE '%" + escaped + "%' ESCAPE '!'");
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Define the relevance order of the full-text search.
+     * 
+     * @param tableName The unquoted table name.
+     * @param propertyName The full-text column name.
+     * @param text The search words.
+     * @return The ORDER BY expression with its direction, or null if the database can't rank.
+     */
+    public String commandFullTextOrder(String tableName, String propertyName, String text) {
+        return null;
+    }
+
+    /**
+     * Split the search text into words.
+     * 
+     * @param text The search text.
+     * @return
+     */
+    public static List<String> words(String text) {
+        return text == null || text.isBlank() ? List.of() : List.of(text.strip().split("\\s+"));
+    }
+
+    /**
+     * Compute the unquoted name of the native full-text index (or table) of the column.
+     * 
+     * @param tableName The unquoted table name.
+     * @param column The full-text column name.
+     * @return
+     */
+    public static String fullTextName(String tableName, String column) {
+        return tableName + "__" + column + "__fts";
+    }
+
+    /**
+     * Helper to write the semi-join with the inverted side table of the list column.
+     * 
+     * @param tableName The unquoted table name.
+     * @param propertyName The list column name.
+     * @param literal The SQL literal of the element.
+     * @return
+     */
+    protected String commandListSemiJoin(String tableName, String propertyName, String literal) {
+        return "id IN (SELECT id FROM " + quote() + listTableName(tableName, propertyName) + quote() + " WHERE " + quote() + "value" + quote() + " = " + literal + ")";
     }
 
     /**
@@ -182,6 +359,164 @@ public abstract class Dialect {
         return propertyName + " REGEXP '" + regex + "'";
     }
 
+    /**
+     * Define SQL for the estimated number of rows from the catalog without scanning the table.
+     * 
+     * @param name The unquoted table name.
+     * @return The query which returns the single number or null when the catalog is unavailable.
+     */
+    public String commandEstimatedCount(String name) {
+        return null;
+    }
+
+    /**
+     * Define SQL for the column statistics from the catalog. The query returns the rows of the
+     * column name, the null fraction and the estimated number of distinct values.
+     * 
+     * @param name The unquoted table name.
+     * @return The query or null when the catalog is unavailable.
+     */
+    public String commandStatistics(String name) {
+        return null;
+    }
+
+    /**
+     * Define function for the number of distinct values which is used to scan the statistics.
+     * 
+     * @param columnName
+     * @return
+     */
+    public String commandDistinctCount(String columnName) {
+        return "count(DISTINCT " + columnName + ")";
+    }
+
+    /**
+     * Append the encoded rows by the native bulk loader of the database.
+     * 
+     * @param connection The connection to write.
+     * @param name The unquoted table name.
+     * @param columns The column names and their types in the table order.
+     * @param rows The encoded rows in the column order.
+     * @return false when the database has no native bulk loader for the columns.
+     */
+    public boolean append(Connection connection, String name, List<Ⅱ<String, Class>> columns, Iterable<Object[]> rows) throws Exception {
+        return false;
+    }
+
+    /**
+     * Insert or replace the encoded rows by the native bulk loader of the database without the
+     * staging table.
+     * 
+     * @param connection The connection to write.
+     * @param name The unquoted table name.
+     * @param columns The column names and their types in the table order.
+     * @param rows The encoded rows in the column order.
+     * @return false when the database has no native bulk loader which can replace the rows.
+     */
+    public boolean upsert(Connection connection, String name, List<Ⅱ<String, Class>> columns, Iterable<Object[]> rows) throws Exception {
+        return false;
+    }
+
+    /**
+     * Export the query result as CSV with the header line by the native bulk exporter of the
+     * database.
+     * 
+     * @param connection The connection to read.
+     * @param query The query.
+     * @param output The destination.
+     * @return false when the database has no native bulk exporter.
+     */
+    public boolean export(Connection connection, String query, OutputStream output) throws Exception {
+        return false;
+    }
+
+    /**
+     * Load the CSV without the header line by the native bulk loader of the database.
+     * 
+     * @param connection The connection to write.
+     * @param tableName The quoted table name.
+     * @param columns The column names in the CSV order.
+     * @param input The source.
+     * @return false when the database has no native bulk loader.
+     */
+    public boolean load(Connection connection, String tableName, List<String> columns, InputStream input) throws Exception {
+        return false;
+    }
+
+    /**
+     * Write all rows of the table into the file by the native exporter of the database. The list
+     * columns are written as JSON text which every database can read back.
+     * 
+     * @param connection The connection to read.
+     * @param tableName The quoted table name.
+     * @param lists The list column names.
+     * @param file The destination.
+     * @param format The file format.
+     * @return false when the database can't write the file by itself.
+     */
+    public boolean exportFile(Connection connection, String tableName, Collection<String> lists, Path file, FileFormat format) throws Exception {
+        return false;
+    }
+
+    /**
+     * Insert all rows in the file by the native importer of the database.
+     * 
+     * @param connection The connection to write.
+     * @param tableName The quoted table name.
+     * @param lists The list column names which are written as JSON text.
+     * @param file The source.
+     * @param format The file format.
+     * @return false when the database can't read the file by itself.
+     */
+    public boolean importFile(Connection connection, String tableName, Collection<String> lists, Path file, FileFormat format) throws Exception {
+        return false;
+    }
+
+    /**
+     * Define SQL for the empty staging table which has the same columns as the target table.
+     * 
+     * @param stageName The quoted staging table name.
+     * @param tableName The quoted target table name.
+     * @return
+     */
+    public String commandCreateStage(String stageName, String tableName) {
+        return "CREATE TEMPORARY TABLE " + stageName + " AS SELECT * FROM " + tableName + " WHERE 1=0";
+    }
+
+    /**
+     * Define SQL for merging the staging table into the target table.
+     * 
+     * @param tableName The quoted target table name.
+     * @param stageName The quoted staging table name.
+     * @param columns The column names.
+     * @return
+     */
+    public String commandMerge(String tableName, String stageName, List<String> columns) {
+        StringJoiner names = new StringJoiner(",");
+        StringJoiner updates = new StringJoiner(",");
+        for (String column : columns) {
+            names.add(column);
+            if (!column.equalsIgnoreCase("id")) updates.add(column + "=EXCLUDED." + column);
+        }
+        return "INSERT INTO " + tableName + " (" + names + ") SELECT " + names + " FROM " + stageName + " ON CONFLICT (id) DO UPDATE SET " + updates;
+    }
+
+    /**
+     * Define the start of bucket which floors the value by the width.
+     * 
+     * @param value The bucketable value.
+     * @param width The positive bucket width.
+     * @param integral True if the value is integral, the floating value is floored by the division.
+     * @return The start of bucket.
+     */
+    public String commandBucket(String value, long width, boolean integral) {
+        if (integral) {
+            return "(" + value + " - ((" + value + " % " + width + ") + " + width + ") % " + width + ")";
+        } else {
+            return "(floor(" + value + " / " + width + ") * " + width + ")";
+        }
+    }
+
     /**
      * Define function for length of list.
      * 
@@ -190,11 +525,14 @@ public abstract class Dialect {
     public abstract String commnadListLength();
 
     /**
-     * Define function for length of list.
+     * Define condition for the membership of list.
      * 
+     * @param tableName The unquoted table name.
+     * @param propertyName The list column name.
+     * @param value The element.
      * @return
      */
-    public abstract String commnadListContains(String propertyName, Object value);
+    public abstract String commnadListContains(String tableName, String propertyName, Object value);
 
     /**
      * Helper to write column definitions.
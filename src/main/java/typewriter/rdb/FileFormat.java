@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.rdb;
+
+import java.nio.file.Path;
+
+/**
+ * The file format of the table dump which DuckDB reads and writes natively.
+ */
+public enum FileFormat {
+
+    /** The columnar Apache Parquet. */
+    PARQUET("(FORMAT parquet)", "read_parquet(%s)"),
+
+    /** The RFC 4180 CSV with the header line. */
+    CSV("(FORMAT csv, HEADER)", "read_csv(%s, header = true)");
+
+    /** The option of COPY TO. */
+    private final String option;
+
+    /** The table function to read. */
+    private final String function;
+
+    /**
+     * @param option The option of COPY TO.
+     * @param function The table function to read.
+     */
+    private FileFormat(String option, String function) {
+        this.option = option;
+        this.function = function;
+    }
+
+    /**
+     * Build DuckDB statement which writes the query result into the file.
+     * 
+     * @param query The query.
+     * @param file The destination.
+     * @return The statement.
+     */
+    public String copy(String query, Path file) {
+        return "COPY (" + query + ") TO " + literal(file) + " " + option;
+    }
+
+    /**
+     * Build DuckDB table function which reads the file.
+     * 
+     * @param file The source, the glob pattern is available.
+     * @return The table function.
+     */
+    public String read(Path file) {
+        return String.format(function, literal(file));
+    }
+
+    /**
+     * Build the string literal of the file path.
+     * 
+     * @param file
+     * @return
+     */
+    private static String literal(Path file) {
+        return "'" + file.toAbsolutePath().toString().replace("'", "''") + "'";
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.rdb;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import kiss.I;
+import kiss.WiseFunction;
+import kiss.Ⅱ;
+
+/**
+ * The dedicated single writer which commits the statements of many callers in one transaction. The
+ * failed statement is rolled back to its savepoint, so it never affects the other callers in the
+ * same group. The broken connection is reopened for the next group and the dead writer thread is
+ * replaced, so only the explicit {@link #close()} stops writing.
+ */
+class GroupCommit {
+
+    /** The pending statements. */
+    private final LinkedBlockingQueue<Ⅱ<WiseFunction<Connection, ?>, CompletableFuture>> queue = new LinkedBlockingQueue();
+
+    /** The address. */
+    private final String url;
+
+    /** The dialect. */
+    private final Dialect dialect;
+
+    /** The maximum number of statements in one transaction. */
+    private final int size;
+
+    /** The writer thread. */
+    private volatile Thread writer;
+
+    /** The termination state. */
+    private volatile boolean closed;
+
+    /** The connection of the running group, accessed by the writer thread only. */
+    private Connection active;
+
+    /**
+     * @param url The address.
+     * @param dialect The dialect.
+     * @param size The maximum number of statements in one transaction.
+     */
+    GroupCommit(String url, Dialect dialect, int size) {
+        this.url = url;
+        this.dialect = dialect;
+        this.size = Math.max(1, size);
+
+        start();
+    }
+
+    /**
+     * Submit the statement which is committed with the other callers' statements.
+     *
+     * @param statement The writing process.
+     * @return The completion which is notified with the result after commit.
+     */
+    <R> CompletableFuture<R> submit(WiseFunction<Connection, R> statement) {
+        if (Thread.currentThread() == writer && active != null) {
+            // The running statement writes again (e.g. the original executor is used in the
+            // transaction), so it can't wait for the next group. Run it in place as the part of the
+            // running statement.
+            return nest(statement);
+        }
+
+        CompletableFuture<R> future = new CompletableFuture();
+        Ⅱ<WiseFunction<Connection, ?>, CompletableFuture> task = I.pair(statement, future);
+        queue.add(task);
+
+        if (closed) {
+            // the writer may be closed while submitting
+            if (queue.remove(task)) future.completeExceptionally(new SQLException("The writer is closed."));
+        } else if (!writer.isAlive()) {
+            start();
+        }
+        return future;
+    }
+
+    /**
+     * Execute the statement in the running group on the writer thread. The failed statement is
+     * rolled back to its own savepoint.
+     *
+     * @param statement The writing process.
+     * @return The completion which is notified with the result immediately.
+     */
+    private <R> CompletableFuture<R> nest(WiseFunction<Connection, R> statement) {
+        try {
+            Savepoint savepoint = active.setSavepoint();
+            try {
+                R result = statement.apply(active);
+                active.releaseSavepoint(savepoint);
+                return CompletableFuture.completedFuture(result);
+            } catch (Throwable e) {
+                active.rollback(savepoint);
+                return CompletableFuture.failedFuture(e);
+            }
+        } catch (SQLException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Stop the writer.
+     */
+    synchronized void close() {
+        closed = true;
+        writer.interrupt();
+    }
+
+    /**
+     * Start the new writer thread unless the current one is running.
+     */
+    private synchronized void start() {
+        if (!closed && (writer == null || !writer.isAlive() || writer == Thread.currentThread())) {
+            writer = Thread.ofPlatform().daemon().name("typewriter-writer").start(this::write);
+        }
+    }
+
+    /**
+     * Drain the queue and commit each group.
+     */
+    private void write() {
+        List<Ⅱ<WiseFunction<Connection, ?>, CompletableFuture>> group = new ArrayList();
+        Connection connection = null;
+
+        try {
+            while (!closed) {
+                group.add(queue.take());
+                queue.drainTo(group, size - 1);
+
+                try {
+                    if (connection == null) {
+                        connection = dialect.createConnection(url, null);
+                        connection.setAutoCommit(false);
+                    }
+                    commit(connection, group);
+                } catch (Throwable e) {
+                    // discard the broken connection, the next group opens the new one
+                    fail(group, e);
+                    connection = discard(connection);
+                }
+                group.clear();
+            }
+        } catch (InterruptedException e) {
+            // stop writing
+        } finally {
+            discard(connection);
+            fail(group, new SQLException("The writer is closed."));
+
+            if (closed) {
+                List<Ⅱ<WiseFunction<Connection, ?>, CompletableFuture>> pendings = new ArrayList();
+                queue.drainTo(pendings);
+                fail(pendings, new SQLException("The writer is closed."));
+            } else {
+                // the writer has died unexpectedly, the pending statements are taken over
+                start();
+            }
+        }
+    }
+
+    /**
+     * Execute the group in one transaction.
+     * 
+     * @param connection The writer connection.
+     * @param group The statements.
+     */
+    private void commit(Connection connection, List<Ⅱ<WiseFunction<Connection, ?>, CompletableFuture>> group) throws SQLException {
+        // the statement can't close the shared connection
+        Class[] types = {Connection.class};
+        Connection shared = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), types, (proxy, method, args) -> {
+            if (method.getName().equals("close")) return null;
+
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+
+        List<Ⅱ<CompletableFuture, Object>> succeeded = new ArrayList();
+        for (Ⅱ<WiseFunction<Connection, ?>, CompletableFuture> task : group) {
+            Savepoint savepoint = connection.setSavepoint();
+            try {
+                active = shared;
+                Object result = task.ⅰ.apply(shared);
+                connection.releaseSavepoint(savepoint);
+                succeeded.add(I.pair(task.ⅱ, result));
+            } catch (Throwable e) {
+                connection.rollback(savepoint);
+                task.ⅱ.completeExceptionally(e);
+            } finally {
+                active = null;
+            }
+        }
+
+        try {
+            connection.commit();
+            succeeded.forEach(future -> future.ⅰ.complete(future.ⅱ));
+        } catch (SQLException e) {
+            connection.rollback();
+            succeeded.forEach(future -> future.ⅰ.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Notify the failure to the statements which are not completed yet.
+     * 
+     * @param tasks The statements.
+     * @param error The failure.
+     */
+    private static void fail(List<Ⅱ<WiseFunction<Connection, ?>, CompletableFuture>> tasks, Throwable error) {
+        for (Ⅱ<WiseFunction<Connection, ?>, CompletableFuture> task : tasks) {
+            task.ⅱ.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * Close the writer connection quietly.
+     * 
+     * @param connection The writer connection.
+     * @return Always null.
+     */
+    private static Connection discard(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                // the connection is broken already
+            }
+        }
+        return null;
+    }
+}
\ No newline at end of file
@@ -9,17 +9,53 @@
  */
 package typewriter.rdb;
 
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import kiss.I;
 import kiss.Managed;
@@ -29,10 +65,13 @@ import kiss.Signal;
 import kiss.Variable;
 import kiss.WiseFunction;
 import kiss.WiseSupplier;
+import kiss.Ⅱ;
+import typewriter.api.FullText;
 import typewriter.api.Identifiable;
 import typewriter.api.Metadatable;
 import typewriter.api.QueryExecutor;
 import typewriter.api.Specifier;
+import typewriter.api.Statistics;
 import typewriter.api.model.IdentifiableModel;
 import typewriter.duck.DuckDB;
 import typewriter.duck.DuckModel;
@@ -43,6 +82,9 @@ import typewriter.maria.MariaModel;
 import typewriter.postgres.PostgreSQL;
 import typewriter.postgres.PostgresModel;
 import typewriter.query.AVGOption;
+import typewriter.query.Aggregator;
+import typewriter.query.Columns;
+import typewriter.query.Cursor;
 import typewriter.sqlite.SQLite;
 import typewriter.sqlite.SQLiteModel;
 
@@ -66,6 +108,9 @@ public class RDB<M extends Identifiable> extends QueryExecutor<M, Signal<M>, RDB
     /** The supported RDBMS. */
     public static final Dialect DuckDB = I.make(DuckDB.class);
 
+    /** The number of rows in each part of the file export. */
+    private static final int exportChunk = I.env("typewriter.export.chunk", 100000);
+
     /** The reusable DAO cache. */
     private static final Map<Dialect, Map<String, RDB>> DAO = Map
             .of(H2, new ConcurrentHashMap(), SQLite, new ConcurrentHashMap(), MariaDB, new ConcurrentHashMap(), DuckDB, new ConcurrentHashMap(), PostgreSQL, new ConcurrentHashMap());
@@ -94,6 +139,12 @@ public class RDB<M extends Identifiable> extends QueryExecutor<M, Signal<M>, RDB
     /** The incremental counter. */
     long stamp;
 
+    /** The full-text column names. */
+    private final List<String> fullTexts;
+
+    /** The counter when the full-text index is built. */
+    private long indexed;
+
     /**
      * Data Access Object.
      * 
@@ -129,6 +180,23 @@ public class RDB<M extends Identifiable> extends QueryExecutor<M, Signal<M>, RDB
                 .to(x -> {
                     new SQL<>(this).write(dialect.commandAddRow(tableName, x.ⅰ, x.ⅱ)).execute();
                 });
+
+        // index list properties
+        write(connection -> {
+            for (Property property : model.properties()) {
+                if (property.model.type == List.class) {
+                    String column = dialect.normalizeColumnName(property.name);
+                    dialect.migrateList(connection, this.name, column, property, rows.get(column));
+                    dialect.createListIndex(connection, this.name, column);
+                }
+            }
+
+            if (!fullTexts.isEmpty()) {
+                dialect.createFullTextIndex(connection, this.name, fullTexts);
+                indexed = stamp;
+            }
+            return null;
+        });
     }
 
     /**
@@ -149,6 +217,99 @@ public class RDB<M extends Identifiable> extends QueryExecutor<M, Signal<M>, RDB
         this.tableName = dialect.quote() + this.name + dialect.quote();
         this.dialect = dialect;
         this.provider = provider;
+        this.fullTexts = fullTexts(model.type, dialect);
+    }
+
+    /**
+     * Data Access Object which works on the specified connection. It starts from the modification
+     * state of the origin, the origin records the modification after the connection is finished.
+     * 
+     * @param origin The origin.
+     * @param connection The dedicated connection.
+     */
+    private RDB(RDB<M> origin, Connection connection) {
+        this(origin.model, origin.name, origin.dialect, () -> connection);
+        this.stamp = origin.stamp;
+        this.indexed = origin.indexed;
+    }
+
+    /**
+     * Collect the property names which are annotated by {@link FullText}.
+     * 
+     * @param type A model type.
+     * @param dialect A dialect of RDBMS.
+     * @return
+     */
+    private static List<String> fullTexts(Class type, Dialect dialect) {
+        List<String> names = new ArrayList();
+        for (Class c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (field.isAnnotationPresent(FullText.class)) {
+                    names.add(dialect.normalizeColumnName(field.getName()));
+                }
+            }
+
+            for (Method method : c.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(FullText.class)) {
+                    String name = method.getName().replaceFirst("^(get|is|set)", "");
+                    names.add(dialect.normalizeColumnName(Character.toLowerCase(name.charAt(0)) + name.substring(1)));
+                }
+            }
+        }
+        return I.signal(names).distinct().toList();
+    }
+
+    /**
+     * Rebuild the full-text index which the database doesn't maintain on modification before the
+     * full-text search.
+     * 
+     * @param query A search query.
+     */
+    private void refresh(RDBQuery<M> query) {
+        if (query == null || indexed == stamp || fullTexts.isEmpty() || dialect.maintainFullTextIndex()) {
+            return;
+        }
+
+        for (RDBConstraint<?, ?> constraint : query.constraints) {
+            if (constraint.rank != null) {
+                synchronized (fullTexts) {
+                    long current = stamp;
+                    if (indexed != current) {
+                        write(connection -> {
+                            dialect.createFullTextIndex(connection, name, fullTexts);
+                            return null;
+                        });
+                        indexed = current;
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Execute the write which never changes the indexed text (e.g. the row deletion) without staling
+     * the full-text index which the database doesn't maintain on modification.
+     * 
+     * @param write A write operation.
+     */
+    private void keepFullTextIndex(Runnable write) {
+        if (fullTexts.isEmpty() || dialect.maintainFullTextIndex()) {
+            write.run();
+            return;
+        }
+
+        synchronized (fullTexts) {
+            long before = stamp;
+            try {
+                write.run();
+            } finally {
+                // the concurrent write may change the indexed text
+                if (indexed == before && stamp == before + 1) {
+                    indexed = stamp;
+                }
+            }
+        }
     }
 
     /**
@@ -156,7 +317,7 @@ public class RDB<M extends Identifiable> extends QueryExecutor<M, Signal<M>, RDB
      */
     @Override
     protected RDBQuery<M> createQueryable() {
-        return new RDBQuery(dialect);
+        return new RDBQuery(dialect, name);
     }
 
     /**
@@ -183,33 +344,156 @@ public class RDB<M extends Identifiable> extends QueryExecutor<M, Signal<M>, RDB
         return stamp;
     }
 
+    /**
+     * Returns the dialect of the data source.
+     * 
+     * @return The dialect.
+     */
+    public Dialect dialect() {
+        return dialect;
+    }
+
+    /**
+     * Record the modification. The shared query results are discarded.
+     */
+    void modified() {
+        stamp++;
+        lastModified = System.currentTimeMillis();
+        singleFlight().invalidate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Semaphore concurrency() {
+        // the asynchronous callers queue up to the size of the connection pool
+        return provider instanceof ConnectionPool pool ? pool.permits : super.concurrency();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected long count(RDBQuery<M> query) {
+        refresh(query);
+        return new SQL<>(this).select("count(*)").from(tableName).where(query).query(result -> result.getLong(1)).to().exact();
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
-    public long count() {
-        return new SQL<>(this).select("count(*)").from(tableName).query(result -> result.getLong(1)).to().exact();
+    public long estimatedCount() {
+        String command = dialect.commandEstimatedCount(name);
+        if (command != null) {
+            try {
+                long estimated = new SQL<>(this).write(command).query(result -> result.getLong(1)).to().or(-1L);
+                if (0 < estimated) return estimated;
+            } catch (Throwable e) {
+                // the catalog is not ready (e.g. never analyzed), count exactly
+            }
+        }
+        return count();
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public <V> Signal<V> distinct(Specifier<M, V> specifier) {
+    public Statistics statistics() {
+        List<String> columns = new ArrayList();
+        for (Property property : model.properties()) {
+            for (String suffix : RDBCodec.by(property.model).names) {
+                columns.add(property.name.concat(suffix));
+            }
+        }
+
+        Map<String, Statistics.Column> stats = new LinkedHashMap();
+        String command = dialect.commandStatistics(name);
+        if (command != null) {
+            try {
+                List<Statistics.Column> found = new SQL<>(this).write(command).query(result -> {
+                    String column = result.getString(1);
+                    double nulls = result.getDouble(2);
+                    if (result.wasNull()) nulls = Double.NaN;
+                    double distinct = result.getDouble(3);
+                    if (result.wasNull()) distinct = Double.NaN;
+
+                    for (String candidate : columns) {
+                        if (candidate.equalsIgnoreCase(column)) {
+                            return new Statistics.Column(candidate, nulls, distinct);
+                        }
+                    }
+                    return null;
+                }).skipNull().toList();
+
+                for (Statistics.Column column : found) {
+                    stats.put(column.name(), column);
+                }
+            } catch (Throwable e) {
+                // the catalog is not ready (e.g. never analyzed), scan the table
+            }
+        }
+
+        boolean cataloged = !stats.isEmpty();
+        long rows = cataloged ? estimatedCount() : 0;
+
+        // the catalog may cover only some columns (e.g. the leading columns of the indexes), so
+        // calculate the other columns by the single scan
+        List<String> missing = I.signal(columns).skip(stats::containsKey).toList();
+        if (!missing.isEmpty()) {
+            StringJoiner functions = new StringJoiner(",");
+            functions.add("count(*)");
+            for (String column : missing) {
+                functions.add("count(" + column + ")").add(dialect.commandDistinctCount(column));
+            }
+
+            long count = new SQL<>(this).write("SELECT", functions.toString()).from(tableName).query(result -> {
+                long total = result.getLong(1);
+                for (int i = 0; i < missing.size(); i++) {
+                    long values = result.getLong(i * 2 + 2);
+                    double distinct = result.getDouble(i * 2 + 3);
+                    stats.put(missing.get(i), new Statistics.Column(missing.get(i), total == 0 ? Double.NaN : 1 - (double) values / total, distinct));
+                }
+                return total;
+            }).to().exact();
+            if (!cataloged) {
+                rows = count;
+            }
+        }
+
+        // keep the declaration order of the columns
+        Map<String, Statistics.Column> ordered = new LinkedHashMap();
+        for (String column : columns) {
+            ordered.put(column, stats.get(column));
+        }
+        return new Statistics(rows, ordered);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected <V> Signal<V> distinct(RDBQuery<M> query, Specifier<M, V> specifier) {
         Property property = model.property(specifier.propertyName(dialect));
-        return new SQL<>(this).write("SELECT DISTINCT", property.name).from(tableName).query(result -> (V) decode(property, result));
+        return new SQL<>(this).write("SELECT DISTINCT", property.name)
+                .from(tableName)
+                .where(query)
+                .query(result -> (V) decode(property, result));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public <C extends Comparable> Variable<C> min(Specifier<M, C> specifier) {
+    protected <C extends Comparable> Variable<C> min(RDBQuery<M> query, Specifier<M, C> specifier) {
         Property property = model.property(specifier.propertyName(dialect));
         return new SQL<>(this).write("SELECT")
                 .func("min", property)
                 .as(property.name)
                 .from(tableName)
+                .where(query)
                 .query(result -> (C) decode(property, result))
                 .to();
     }
@@ -218,12 +502,13 @@ public class RDB<M extends Identifiable> extends QueryExecutor<M, Signal<M>, RDB
      * {@inheritDoc}
      */
     @Override
-    public <C extends Comparable> Variable<C> max(Specifier<M, C> specifier) {
+    protected <C extends Comparable> Variable<C> max(RDBQuery<M> query, Specifier<M, C> specifier) {
         Property property = model.property(specifier.propertyName(dialect));
         return new SQL<>(this).write("SELECT")
                 .func("max", property)
                 .as(property.name)
                 .from(tableName)
+                .where(query)
                 .query(result -> (C) decode(property, result))
                 .to();
     }
@@ -232,34 +517,259 @@ public class RDB<M extends Identifiable> extends QueryExecutor<M, Signal<M>, RDB
      * {@inheritDoc}
      */
     @Override
-    public <N extends Number> Signal<Double> avg(Specifier<M, N> specifier, UnaryOperator<AVGOption<M>> option) {
-        return new SQL<>(this).write("SELECT").avg(specifier, option).as("N").from(tableName).query(result -> result.getDouble("N"));
+    protected <N extends Number> Signal<Double> avg(RDBQuery<M> query, Specifier<M, N> specifier, UnaryOperator<AVGOption<M>> option) {
+        return new SQL<>(this).write("SELECT")
+                .avg(specifier, option)
+                .as("N")
+                .from(tableName)
+                .where(query)
+                .query(result -> result.getDouble("N"));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public <N extends Number> N sum(Specifier<M, N> specifier) {
+    protected <N extends Number> N sum(RDBQuery<M> query, Specifier<M, N> specifier) {
         Property property = model.property(specifier.propertyName(dialect));
         return new SQL<>(this).write("SELECT")
                 .func("sum", property)
                 .as(property.name)
                 .from(tableName)
+                .where(query)
                 .query(result -> (N) decode(property, result))
                 .to()
                 .exact();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Map<Object, Object[]> aggregate(RDBQuery<M> query, Specifier<M, ?>[] groups, long width, Aggregator<M> aggregator) {
+        List<Property> keys = names(dialect, groups).map(model::property).toList();
+        List<Ⅱ<String, Property>> functions = I.signal(aggregator.functions)
+                .map(f -> I.pair(f.ⅰ, f.ⅱ == null ? null : model.property(f.ⅱ.propertyName(dialect))))
+                .toList();
+
+        StringJoiner columns = new StringJoiner(",");
+        String bucket = null;
+        String order = "id";
+        if (0 < width) {
+            // the codec converts the first column to the unit of width (e.g. epoch day to epoch
+            // milliseconds), then the bucket is floored by the dialect
+            Property key = keys.get(0);
+            RDBCodec codec = RDBCodec.by(key.model);
+            order = key.name.concat(codec.names.get(0));
+            bucket = dialect.commandBucket(codec.bucket(order), width, !floating(key.model.type));
+            columns.add("k");
+        } else {
+            for (Property key : keys) {
+                for (String name : RDBCodec.by(key.model).names) {
+                    columns.add(key.name.concat(name));
+                }
+            }
+        }
+
+        SQL<M> sql = new SQL<>(this);
+        StringJoiner selects = new StringJoiner(",");
+        if (0 < columns.length()) selects.add(columns.toString());
+
+        boolean ordered = false;
+        for (Ⅱ<String, Property> function : functions) {
+            ordered |= function.ⅰ.equals("first") || function.ⅰ.equals("last");
+        }
+
+        if (bucket == null && !ordered) {
+            // all aggregate functions are calculated in the single SELECT
+            for (int i = 0; i < functions.size(); i++) {
+                Ⅱ<String, Property> function = functions.get(i);
+                selects.add((function.ⅱ == null ? "count(*)" : function.ⅰ + "(" + function.ⅱ.name + ")") + " AS a" + i);
+            }
+
+            sql.write("SELECT", selects.toString()).from(tableName).where(query);
+            if (0 < columns.length()) sql.groupBy(columns.toString()).orderBy(columns.toString());
+        } else {
+            // the derived table computes the bucket and the first or last value in each partition
+            String partition = bucket != null ? bucket : columns.toString();
+            StringJoiner inner = new StringJoiner(",");
+            StringJoiner outer = new StringJoiner(",");
+            if (bucket != null) inner.add(bucket + " AS k");
+            else if (0 < columns.length()) inner.add(columns.toString());
+            if (0 < columns.length()) outer.add(columns.toString());
+
+            for (int i = 0; i < functions.size(); i++) {
+                Ⅱ<String, Property> function = functions.get(i);
+                if (function.ⅱ == null) {
+                    selects.add("count(*) AS a" + i);
+                } else if (function.ⅰ.equals("first") || function.ⅰ.equals("last")) {
+                    inner.add((function.ⅰ.equals("first") ? "FIRST_VALUE(" : "LAST_VALUE(") + function.ⅱ.name + ") OVER (" + (partition
+                            .isEmpty() ? "" : "PARTITION BY " + partition + " ") + "ORDER BY " + order + " ROWS BETWEEN UNBOUNDED PRECEDING AND UNBOUNDED FOLLOWING) AS v" + i);
+                    selects.add("v" + i + " AS a" + i);
+                    outer.add("v" + i);
+                } else {
+                    inner.add(function.ⅱ.name + " AS v" + i);
+                    selects.add(function.ⅰ + "(v" + i + ") AS a" + i);
+                }
+            }
+
+            sql.write("SELECT", selects.toString()).write("FROM (SELECT", inner.toString()).from(tableName).where(query).write(") T");
+            if (0 < outer.length()) sql.groupBy(outer.toString());
+            if (0 < columns.length()) sql.orderBy(columns.toString());
+        }
+
+        Map<Object, Object[]> result = new LinkedHashMap();
+        sql.query(row -> {
+            List values = new ArrayList();
+            if (width <= 0) {
+                for (Property key : keys) {
+                    values.add(decode(key, row));
+                }
+            } else {
+                Class type = keys.get(0).model.type;
+                Number start;
+                if (type == BigDecimal.class) {
+                    start = row.getBigDecimal("k");
+                } else if (floating(type)) {
+                    start = row.getDouble("k");
+                } else {
+                    start = row.getLong("k");
+                }
+                values.add(row.wasNull() ? null : bucket(type, start));
+            }
+
+            Object[] calculated = new Object[functions.size()];
+            for (int i = 0; i < calculated.length; i++) {
+                Ⅱ<String, Property> function = functions.get(i);
+                String alias = "a" + i;
+
+                if (function.ⅱ == null) {
+                    calculated[i] = row.getLong(alias);
+                } else if (function.ⅰ.equals("avg")) {
+                    calculated[i] = row.getDouble(alias);
+                    if (row.wasNull()) calculated[i] = null;
+                } else {
+                    calculated[i] = RDBCodec.by(function.ⅱ.model).decode(row, alias);
+                }
+            }
+            return I.pair(values.isEmpty() ? null : values.size() == 1 ? values.get(0) : values, calculated);
+        }).to(pair -> result.put(pair.ⅰ, pair.ⅱ));
+        return result;
+    }
+
+    /**
+     * Check whether the type is the floating point number which can't be floored by the modulo.
+     * 
+     * @param type
+     * @return
+     */
+    private static boolean floating(Class type) {
+        return type == double.class || type == Double.class || type == float.class || type == Float.class || type == BigDecimal.class;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public Signal<M> findBy(RDBQuery<M> query) {
-        return new SQL<>(this).write("SELECT *")
-                .from(tableName)
-                .write(query)
-                .query(result -> decode(model, model.properties(), I.make(model.type), result));
+        return select(query, SQL::query);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Flow.Publisher<M> publish(RDBQuery<M> query) {
+        return select(query, SQL::publish);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The columns are read from the result set by the primitive accessors directly.
+     */
+    @Override
+    protected Columns columns(RDBQuery<M> query, Specifier<M, ?>[] specifiers) {
+        List<Property> properties = names(dialect, specifiers).map(model::property).toList();
+
+        Columns.Vector[] vectors = new Columns.Vector[properties.size()];
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = Columns.vectorOf(properties.get(i).model.type);
+        }
+
+        new SQL<>(this).write("SELECT").names(properties).from(tableName).write(query).each(result -> {
+            for (int i = 0; i < vectors.length; i++) {
+                int column = i + 1;
+
+                if (vectors[i] instanceof Columns.Ints ints) {
+                    Class type = properties.get(i).model.type;
+                    int value = type == boolean.class || type == Boolean.class ? result.getBoolean(column) ? 1 : 0 : result.getInt(column);
+                    if (result.wasNull()) ints.addNull();
+                    else ints.add(value);
+                } else if (vectors[i] instanceof Columns.Longs longs) {
+                    long value = result.getLong(column);
+                    if (result.wasNull()) longs.addNull();
+                    else longs.add(value);
+                } else if (vectors[i] instanceof Columns.Doubles doubles) {
+                    double value = result.getDouble(column);
+                    if (result.wasNull()) doubles.addNull();
+                    else doubles.add(value);
+                } else if (vectors[i] instanceof Columns.Strings strings) {
+                    strings.add(result.getString(column));
+                }
+            }
+        });
+        return new Columns(vectors);
+    }
+
+    /**
+     * Read the matched rows as the raw {@link ResultSet} without decoding them into models. The
+     * result is emitted only once and is valid only while the observer processes it, so the
+     * observer must read it in place (e.g. by the native exporter of the database).
+     * 
+     * @param constraint A query builder.
+     * @return The raw result.
+     */
+    public Signal<ResultSet> results(Function<RDBQuery<M>, RDBQuery<M>> constraint) {
+        return results(constraint.apply(createQueryable()));
+    }
+
+    /**
+     * Read the matched rows as the raw {@link ResultSet} without decoding them into models. The
+     * result is emitted only once and is valid only while the observer processes it, so the
+     * observer must read it in place (e.g. by the native exporter of the database).
+     * 
+     * @param query The query.
+     * @return The raw result.
+     */
+    public Signal<ResultSet> results(RDBQuery<M> query) {
+        return select(query, (sql, decoder) -> sql.result());
+    }
+
+    /**
+     * Build the query statement.
+     * 
+     * @param query The query.
+     * @param executor The statement executor.
+     * @return The result.
+     */
+    private <R> R select(RDBQuery<M> query, BiFunction<SQL<M>, WiseFunction<ResultSet, M>, R> executor) {
+        refresh(query);
+
+        if (query.selections == null) {
+            SQL<M> sql = new SQL<>(this).write("SELECT *").from(tableName).write(query);
+            return executor.apply(sql, result -> decode(model, model.properties(), I.make(model.type), result));
+        } else {
+            List<Property> properties = I.signal(query.selections)
+                    .map(specifier -> specifier.propertyName(dialect))
+                    .startWith("id")
+                    .distinct()
+                    .map(model::property)
+                    .toList();
+
+            SQL<M> sql = new SQL<>(this).write("SELECT").names(properties).from(tableName).write(query);
+            return executor.apply(sql, result -> decode(model, properties, I.make(model.type), result));
+        }
     }
 
     /**
@@ -277,6 +787,7 @@ public class RDB<M extends Identifiable> extends QueryExecutor<M, Signal<M>, RDB
                 .names(properties)
                 .from(tableName)
                 .where(instance)
+                .into(instance)
                 .query(result -> decode(model, properties, instance, result));
     }
 
@@ -290,14 +801,38 @@ public class RDB<M extends Identifiable> extends QueryExecutor<M, Signal<M>, RDB
         }
 
         if (specifiers == null || specifiers.length == 0) {
-            // delete model
-            new SQL<>(this).write("DELETE").from(tableName).where(instance).execute();
+            // delete model, the deleted row is never matched by the full-text search
+            keepFullTextIndex(() -> new SQL<>(this).write("DELETE").from(tableName).where(instance).execute());
         } else {
             // delete properties
-            new SQL<>(this).write(dialect.commandUpdate(), tableName)
-                    .setNull(names(dialect, specifiers).map(model::property).toList())
+            List<String> names = names(dialect, specifiers).toList();
+            Runnable write = () -> new SQL<>(this).write(dialect.commandUpdate(), tableName)
+                    .setNull(I.signal(names).map(model::property).toList())
                     .where(instance)
                     .execute();
+
+            if (Collections.disjoint(names, fullTexts)) {
+                keepFullTextIndex(write);
+            } else {
+                write.run();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteAll(Iterable<M> models) {
+        StringJoiner ids = new StringJoiner(",", "(", ")").setEmptyValue("");
+        for (M model : models) {
+            if (model != null) {
+                ids.add(String.valueOf(model.getId()));
+            }
+        }
+
+        if (ids.length() != 0) {
+            keepFullTextIndex(() -> new SQL<>(this).write("DELETE").from(tableName).write("WHERE id IN", ids.toString()).execute());
         }
     }
 
@@ -310,13 +845,20 @@ public class RDB<M extends Identifiable> extends QueryExecutor<M, Signal<M>, RDB
             return;
         }
 
-        Collection<Property> properties;
         if (specifiers == null || specifiers.length == 0) {
-            properties = model.properties();
+            dialect.commandUpsert(new SQL<>(this), List.of(instance), model.properties()).execute();
         } else {
-            properties = names(dialect, specifiers).startWith("id").map(model::property).toSet();
+            List<String> names = names(dialect, specifiers).toList();
+            Collection<Property> properties = I.signal(names).startWith("id").map(model::property).toSet();
+            Runnable write = () -> dialect.commandUpsert(new SQL<>(this), List.of(instance), properties).execute();
+
+            // the inserted row by the partial update has no text to be matched
+            if (Collections.disjoint(names, fullTexts)) {
+                keepFullTextIndex(write);
+            } else {
+                write.run();
+            }
         }
-        dialect.commandUpsert(new SQL<>(this), List.of(instance), properties).execute();
     }
 
     /**
@@ -327,16 +869,697 @@ public class RDB<M extends Identifiable> extends QueryExecutor<M, Signal<M>, RDB
         dialect.commandUpsert(new SQL<>(this), models, model.properties()).execute();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The database without the native bulk loader (or the column which the loader can't write)
+     * falls back to {@link #updateAll(Iterable)}.
+     */
+    @Override
+    public void appendAll(Iterable<M> models) {
+        load(models, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The models are loaded into the staging table and merged into this table by the single
+     * statement. The database without the native bulk loader (or the column which the loader can't
+     * write) falls back to {@link #updateAll(Iterable)}.
+     */
+    @Override
+    public void mergeAll(Iterable<M> models) {
+        load(models, true);
+    }
+
+    /**
+     * Export all rows as CSV (RFC 4180, UTF-8) with the header line. The database with the native
+     * bulk exporter (e.g. COPY of PostgreSQL) streams the rows without decoding them into models.
+     * 
+     * @param output The destination which is not closed.
+     */
+    public void exportTo(OutputStream output) {
+        String query = "SELECT * FROM " + tableName;
+
+        try (Connection connection = provider.get()) {
+            if (!dialect.export(connection, query, output)) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+                try (Statement statement = connection.createStatement()) {
+                    statement.setFetchSize(Cursor.size(Long.MAX_VALUE));
+
+                    try (ResultSet result = statement.executeQuery(query)) {
+                        ResultSetMetaData meta = result.getMetaData();
+                        Map<String, Property> lists = lists();
+                        Object[] row = new Object[meta.getColumnCount()];
+                        for (int i = 0; i < row.length; i++) {
+                            row[i] = meta.getColumnName(i + 1);
+                        }
+                        CSV.write(writer, row, ',');
+
+                        while (result.next()) {
+                            for (int i = 0; i < row.length; i++) {
+                                String column = meta.getColumnName(i + 1);
+                                Property list = lists.get(column);
+                                row[i] = list == null ? result.getObject(i + 1) : json(result, column, list);
+                            }
+                            CSV.write(writer, row, ',');
+                        }
+                    }
+                }
+                writer.flush();
+            }
+            lastAccessed = System.currentTimeMillis();
+        } catch (Exception e) {
+            throw I.quiet(e);
+        }
+    }
+
+    /**
+     * Import all rows from CSV (RFC 4180, UTF-8) with the header line which is written by
+     * {@link #exportTo(OutputStream)}. The database with the native bulk loader (e.g. COPY of
+     * PostgreSQL) streams the rows without decoding them into models, the others insert them by the
+     * batched statement.
+     * 
+     * @param input The source which is not closed.
+     */
+    public void importFrom(InputStream input) {
+        List<String> columns = new ArrayList();
+        try {
+            Iterator<String[]> header = CSV.read(new StringReader(line(input)), ',');
+            if (header.hasNext()) {
+                for (String column : header.next()) {
+                    columns.add(column);
+                }
+            }
+        } catch (IOException e) {
+            throw I.quiet(e);
+        }
+        if (columns.isEmpty()) {
+            return;
+        }
+
+        write(connection -> {
+            if (!dialect.load(connection, tableName, columns, input)) {
+                insert(connection, columns, CSV.read(new InputStreamReader(input, StandardCharsets.UTF_8), ','));
+            }
+            return null;
+        });
+        modified();
+    }
+
+    /**
+     * Export all rows into the file. DuckDB writes the file by itself, the other databases stream
+     * the rows in chunks into the attached in-memory DuckDB which writes the file.
+     * 
+     * @param file The destination.
+     * @param format The file format.
+     */
+    public void exportTo(Path file, FileFormat format) {
+        String query = "SELECT * FROM " + tableName;
+        Map<String, Property> lists = lists();
+
+        try (Connection connection = provider.get()) {
+            if (!dialect.exportFile(connection, tableName, lists.keySet(), file, format)) {
+                Path parts = Files.createTempDirectory("typewriter");
+                try (Connection duck = DuckDB.createConnection("jdbc:duckdb:", null);
+                        Statement statement = connection.createStatement()) {
+                    statement.setFetchSize(Cursor.size(Long.MAX_VALUE));
+
+                    try (ResultSet result = statement.executeQuery(query)) {
+                        // the portable column types which the appender can write
+                        ResultSetMetaData meta = result.getMetaData();
+                        List<Ⅱ<String, Class>> columns = new ArrayList();
+                        Property[] properties = new Property[meta.getColumnCount()];
+                        StringJoiner definitions = new StringJoiner(", ");
+                        for (int i = 1; i <= meta.getColumnCount(); i++) {
+                            // the list column is written as JSON text whatever the native storage is
+                            properties[i - 1] = lists.get(meta.getColumnName(i));
+                            Class type = properties[i - 1] != null ? String.class : switch (meta.getColumnType(i)) {
+                            case Types.BIGINT -> Long.class;
+                            case Types.INTEGER, Types.SMALLINT, Types.TINYINT -> Integer.class;
+                            case Types.BOOLEAN, Types.BIT -> Boolean.class;
+                            case Types.REAL, Types.FLOAT, Types.DOUBLE -> Double.class;
+                            default -> String.class;
+                            };
+                            columns.add(I.pair(meta.getColumnName(i), type));
+                            definitions.add("\"" + meta.getColumnName(i) + "\" " + DuckDB.types(type));
+                        }
+                        execute(duck, "CREATE TABLE stage (" + definitions + ")");
+
+                        // each chunk is flushed into the part file to bound the memory
+                        List<Object[]> chunk = new ArrayList();
+                        int count = 0;
+                        boolean next;
+                        do {
+                            next = result.next();
+                            if (next) {
+                                Object[] row = new Object[columns.size()];
+                                for (int i = 0; i < row.length; i++) {
+                                    row[i] = properties[i] != null ? json(result, columns.get(i).ⅰ, properties[i])
+                                            : portable(result.getObject(i + 1), columns.get(i).ⅱ);
+                                }
+                                chunk.add(row);
+                            }
+
+                            if (chunk.size() == exportChunk || (!next && (!chunk.isEmpty() || count == 0))) {
+                                if (!DuckDB.append(duck, "stage", columns, chunk)) {
+                                    throw new IllegalStateException("DuckDB appender is not available.");
+                                }
+                                execute(duck, FileFormat.PARQUET.copy("SELECT * FROM stage", parts.resolve(String.format("%08d.parquet", count++))));
+                                execute(duck, "DELETE FROM stage");
+                                chunk.clear();
+                            }
+                        } while (next);
+                    }
+
+                    execute(duck, format.copy("SELECT * FROM " + FileFormat.PARQUET.read(parts.resolve("*.parquet")), file));
+                } finally {
+                    try (Stream<Path> files = Files.list(parts)) {
+                        for (Path part : files.toList()) {
+                            Files.deleteIfExists(part);
+                        }
+                    }
+                    Files.deleteIfExists(parts);
+                }
+            }
+            lastAccessed = System.currentTimeMillis();
+        } catch (Exception e) {
+            throw I.quiet(e);
+        }
+    }
+
+    /**
+     * Import all rows from the file which is written by {@link #exportTo(Path, FileFormat)}. DuckDB
+     * reads the file by itself, the other databases read it by the attached in-memory DuckDB and
+     * insert the rows by the batched statement.
+     * 
+     * @param file The source.
+     * @param format The file format.
+     */
+    public void importFrom(Path file, FileFormat format) {
+        write(connection -> {
+            if (!dialect.importFile(connection, tableName, lists().keySet(), file, format)) {
+                try (Connection duck = DuckDB.createConnection("jdbc:duckdb:", null);
+                        Statement statement = duck.createStatement();
+                        ResultSet result = statement.executeQuery("SELECT * FROM " + format.read(file))) {
+                    ResultSetMetaData meta = result.getMetaData();
+                    List<String> columns = new ArrayList();
+                    for (int i = 1; i <= meta.getColumnCount(); i++) {
+                        columns.add(meta.getColumnName(i));
+                    }
+
+                    insert(connection, columns, new Iterator<Object[]>() {
+
+                        /** The row is read but not consumed yet. */
+                        private boolean ready;
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        @Override
+                        public boolean hasNext() {
+                            try {
+                                if (!ready) ready = result.next();
+                                return ready;
+                            } catch (SQLException e) {
+                                throw I.quiet(e);
+                            }
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        @Override
+                        public Object[] next() {
+                            try {
+                                ready = false;
+                                Object[] row = new Object[columns.size()];
+                                for (int i = 0; i < row.length; i++) {
+                                    row[i] = result.getObject(i + 1);
+                                }
+                                return row;
+                            } catch (SQLException e) {
+                                throw I.quiet(e);
+                            }
+                        }
+                    });
+                }
+            }
+            return null;
+        });
+        modified();
+    }
+
+    /**
+     * Convert the value into the portable type.
+     * 
+     * @param value
+     * @param type
+     * @return
+     */
+    private static Object portable(Object value, Class type) {
+        if (value == null) {
+            return null;
+        } else if (type == Long.class) {
+            return ((Number) value).longValue();
+        } else if (type == Integer.class) {
+            return ((Number) value).intValue();
+        } else if (type == Double.class) {
+            return ((Number) value).doubleValue();
+        } else if (type == Boolean.class) {
+            return value instanceof Boolean bool ? bool : ((Number) value).intValue() != 0;
+        } else if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        } else {
+            return value.toString();
+        }
+    }
+
+    /**
+     * Collect the list properties by the column name.
+     * 
+     * @return The list properties.
+     */
+    private Map<String, Property> lists() {
+        Map<String, Property> lists = new TreeMap(String.CASE_INSENSITIVE_ORDER);
+        for (Property property : model.properties()) {
+            if (property.model.type == List.class) {
+                lists.put(dialect.normalizeColumnName(property.name), property);
+            }
+        }
+        return lists;
+    }
+
+    /**
+     * Read the list column as the portable JSON text.
+     * 
+     * @param result The current row.
+     * @param column The column name.
+     * @param list The list property.
+     * @return The JSON text.
+     */
+    private static String json(ResultSet result, String column, Property list) throws SQLException {
+        Object value = RDBCodec.by(list.model).decode(result, column);
+        if (value == null) {
+            return null;
+        }
+
+        StringBuilder buffer = new StringBuilder();
+        I.write(list.model, value, buffer);
+        return buffer.toString();
+    }
+
+    /**
+     * Encode the portable JSON text into the list value which {@link Dialect} binds in its native
+     * storage.
+     * 
+     * @param text The JSON text.
+     * @param column The column name.
+     * @param list The list property.
+     * @return The encoded value.
+     */
+    private static Object elements(Object text, String column, Property list) {
+        if (text == null || text.toString().isEmpty()) {
+            return null;
+        }
+
+        Map<String, Object> encoded = new HashMap();
+        RDBCodec.by(list.model).encode(encoded, column, I.json(text.toString()).as(list.model));
+        return encoded.get(column);
+    }
+
+    /**
+     * Insert the rows by the batched statement.
+     * 
+     * @param connection The connection to write.
+     * @param columns The column names in the row order.
+     * @param rows The rows.
+     */
+    private void insert(Connection connection, List<String> columns, Iterator<? extends Object[]> rows) throws SQLException {
+        Map<String, Property> lists = lists();
+        Property[] properties = new Property[columns.size()];
+        StringJoiner names = new StringJoiner(", ");
+        StringJoiner values = new StringJoiner(", ");
+        for (int i = 0; i < columns.size(); i++) {
+            properties[i] = lists.get(columns.get(i));
+            names.add(dialect.quote() + columns.get(i) + dialect.quote());
+            values.add("?");
+        }
+
+        String command = "INSERT INTO " + tableName + " (" + names + ") VALUES (" + values + ")";
+        try (PreparedStatement statement = connection.prepareStatement(command)) {
+            int batched = 0;
+            while (rows.hasNext()) {
+                Object[] row = rows.next();
+                for (int i = 0; i < columns.size(); i++) {
+                    Object value = i < row.length ? row[i] : null;
+                    dialect.bind(statement, i + 1, properties[i] == null ? value : elements(value, columns.get(i), properties[i]));
+                }
+                statement.addBatch();
+
+                if (++batched == 1000) {
+                    statement.executeBatch();
+                    batched = 0;
+                }
+            }
+            if (batched != 0) statement.executeBatch();
+        }
+    }
+
+    /**
+     * Read the single line without the read-ahead, so the rest of input is passed to the loader as
+     * it is.
+     * 
+     * @param input
+     * @return
+     */
+    private static String line(InputStream input) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int c;
+        while ((c = input.read()) != -1 && c != '\n') {
+            line.write(c);
+        }
+        return line.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Load all models by the native bulk loader.
+     * 
+     * @param models The target models.
+     * @param merge Merge or append.
+     */
+    private void load(Iterable<M> models, boolean merge) {
+        boolean loaded = write(connection -> {
+            // encode models in the actual column order of the table
+            Map<String, Class> types = new TreeMap(String.CASE_INSENSITIVE_ORDER);
+            for (Property property : model.properties()) {
+                for (Ⅱ<String, Class> column : RDBCodec.by(property.model).info(property.name)) {
+                    types.put(column.ⅰ, column.ⅱ);
+                }
+            }
+
+            List<Ⅱ<String, Class>> columns = new ArrayList();
+            try (Statement statement = connection.createStatement();
+                    ResultSet result = statement.executeQuery("SELECT * FROM " + tableName + " WHERE 1=0")) {
+                ResultSetMetaData meta = result.getMetaData();
+                for (int i = 1; i <= meta.getColumnCount(); i++) {
+                    String column = meta.getColumnName(i);
+                    columns.add(I.pair(column, types.getOrDefault(column, Void.class)));
+                }
+            }
+
+            Iterable<Object[]> rows = () -> StreamSupport.stream(models.spliterator(), false)
+                    .filter(Objects::nonNull)
+                    .map(instance -> encode(instance, columns))
+                    .iterator();
+
+            if (!merge) {
+                return dialect.append(connection, name, columns, rows);
+            } else if (dialect.upsert(connection, name, columns, rows)) {
+                return true;
+            } else {
+                // the staging table has the same column order as this table
+                String stage = name + "_stage_" + Long.toHexString(System.nanoTime());
+                String quoted = dialect.quote() + stage + dialect.quote();
+
+                execute(connection, dialect.commandCreateStage(quoted, tableName));
+                try {
+                    boolean appended = dialect.append(connection, stage, columns, rows);
+                    if (appended) {
+                        execute(connection, dialect.commandMerge(tableName, quoted, I.signal(columns).map(column -> column.ⅰ).toList()));
+                    }
+                    return appended;
+                } finally {
+                    execute(connection, "DROP TABLE IF EXISTS " + quoted);
+                }
+            }
+        });
+
+        if (loaded) {
+            modified();
+        } else {
+            updateAll(models);
+        }
+    }
+
+    /**
+     * Encode the model into the row.
+     * 
+     * @param instance The target model.
+     * @param columns The column order.
+     * @return The encoded row.
+     */
+    private Object[] encode(M instance, List<Ⅱ<String, Class>> columns) {
+        Map<String, Object> encoded = new TreeMap(String.CASE_INSENSITIVE_ORDER);
+        for (Property property : model.properties()) {
+            RDBCodec codec = RDBCodec.by(property.model);
+            codec.encode(encoded, property.name, model.get(instance, property));
+        }
+
+        Object[] row = new Object[columns.size()];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = encoded.get(columns.get(i).ⅰ);
+        }
+        return row;
+    }
+
+    /**
+     * Execute the writing operation. When the connection pool has the group commit writer, the
+     * operation runs on the writer connection and is committed together with the other callers'
+     * operations, so the single writer never competes with another connection.
+     * 
+     * @param operation The writing operation.
+     * @return The result of the operation.
+     */
+    <R> R write(WiseFunction<Connection, R> operation) {
+        try {
+            if (provider instanceof ConnectionPool pool && pool.writer != null) {
+                return pool.writer.submit(operation).join();
+            } else {
+                try (Connection connection = provider.get()) {
+                    return operation.apply(connection);
+                }
+            }
+        } catch (CompletionException e) {
+            throw I.quiet(e.getCause());
+        } catch (SQLException e) {
+            throw I.quiet(e);
+        }
+    }
+
+    /**
+     * Restore the auto-commit mode of the pinned connection and return it to the pool.
+     * 
+     * @param connection
+     */
+    private static void release(Connection connection) {
+        try {
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            I.error(e);
+        } finally {
+            ConnectionPool.unpin(connection);
+        }
+    }
+
+    /**
+     * Execute the statement on the specified connection.
+     * 
+     * @param connection
+     * @param command
+     */
+    private static void execute(Connection connection, String command) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(command);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The chunks are written on the pinned connections up to the size of the connection pool. The
+     * database which doesn't accept the concurrent writes (e.g. SQLite) writes them one by one on
+     * the single connection. In the atomic mode, the commit of each connection is not
+     * two-phase.
+     */
+    @Override
+    public void updateAllParallel(Iterable<M> models, int chunk, boolean atomic) {
+        if (chunk <= 0) {
+            throw new IllegalArgumentException("The chunk size must be positive, but " + chunk + ".");
+        }
+
+        ConcurrentLinkedQueue<List<M>> chunks = new ConcurrentLinkedQueue();
+        List<M> current = new ArrayList(chunk);
+        for (M item : models) {
+            current.add(item);
+            if (current.size() == chunk) {
+                chunks.add(current);
+                current = new ArrayList(chunk);
+            }
+        }
+        if (!current.isEmpty()) chunks.add(current);
+
+        if (!(provider instanceof ConnectionPool pool) || chunks.size() <= 1) {
+            // the single chunk or the connection in transaction is written sequentially
+            for (List<M> part : chunks) {
+                updateAll(part);
+            }
+            return;
+        }
+
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Throwable> errors = new CopyOnWriteArrayList();
+
+        if (pool.writer != null) {
+            // the single writer commits the chunks, the atomic chunks are rolled back together
+            List<CompletableFuture<Object>> writes = new ArrayList();
+            if (atomic) {
+                writes.add(pool.writer.submit(connection -> upsert(connection, chunks)));
+            } else {
+                for (List<M> part : chunks) {
+                    writes.add(pool.writer.submit(connection -> upsert(connection, List.of(part))));
+                }
+            }
+
+            for (CompletableFuture<Object> write : writes) {
+                try {
+                    write.join();
+                } catch (CompletionException e) {
+                    errors.add(e.getCause());
+                }
+            }
+            modified();
+            throwAll(errors);
+            return;
+        }
+
+        List<CompletableFuture<Connection>> workers = new ArrayList();
+        int parallelism = dialect.concurrentWrite() ? Math.min(chunks.size(), pool.size()) : 1;
+        for (int i = parallelism; 0 < i; i--) {
+            workers.add(async(dao -> {
+                Connection connection = pool.pin();
+                try {
+                    connection.setAutoCommit(false);
+                    RDB<M> pinned = new RDB<>(this, connection);
+
+                    List<M> next;
+                    while (!(atomic && failed.get()) && (next = chunks.poll()) != null) {
+                        try {
+                            dialect.commandUpsert(new SQL<>(pinned), next, model.properties()).execute();
+                            if (!atomic) connection.commit();
+                        } catch (Throwable e) {
+                            errors.add(e);
+                            failed.set(true);
+                            connection.rollback();
+                        }
+                    }
+                    return connection;
+                } catch (Throwable e) {
+                    try {
+                        connection.rollback();
+                    } catch (Throwable suppressed) {
+                        e.addSuppressed(suppressed);
+                    } finally {
+                        release(connection);
+                    }
+                    throw e;
+                }
+            }));
+        }
+
+        // finish all transactions together
+        List<Connection> connections = new ArrayList();
+        for (CompletableFuture<Connection> worker : workers) {
+            try {
+                connections.add(worker.join());
+            } catch (CompletionException e) {
+                errors.add(e.getCause());
+                failed.set(true);
+            }
+        }
+
+        for (Connection connection : connections) {
+            try {
+                if (atomic && failed.get()) {
+                    connection.rollback();
+                } else {
+                    connection.commit();
+                }
+            } catch (SQLException e) {
+                errors.add(e);
+                try {
+                    connection.rollback();
+                } catch (SQLException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            } finally {
+                release(connection);
+            }
+        }
+        modified();
+        throwAll(errors);
+    }
+
+    /**
+     * Write the chunks on the specified connection.
+     * 
+     * @param connection The connection to write.
+     * @param chunks The chunks of models.
+     * @return Nothing.
+     */
+    private Object upsert(Connection connection, Iterable<List<M>> chunks) {
+        RDB<M> pinned = new RDB<>(this, connection);
+        for (List<M> part : chunks) {
+            dialect.commandUpsert(new SQL<>(pinned), part, model.properties()).execute();
+        }
+        return null;
+    }
+
+    /**
+     * Throw the first error with the others suppressed.
+     * 
+     * @param errors The errors.
+     */
+    private static void throwAll(List<Throwable> errors) {
+        if (!errors.isEmpty()) {
+            Throwable error = errors.get(0);
+            for (int i = 1; i < errors.size(); i++) {
+                error.addSuppressed(errors.get(i));
+            }
+            throw I.quiet(error);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public synchronized <R> R transactWith(WiseFunction<RDB<M>, R> operation) {
+        try {
+            return transact(operation);
+        } finally {
+            // the writes on the transactional connection are visible from now
+            modified();
+        }
+    }
+
+    /**
+     * Execute the operation in the transaction.
+     * 
+     * @param operation A transactional operation.
+     * @return The result of the operation.
+     */
+    private <R> R transact(WiseFunction<RDB<M>, R> operation) {
+        if (provider instanceof ConnectionPool pool && pool.writer != null) {
+            // the writer rolls back the whole transaction to its savepoint on failure
+            return write(connection -> operation.apply(new RDB<>(this, connection)));
+        }
+
         try (Connection connection = provider.get()) {
             connection.setAutoCommit(false);
 
             try {
-                R result = operation.apply(new RDB<>(model, name, dialect, () -> connection));
+                R result = operation.apply(new RDB<>(this, connection));
                 connection.commit();
                 connection.setAutoCommit(true);
                 return result;
@@ -10,6 +10,7 @@
 package typewriter.rdb;
 
 import java.math.BigDecimal;
+import java.sql.Array;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Time;
@@ -162,6 +163,17 @@ public abstract class RDBCodec<T> implements Extensible {
 
     public abstract T decode(ResultSet result, String name) throws SQLException;
 
+    /**
+     * Express the first column in the unit of the bucket width. The temporal value is converted to
+     * the epoch milliseconds (the milliseconds of day for {@link LocalTime}).
+     * 
+     * @param column The first column name.
+     * @return The SQL expression.
+     */
+    protected String bucket(String column) {
+        return column;
+    }
+
     /**
      * List up all types with its name.
      * 
@@ -276,6 +288,15 @@ public abstract class RDBCodec<T> implements Extensible {
             long value = result.getLong(name);
             return result.wasNull() ? null : LocalDate.ofEpochDay(value);
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected String bucket(String column) {
+            // epoch day
+            return "(" + column + " * 86400000)";
+        }
     }
 
     /**
@@ -308,6 +329,15 @@ public abstract class RDBCodec<T> implements Extensible {
             long value = result.getLong(name);
             return result.wasNull() ? null : LocalTime.ofNanoOfDay(value);
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected String bucket(String column) {
+            // nano of day, the fraction of millisecond never crosses the bucket boundary
+            return "(" + column + " / 1000000)";
+        }
     }
 
     /**
@@ -432,10 +462,19 @@ public abstract class RDBCodec<T> implements Extensible {
         /** The specialized list model. */
         private final Model<List<T>> model;
 
+        /** The element type. */
+        private final Class<T> type;
+
+        /** The element model, null when it is unknown. */
+        private final Model<T> element;
+
         private ListCodec(Model<List<T>> model) {
             super(List.class);
 
+            Property item = model.property("0");
             this.model = model;
+            this.type = item == null ? (Class<T>) Object.class : item.model.type;
+            this.element = item == null ? null : item.model;
         }
 
         /**
@@ -443,9 +482,7 @@ public abstract class RDBCodec<T> implements Extensible {
          */
         @Override
         public void encode(Map<String, Object> result, String name, List<T> value) {
-            StringBuilder buffer = new StringBuilder();
-            I.write(model, value, buffer);
-            result.put(name, buffer.toString());
+            result.put(name, value == null ? null : new Elements(model, value));
         }
 
         /**
@@ -453,7 +490,109 @@ public abstract class RDBCodec<T> implements Extensible {
          */
         @Override
         public List<T> decode(ResultSet result, String name) throws SQLException {
-            return I.json(result.getString(name)).as(model);
+            Object value = result.getObject(name);
+            if (value == null) {
+                return null;
+            }
+
+            if (value instanceof Array array) {
+                try {
+                    return decode((Object[]) array.getArray());
+                } finally {
+                    array.free();
+                }
+            }
+
+            if (value instanceof Object[] items) {
+                return decode(items);
+            }
+            return I.json(value.toString()).as(model);
+        }
+
+        /**
+         * Decode the elements of the native array.
+         * 
+         * @param items
+         * @return
+         */
+        private List<T> decode(Object[] items) {
+            List<T> list = new ArrayList(items.length);
+            for (Object item : items) {
+                if (item == null || type.isInstance(item)) {
+                    list.add((T) item);
+                } else if (element == null || element.atomic) {
+                    list.add(I.transform(item, type));
+                } else {
+                    // the non-scalar element is stored as JSON text
+                    list.add(I.json(item.toString()).as(element));
+                }
+            }
+            return list;
+        }
+    }
+
+    /**
+     * The encoded {@link List} which each {@link Dialect} binds in its native storage (e.g. ARRAY,
+     * LIST or jsonb). The text representation is JSON for the dialect without the native storage.
+     */
+    public static final class Elements {
+
+        /** The list model. */
+        private final Model model;
+
+        /** The element values. */
+        private final List values;
+
+        /**
+         * @param model The list model.
+         * @param values The element values.
+         */
+        private Elements(Model model, List values) {
+            this.model = model;
+            this.values = values;
+        }
+
+        /**
+         * Get the element values.
+         * 
+         * @return The element values.
+         */
+        public List values() {
+            return values;
+        }
+
+        /**
+         * Get the element values as text for the SQL array. The non-scalar element is written as
+         * JSON text.
+         * 
+         * @return The element values.
+         */
+        public String[] texts() {
+            String[] texts = new String[values.size()];
+            for (int i = 0; i < texts.length; i++) {
+                Object value = values.get(i);
+                if (value != null) {
+                    Model element = Model.of(value.getClass());
+                    if (element.atomic) {
+                        texts[i] = I.transform(value, String.class);
+                    } else {
+                        StringBuilder buffer = new StringBuilder();
+                        I.write(element, value, buffer);
+                        texts[i] = buffer.toString();
+                    }
+                }
+            }
+            return texts;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            StringBuilder buffer = new StringBuilder();
+            I.write(model, values, buffer);
+            return buffer.toString();
         }
     }
 
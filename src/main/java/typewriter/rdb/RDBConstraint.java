@@ -37,6 +37,9 @@ abstract class RDBConstraint<V, Self> implements Constraint<V, Self> {
     /** The additional expression. */
     protected final List<String> expression = new ArrayList();
 
+    /** The relevance order of the full-text search. */
+    protected String rank;
+
     /**
      * Hide constructor.
      * 
@@ -170,8 +173,13 @@ abstract class RDBConstraint<V, Self> implements Constraint<V, Self> {
      * The specialized {@link Constraint} for {@link String}.
      */
     static class ForString extends RDBConstraint<String, StringConstraint> implements StringConstraint {
-        ForString(Specifier specifier, Dialect dialect) {
+
+        /** The unquoted table name. */
+        private final String tableName;
+
+        ForString(Specifier specifier, Dialect dialect, String tableName) {
             super(specifier, dialect);
+            this.tableName = tableName;
         }
 
         /**
@@ -219,11 +227,27 @@ abstract class RDBConstraint<V, Self> implements Constraint<V, Self> {
             return this;
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public StringConstraint matches(String text) {
+            if (Dialect.words(text).isEmpty()) {
+                expression.add("1=0");
+            } else {
+                expression.add(dialect.commandFullText(tableName, propertyName, text));
+                rank = dialect.commandFullTextOrder(tableName, propertyName, text);
+            }
+            return this;
+        }
+
         /**
          * {@inheritDoc}
          */
         @Override
         public StringConstraint regex(String regex) {
+            // the cheap literal conditions reject most rows before the regular expression
+            expression.addAll(RegexFilter.likes(propertyName, regex));
             expression.add(dialect.commandRegex(propertyName, regex));
             return this;
         }
@@ -452,8 +476,12 @@ abstract class RDBConstraint<V, Self> implements Constraint<V, Self> {
      */
     static class ForList<M> extends RDBConstraint<List<M>, ListConstraint<M>> implements ListConstraint<M> {
 
-        protected ForList(Specifier specifier, Dialect dialect) {
+        /** The unquoted table name. */
+        private final String tableName;
+
+        protected ForList(Specifier specifier, Dialect dialect, String tableName) {
             super(specifier, dialect);
+            this.tableName = tableName;
         }
 
         /**
@@ -461,7 +489,7 @@ abstract class RDBConstraint<V, Self> implements Constraint<V, Self> {
          */
         @Override
         public ListConstraint<M> contains(M value) {
-            expression.add(dialect.commnadListContains(propertyName, value));
+            expression.add(dialect.commnadListContains(tableName, propertyName, value));
             return this;
         }
 
@@ -62,6 +62,9 @@ class RDBQuery<M extends Identifiable> implements Queryable<M, RDBQuery<M>> {
 
     protected final Dialect dialect;
 
+    /** The unquoted table name. */
+    protected final String name;
+
     /** The limit size. */
     long limit;
 
@@ -71,11 +74,15 @@ class RDBQuery<M extends Identifiable> implements Queryable<M, RDBQuery<M>> {
     /** The sorting property. */
     List<Ⅱ<Specifier, Boolean>> sorts;
 
+    /** The selected property. */
+    List<Specifier> selections;
+
     /**
      * Hide constructor.
      */
-    RDBQuery(Dialect dialect) {
+    RDBQuery(Dialect dialect, String name) {
         this.dialect = dialect;
+        this.name = name;
     }
 
     /**
@@ -137,7 +144,7 @@ class RDBQuery<M extends Identifiable> implements Queryable<M, RDBQuery<M>> {
      */
     @Override
     public RDBQuery<M> findBy(StringSpecifier<M> specifier, UnaryOperator<StringConstraint> constraint) {
-        return findBy(constraint.apply(new ForString(specifier, dialect)));
+        return findBy(constraint.apply(new ForString(specifier, dialect, name)));
     }
 
     /**
@@ -193,7 +200,25 @@ class RDBQuery<M extends Identifiable> implements Queryable<M, RDBQuery<M>> {
      */
     @Override
     public <N> RDBQuery<M> findBy(ListSpecifier<M, N> specifier, UnaryOperator<ListConstraint<N>> constraint) {
-        return findBy(constraint.apply(dialect.createListConstraint(specifier)));
+        return findBy(constraint.apply(dialect.createListConstraint(specifier, name)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RDBQuery<M> select(Specifier<M, ?>... specifiers) {
+        if (specifiers != null) {
+            if (selections == null) {
+                selections = new ArrayList();
+            }
+            for (Specifier<M, ?> specifier : specifiers) {
+                if (specifier != null) {
+                    selections.add(specifier);
+                }
+            }
+        }
+        return this;
     }
 
     /**
@@ -0,0 +1,244 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.rdb;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Extract the literal text which every match of the regular expression must contain, and build the
+ * index-friendly LIKE conditions which are evaluated before the expensive regular expression. The
+ * analysis is conservative, it gives up on the alternation, the inline flag and the unknown escape
+ * sequence.
+ */
+final class RegexFilter {
+
+    /** The minimum length of the required substring which is worth filtering. */
+    private static final int MIN = 3;
+
+    /** The anchored literal prefix. */
+    private String prefix = "";
+
+    /** The required literal runs. */
+    private final List<String> runs = new ArrayList();
+
+    /** The current literal run. */
+    private final StringBuilder run = new StringBuilder();
+
+    /** The flag whether the current run is anchored at the start. */
+    private boolean anchored;
+
+    /**
+     * Hide constructor.
+     */
+    private RegexFilter() {
+    }
+
+    /**
+     * Build the LIKE conditions which are necessary for the regular expression.
+     * 
+     * @param propertyName The column name.
+     * @param regex The regular expression.
+     * @return The conditions, it may be empty.
+     */
+    static List<String> likes(String propertyName, String regex) {
+        List<String> likes = new ArrayList();
+
+        RegexFilter filter = new RegexFilter();
+        if (regex == null || !filter.analyze(regex)) {
+            return likes;
+        }
+
+        // the LIKE wildcards and escape character can't be a part of the literal
+        String prefix = filter.prefix.split("[%_\\\\]", -1)[0];
+        if (!prefix.isEmpty()) {
+            likes.add(propertyName + " LIKE '" + prefix.replace("'", "''") + "%'");
+        }
+
+        String longest = "";
+        for (String run : filter.runs) {
+            for (String piece : run.split("[%_\\\\]")) {
+                if (longest.length() < piece.length() && !prefix.contains(piece)) longest = piece;
+            }
+        }
+        if (MIN <= longest.length()) {
+            likes.add(propertyName + " LIKE '%" + longest.replace("'", "''") + "%'");
+        }
+        return likes;
+    }
+
+    /**
+     * Scan the regular expression.
+     * 
+     * @param regex The regular expression.
+     * @return false if the expression is not analyzable.
+     */
+    private boolean analyze(String regex) {
+        if (regex.contains("(?")) {
+            return false;
+        }
+
+        int i = 0;
+        int length = regex.length();
+        if (regex.startsWith("^")) {
+            anchored = true;
+            i++;
+        }
+
+        while (i < length) {
+            char c = regex.charAt(i);
+            int literal = -1;
+            int next = i + 1;
+
+            switch (c) {
+            case '\\':
+                if (length <= next) return false;
+                char escaped = regex.charAt(next++);
+                if (!Character.isLetterOrDigit(escaped)) {
+                    literal = escaped;
+                } else if ("dDwWsSbBAzZG".indexOf(escaped) == -1) {
+                    return false;
+                }
+                break;
+
+            case '[':
+                next = skipClass(regex, i);
+                if (next == -1) return false;
+                break;
+
+            case '(':
+                next = skipGroup(regex, i);
+                if (next == -1) return false;
+                break;
+
+            case '|':
+            case ')':
+            case ']':
+                return false;
+
+            case '.':
+            case '^':
+            case '$':
+            case '*':
+            case '+':
+            case '?':
+            case '{':
+                break;
+
+            default:
+                literal = c;
+                break;
+            }
+
+            // apply the quantifier to the last token
+            int min = 1;
+            if (next < length) {
+                char quantifier = regex.charAt(next);
+                if (quantifier == '*' || quantifier == '?') {
+                    min = 0;
+                    next++;
+                } else if (quantifier == '+') {
+                    min = 2;
+                    next++;
+                } else if (quantifier == '{') {
+                    int end = regex.indexOf('}', next);
+                    if (end == -1) return false;
+                    String[] range = regex.substring(next + 1, end).split(",", -1);
+                    if (range[0].isEmpty() || !range[0].chars().allMatch(Character::isDigit)) return false;
+                    min = Integer.parseInt(range[0]) == 0 ? 0 : 2;
+                    next = end + 1;
+                }
+
+                // lazy or possessive quantifier
+                if (min != 1 && next < length && (regex.charAt(next) == '?' || regex.charAt(next) == '+')) {
+                    next++;
+                }
+            }
+
+            if (literal == -1 || min == 0) {
+                close();
+            } else {
+                run.append((char) literal);
+                if (min == 2) close();
+            }
+            i = next;
+        }
+        close();
+
+        return true;
+    }
+
+    /**
+     * Complete the current literal run.
+     */
+    private void close() {
+        if (anchored) {
+            prefix = run.toString();
+            anchored = false;
+        }
+
+        if (!run.isEmpty()) {
+            runs.add(run.toString());
+            run.setLength(0);
+        }
+    }
+
+    /**
+     * Find the end of the character class.
+     * 
+     * @param regex The regular expression.
+     * @param start The position of '['.
+     * @return The next position of ']' or -1.
+     */
+    private static int skipClass(String regex, int start) {
+        int i = start + 1;
+        if (i < regex.length() && regex.charAt(i) == '^') i++;
+        if (i < regex.length() && regex.charAt(i) == ']') i++;
+
+        int depth = 1;
+        for (; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                depth++;
+            } else if (c == ']' && --depth == 0) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Find the end of the group.
+     * 
+     * @param regex The regular expression.
+     * @param start The position of '('.
+     * @return The next position of ')' or -1.
+     */
+    private static int skipGroup(String regex, int start) {
+        int depth = 0;
+        for (int i = start; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                i = skipClass(regex, i);
+                if (i == -1) return -1;
+                i--;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+}
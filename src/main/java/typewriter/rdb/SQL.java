@@ -16,6 +16,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -23,21 +24,27 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Flow;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import kiss.Disposable;
 import kiss.I;
 import kiss.Model;
+import kiss.Observer;
 import kiss.Property;
 import kiss.Signal;
+import kiss.WiseConsumer;
 import kiss.WiseFunction;
 import kiss.Ⅱ;
 import typewriter.api.Identifiable;
 import typewriter.api.Specifier;
 import typewriter.query.AVGOption;
+import typewriter.query.Cursor;
+import typewriter.query.SingleFlight;
 
 /**
  * SQL writer.
@@ -47,6 +54,9 @@ public class SQL<M extends Identifiable> {
     /** The threshold of slow query. */
     private static final int slow = I.env("typewriter.query.slow", 1000);
 
+    /** The number of rows which are transferred at once while streaming. */
+    private static final int fetch = I.env("typewriter.query.fetch", 256);
+
     /** The target table name. */
     public final String tableName;
 
@@ -62,6 +72,9 @@ public class SQL<M extends Identifiable> {
     /** The variable list. */
     private final List variables = new ArrayList();
 
+    /** The decode target which the query fills in, null means the new instances. */
+    private Target target;
+
     /**
      * Hide constructor.
      */
@@ -110,17 +123,10 @@ public class SQL<M extends Identifiable> {
      * @param query
      */
     public SQL<M> write(RDBQuery<M> query) {
-        int count = 0;
-        for (RDBConstraint<?, ?> constraint : query.constraints) {
-            for (String e : constraint.expression) {
-                text.append(count++ == 0 ? " WHERE " : " AND ").append(e);
-            }
-        }
-
-        rdb.dialect.commandLimitAndOffset(this, query.limit, query.offset);
+        where(query);
 
+        int count = 0;
         if (query.sorts != null) {
-            count = 0;
             for (Ⅱ<Specifier, Boolean> sort : query.sorts) {
                 Property property = rdb.model.property(sort.ⅰ.propertyName(rdb.dialect));
                 RDBCodec<?> codec = RDBCodec.by(property.model);
@@ -128,7 +134,16 @@ public class SQL<M extends Identifiable> {
                     text.append(count++ == 0 ? " ORDER BY " : ",").append(property.name.concat(name)).append(sort.ⅱ ? " ASC" : " DESC");
                 }
             }
+        } else {
+            // order by relevance of the full-text search
+            for (RDBConstraint<?, ?> constraint : query.constraints) {
+                if (constraint.rank != null) {
+                    text.append(count++ == 0 ? " ORDER BY " : ",").append(constraint.rank);
+                }
+            }
         }
+
+        rdb.dialect.commandLimitAndOffset(this, query.limit, query.offset);
         return this;
     }
 
@@ -352,6 +367,18 @@ public class SQL<M extends Identifiable> {
         return this;
     }
 
+    /**
+     * Write ORDER BY statement.
+     * 
+     * @param order
+     * @return
+     */
+    public SQL<M> orderBy(String order) {
+        text.append(" ORDER BY ").append(order);
+
+        return this;
+    }
+
     public SQL<M> groupBy(String group) {
         text.append(" GROUP BY ").append(group);
 
@@ -479,82 +506,371 @@ public class SQL<M extends Identifiable> {
         return this;
     }
 
+    /**
+     * Write WHERE statement by the constraints of {@link RDBQuery}. The limit, offset and sort
+     * are ignored.
+     * 
+     * @param query A query condition, null is acceptable.
+     */
+    public SQL<M> where(RDBQuery<M> query) {
+        if (query != null) {
+            int count = 0;
+            for (RDBConstraint<?, ?> constraint : query.constraints) {
+                for (String e : constraint.expression) {
+                    text.append(count++ == 0 ? " WHERE " : " AND ").append(e);
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Declare the decode target which the query fills in. The queries into the different targets
+     * never share the execution.
+     * 
+     * @param target The decode target.
+     * @return
+     */
+    public SQL<M> into(Object target) {
+        this.target = target == null ? null : new Target(target);
+        return this;
+    }
+
     /**
      * Execute query.
      */
     public void execute() {
+        long start = System.currentTimeMillis();
+
+        try {
+            rdb.write(connection -> {
+                execute(connection);
+                return null;
+            });
+        } finally {
+            rdb.modified();
+            log(rdb.lastModified - start);
+        }
+    }
+
+    /**
+     * Execute statement on the specified connection.
+     * 
+     * @param connection
+     */
+    private void execute(Connection connection) throws SQLException {
+        int index = 1;
+        try (PreparedStatement prepared = connection.prepareStatement(text.toString())) {
+            for (Object variable : variables) {
+                rdb.dialect.bind(prepared, index++, variable);
+            }
+            prepared.execute();
+        }
+    }
+
+    /**
+     * Execute query. On the long-lived connection, the rows are fetched in chunks and the disposal
+     * by the downstream (e.g. first or take) stops the transfer of the remaining rows. Note that
+     * PostgreSQL streams only inside the transaction (see {@link RDB#transactWith}), its driver
+     * ignores the fetch size and reads the whole result in the auto-commit mode.
+     */
+    public <R> Signal<R> query(WiseFunction<ResultSet, R> process) {
+        if (text.isEmpty()) {
+            return I.signal();
+        }
+
+        SingleFlight flights = rdb.singleFlight();
+        if (flights.isEnabled()) {
+            // the identical statement with the identical parameters into the identical target
+            // shares the decoded rows
+            List fingerprint = Arrays.asList(text.toString(), new ArrayList(variables), target);
+
+            return new Signal<R>((observer, disposer) -> {
+                try {
+                    boolean[] executed = new boolean[1];
+                    List<R> items = flights.execute(fingerprint, () -> {
+                        executed[0] = true;
+                        return record(process, observer, disposer);
+                    });
+
+                    if (!executed[0]) {
+                        if (items == null) {
+                            // the shared execution was disposed halfway, execute independently
+                            return stream(process, observer, disposer);
+                        }
+
+                        for (R item : items) {
+                            if (!disposer.isDisposed()) {
+                                observer.accept(item);
+                            }
+                        }
+                    }
+                    observer.complete();
+                } catch (Throwable e) {
+                    observer.error(e);
+                }
+                return disposer;
+            });
+        }
+        return new Signal<R>((observer, disposer) -> stream(process, observer, disposer));
+    }
+
+    /**
+     * Stream the rows to the observer while recording them for the followers of the single flight.
+     * 
+     * @param process The row decoder.
+     * @param observer The leader's observer.
+     * @param disposer The leader's disposer.
+     * @return The recorded rows or null when the leader disposes halfway.
+     */
+    private <R> List<R> record(WiseFunction<ResultSet, R> process, Observer<? super R> observer, Disposable disposer) throws Throwable {
+        List<R> items = new ArrayList();
+        Throwable[] error = new Throwable[1];
+
+        stream(process, new Observer<R>() {
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void accept(R item) {
+                items.add(item);
+                observer.accept(item);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void error(Throwable e) {
+                error[0] = e;
+            }
+        }, disposer);
+
+        if (error[0] != null) {
+            throw error[0];
+        }
+        return disposer.isDisposed() ? null : items;
+    }
+
+    /**
+     * Execute query on demand. The rows are fetched only as many as the subscriber requests and the
+     * connection returns to the pool as soon as the subscriber cancels.
+     */
+    public <R> Flow.Publisher<R> publish(WiseFunction<ResultSet, R> process) {
+        return new Cursor<>(initial -> {
+            long start = System.currentTimeMillis();
+            Connection connection = rdb.provider.get();
+            PreparedStatement opened = null;
+            boolean autoCommit = false;
+
+            try {
+                // some drivers (e.g. PostgreSQL) ignore the fetch size in auto-commit mode and
+                // read the whole result at once, so keep the cursor in its own transaction
+                autoCommit = connection.getAutoCommit();
+                if (autoCommit) connection.setAutoCommit(false);
+
+                PreparedStatement prepared = opened = connection.prepareStatement(text.toString());
+                int index = 1;
+                for (Object variable : variables) {
+                    rdb.dialect.bind(prepared, index++, variable);
+                }
+                prepared.setFetchSize(Cursor.size(initial));
+                ResultSet result = prepared.executeQuery();
+                boolean restore = autoCommit;
+
+                return new Cursor.Source<R>() {
+
+                    /** The row is read but not consumed yet. */
+                    private boolean ready;
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    @Override
+                    public boolean hasNext() throws Exception {
+                        if (!ready) ready = result.next();
+                        return ready;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    @Override
+                    public R next() throws Exception {
+                        ready = false;
+                        return process.apply(result);
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    @Override
+                    public void demand(long demand) throws Exception {
+                        try {
+                            result.setFetchSize(Cursor.size(demand));
+                        } catch (SQLException e) {
+                            // the driver decides the fetch size by itself
+                        }
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    @Override
+                    public void close() throws Exception {
+                        try (connection; prepared; result) {
+                            // the read only transaction ends here, then return the connection to the pool
+                            if (restore) connection.setAutoCommit(true);
+                        } finally {
+                            long end = rdb.lastAccessed = System.currentTimeMillis();
+                            log(end - start);
+                        }
+                    }
+                };
+            } catch (Throwable e) {
+                try (connection; opened) {
+                    if (autoCommit) connection.setAutoCommit(true);
+                } catch (Throwable suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw new SQLException(text.toString(), e);
+            }
+        });
+    }
+
+    /**
+     * Execute query actually.
+     * 
+     * @param process The row decoder.
+     * @param observer The receiver of rows.
+     * @param disposer The disposal of the receiver.
+     * @return The disposer.
+     */
+    private <R> Disposable stream(WiseFunction<ResultSet, R> process, Observer<? super R> observer, Disposable disposer) {
+        List<R> items = new ArrayList(4);
+
         long start = System.currentTimeMillis();
         int index = 1;
 
         try (Connection connection = rdb.provider.get()) {
             try (PreparedStatement prepared = connection.prepareStatement(text.toString())) {
                 for (Object variable : variables) {
-                    prepared.setObject(index++, variable);
+                    rdb.dialect.bind(prepared, index++, variable);
+                }
+
+                // While streaming, the rows are fetched in chunks so that the disposal by the
+                // downstream (e.g. first or take) stops the transfer of the remaining rows.
+                // PostgreSQL honors the fetch size only when the auto-commit is disabled.
+                boolean streaming = connection.getHoldability() == 0;
+                boolean autoCommit = streaming && connection.getAutoCommit();
+                if (streaming) prepared.setFetchSize(fetch);
+                if (autoCommit) connection.setAutoCommit(false);
+
+                try (ResultSet result = prepared.executeQuery()) {
+                    if (streaming) {
+                        while (!disposer.isDisposed() && result.next()) {
+                            observer.accept(process.apply(result));
+                        }
+                        observer.complete();
+                        return disposer;
+                    } else {
+                        while (!disposer.isDisposed() && result.next()) {
+                            items.add(process.apply(result));
+                        }
+                    }
+                } finally {
+                    // the read only transaction ends here
+                    if (autoCommit) connection.setAutoCommit(true);
                 }
-                prepared.execute();
             }
-        } catch (SQLException e) {
-            throw I.quiet(e);
+        } catch (Throwable e) {
+            observer.error(new SQLException(text.toString(), e));
+            return disposer;
         } finally {
-            rdb.stamp++;
-            long end = rdb.lastModified = System.currentTimeMillis();
+            long end = rdb.lastAccessed = System.currentTimeMillis();
             log(end - start);
         }
+
+        try {
+            for (R item : items) {
+                if (!disposer.isDisposed()) {
+                    observer.accept(item);
+                }
+            }
+            observer.complete();
+        } catch (Throwable e) {
+            observer.error(e);
+        }
+        return disposer;
     }
 
     /**
-     * Execute query.
+     * Execute query and process each row in place. No object is created per row unless the
+     * process creates it.
      */
-    public <R> Signal<R> query(WiseFunction<ResultSet, R> process) {
+    public void each(WiseConsumer<ResultSet> process) {
         if (text.isEmpty()) {
-            return I.signal();
+            return;
         }
 
-        return new Signal<R>((observer, disposer) -> {
-            List<R> items = new ArrayList(4);
+        long start = System.currentTimeMillis();
+        int index = 1;
+
+        try (Connection connection = rdb.provider.get()) {
+            try (PreparedStatement prepared = connection.prepareStatement(text.toString())) {
+                for (Object variable : variables) {
+                    rdb.dialect.bind(prepared, index++, variable);
+                }
+                // PostgreSQL honors the fetch size only when the auto-commit is disabled
+                boolean streaming = connection.getHoldability() == 0;
+                boolean autoCommit = streaming && connection.getAutoCommit();
+                if (streaming) prepared.setFetchSize(fetch);
+                if (autoCommit) connection.setAutoCommit(false);
+
+                try (ResultSet result = prepared.executeQuery()) {
+                    while (result.next()) {
+                        process.accept(result);
+                    }
+                } finally {
+                    // the read only transaction ends here
+                    if (autoCommit) connection.setAutoCommit(true);
+                }
+            }
+        } catch (Throwable e) {
+            throw I.quiet(new SQLException(text.toString(), e));
+        } finally {
+            long end = rdb.lastAccessed = System.currentTimeMillis();
+            log(end - start);
+        }
+    }
 
+    /**
+     * Execute query and pass the raw result to the observer. The result is valid only while the
+     * observer processes it.
+     */
+    public Signal<ResultSet> result() {
+        return new Signal<>((observer, disposer) -> {
             long start = System.currentTimeMillis();
             int index = 1;
 
             try (Connection connection = rdb.provider.get()) {
                 try (PreparedStatement prepared = connection.prepareStatement(text.toString())) {
                     for (Object variable : variables) {
-                        prepared.setObject(index++, variable);
+                        rdb.dialect.bind(prepared, index++, variable);
                     }
 
                     try (ResultSet result = prepared.executeQuery()) {
-                        if (connection.getHoldability() == 0) {
-                            while (!disposer.isDisposed() && result.next()) {
-                                observer.accept(process.apply(result));
-                            }
-                            observer.complete();
-                            return disposer;
-                        } else {
-                            while (!disposer.isDisposed() && result.next()) {
-                                items.add(process.apply(result));
-                            }
-                        }
-
+                        if (!disposer.isDisposed()) observer.accept(result);
                     }
                 }
+                observer.complete();
             } catch (Throwable e) {
                 observer.error(new SQLException(text.toString(), e));
-                return disposer;
             } finally {
                 long end = rdb.lastAccessed = System.currentTimeMillis();
                 log(end - start);
             }
-
-            try {
-                for (R item : items) {
-                    if (!disposer.isDisposed()) {
-                        observer.accept(item);
-                    }
-                }
-                observer.complete();
-            } catch (Throwable e) {
-                observer.error(e);
-            }
             return disposer;
         });
     }
@@ -716,4 +1032,26 @@ public class SQL<M extends Identifiable> {
             throw new Error();
         }
     }
+
+    /**
+     * The identity of the decode target.
+     */
+    private record Target(Object value) {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Target target && target.value == value;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(value);
+        }
+    }
 }
\ No newline at end of file
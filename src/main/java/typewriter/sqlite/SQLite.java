@@ -13,17 +13,23 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Properties;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.StringJoiner;
 import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
 import org.sqlite.Function;
 import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteConfig.JournalMode;
+import org.sqlite.SQLiteConfig.SynchronousMode;
 
 import kiss.I;
 import typewriter.rdb.Dialect;
@@ -31,8 +37,20 @@ import typewriter.rdb.SQL;
 
 public class SQLite extends Dialect {
 
-    /** The compiled regular expression manager. */
-    private static final Map<String, Pattern> REGEX = new ConcurrentHashMap();
+    /** The recently used regular expressions, bounded by LRU. */
+    private static final Map<String, Pattern> REGEX = Collections.synchronizedMap(new LinkedHashMap<String, Pattern>(16, 0.75f, true) {
+
+        /** The maximum number of the cached patterns. */
+        private final int max = I.env("typewriter.sqlite.regex.cache", 256);
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected boolean removeEldestEntry(Entry<String, Pattern> eldest) {
+            return max < size();
+        }
+    });
 
     /** The JAVA-SQL type mapping. */
     private static final Map<Class, String> TYPES = new HashMap();
@@ -40,7 +58,8 @@ public class SQLite extends Dialect {
     static {
         // Since the SQLite developers seem to think that threads are evil, you would be better off
         // having one thread handle all your database operations and serialize DB tasks on your own
-        // using Java code.
+        // using Java code. WAL mode, which allows the concurrent readers, is configured for each
+        // database.
         I.env("typewriter.connection.max.sqlite", 1);
         I.env("typewriter.connection.longevity.sqlite", false);
 
@@ -86,12 +105,43 @@ public class SQLite extends Dialect {
         return TYPES.get(type);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * In WAL mode, the readers run concurrently on the pooled connections and all writes are
+     * committed in group by the dedicated single writer.
+     */
+    @Override
+    protected void configure(String url) {
+        if (wal(url)) {
+            I.env("typewriter.connection.max." + url, I.env("typewriter.sqlite.readers", 4));
+            I.env("typewriter.connection.groupCommit." + url, true);
+        }
+    }
+
+    /**
+     * Check whether the database runs in WAL mode. It is enabled by "typewriter.sqlite.wal" for all
+     * databases or "typewriter.sqlite.wal.{url}" for each database.
+     * 
+     * @param url The database address.
+     * @return The result.
+     */
+    private static boolean wal(String url) {
+        return I.env("typewriter.sqlite.wal." + url, I.env("typewriter.sqlite.wal", false));
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public synchronized Connection createConnection(String url, Properties properties) throws Exception {
-        Connection connection = super.createConnection(url, Lazy.CONFIG.toProperties());
+        SQLiteConfig config = new SQLiteConfig(Lazy.CONFIG.toProperties());
+        if (wal(url)) {
+            config.setJournalMode(JournalMode.WAL);
+            config.setSynchronous(SynchronousMode.NORMAL);
+            config.setBusyTimeout(I.env("typewriter.connection.timeout", 5000));
+        }
+        Connection connection = super.createConnection(url, config.toProperties());
 
         // register extra functions
         Function.create(connection, "REGEXP", Lazy.REGEXP_FUNCTION);
@@ -99,6 +149,17 @@ public class SQLite extends Dialect {
         return connection;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * SQLite locks the whole database on write, so the concurrent writers only wait for each other
+     * or fail by SQLITE_BUSY even in WAL mode.
+     */
+    @Override
+    public boolean concurrentWrite() {
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -111,6 +172,41 @@ public class SQLite extends Dialect {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String commandBucket(String value, long width, boolean integral) {
+        if (integral) {
+            return super.commandBucket(value, width, integral);
+        } else {
+            // floor() is not always available and the modulo truncates the real value
+            String quotient = "(" + value + " / " + width + ".0)";
+            return "((CAST(" + quotient + " AS INTEGER) - (" + quotient + " < CAST(" + quotient + " AS INTEGER))) * " + width + ")";
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String commandEstimatedCount(String name) {
+        // the leading number of the stat column is the row count which is collected by ANALYZE, the
+        // row of the partial index counts only the indexed rows
+        return "SELECT max(CAST(stat AS INTEGER)) FROM sqlite_stat1 WHERE tbl = '" + name + "'";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String commandStatistics(String name) {
+        // the second number of the stat column is the average rows per distinct value of the first
+        // indexed column
+        return "SELECT i.name, NULL, CAST(s.stat AS INTEGER) / CAST(substr(s.stat, instr(s.stat, ' ') + 1) AS INTEGER)" //
+                + " FROM sqlite_stat1 s, pragma_index_info(s.idx) i WHERE s.tbl = '" + name + "' AND i.seqno = 0";
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -123,8 +219,96 @@ public class SQLite extends Dialect {
      * {@inheritDoc}
      */
     @Override
-    public String commnadListContains(String propertyName, Object value) {
-        return "(SELECT key FROM json_each(alias) WHERE json_each.value = '" + value + "') IS NOT NULL ";
+    public String commnadListContains(String tableName, String propertyName, Object value) {
+        // json_each reads JSON boolean as integer, the side table stores it as '1' or '0'
+        String text = value instanceof Boolean bool ? bool ? "1" : "0" : I.transform(value, String.class);
+        return commandListSemiJoin(tableName, propertyName, "'" + text.replace("'", "''") + "'");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void createListIndex(Connection connection, String tableName, String column) throws SQLException {
+        String list = listTableName(tableName, column);
+        if (exists(connection, list)) {
+            return;
+        }
+
+        String table = "\"" + tableName + "\"";
+        String index = "\"" + list + "\"";
+        String insert = "INSERT INTO " + index + " (id, value) SELECT NEW.id, value FROM json_each(NEW." + column + ");";
+        String delete = "DELETE FROM " + index + " WHERE id = OLD.id;";
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + index + " (id INTEGER NOT NULL, value TEXT)");
+            statement.execute("CREATE INDEX IF NOT EXISTS \"" + list + "__value\" ON " + index + " (value, id)");
+            statement.execute("CREATE INDEX IF NOT EXISTS \"" + list + "__id\" ON " + index + " (id)");
+            statement.execute("CREATE TRIGGER IF NOT EXISTS \"" + list + "__insert\" AFTER INSERT ON " + table + " BEGIN " + insert + " END");
+            statement.execute("CREATE TRIGGER IF NOT EXISTS \"" + list + "__update\" AFTER UPDATE OF " + column + " ON " + table + " WHEN NEW." + column + " IS NOT OLD." + column + " BEGIN " + delete + insert + " END");
+            statement.execute("CREATE TRIGGER IF NOT EXISTS \"" + list + "__delete\" AFTER DELETE ON " + table + " BEGIN " + delete + " END");
+            statement.execute("INSERT INTO " + index + " (id, value) SELECT t.id, j.value FROM " + table + " t, json_each(t." + column + ") j");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void createFullTextIndex(Connection connection, String tableName, List<String> columns) throws SQLException {
+        for (String column : columns) {
+            String fts = fullTextName(tableName, column);
+            if (exists(connection, fts)) {
+                continue;
+            }
+
+            // the external content table refers the rows of the owner table by rowid (=id)
+            String table = "\"" + tableName + "\"";
+            String index = "\"" + fts + "\"";
+            String insert = "INSERT INTO " + index + " (rowid, " + column + ") VALUES (NEW.id, NEW." + column + ");";
+            String delete = "INSERT INTO " + index + " (" + index + ", rowid, " + column + ") VALUES ('delete', OLD.id, OLD." + column + ");";
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE VIRTUAL TABLE IF NOT EXISTS " + index + " USING fts5(" + column + ", content='" + tableName + "', content_rowid='id')");
+                statement.execute("CREATE TRIGGER IF NOT EXISTS \"" + fts + "__insert\" AFTER INSERT ON " + table + " BEGIN " + insert + " END");
+                statement.execute("CREATE TRIGGER IF NOT EXISTS \"" + fts + "__update\" AFTER UPDATE OF " + column + " ON " + table + " BEGIN " + delete + insert + " END");
+                statement.execute("CREATE TRIGGER IF NOT EXISTS \"" + fts + "__delete\" AFTER DELETE ON " + table + " BEGIN " + delete + " END");
+                statement.execute("INSERT INTO " + index + " (" + index + ") VALUES ('rebuild')");
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String commandFullText(String tableName, String propertyName, String text) {
+        String index = "\"" + fullTextName(tableName, propertyName) + "\"";
+        return "id IN (SELECT rowid FROM " + index + " WHERE " + index + " MATCH " + query(text) + ")";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String commandFullTextOrder(String tableName, String propertyName, String text) {
+        String index = "\"" + fullTextName(tableName, propertyName) + "\"";
+        return "(SELECT rank FROM " + index + " WHERE " + index + " MATCH " + query(text) + " AND rowid = \"" + tableName + "\".id) ASC";
+    }
+
+    /**
+     * Build the FTS5 query literal which requires all words as the phrase to ignore the query
+     * syntax in the user input.
+     * 
+     * @param text The search words.
+     * @return
+     */
+    private String query(String text) {
+        StringJoiner joiner = new StringJoiner(" ", "'", "'");
+        for (String word : words(text)) {
+            joiner.add('"' + word.replace("\"", "\"\"").replace("'", "''") + '"');
+        }
+        return joiner.toString();
     }
 
     /**
@@ -146,10 +330,18 @@ public class SQLite extends Dialect {
 
         /** Support REGEXP function. */
         private static final Function REGEXP_FUNCTION = new Function() {
+
+            /** The last used pattern to skip the synchronized cache on the same query. */
+            private volatile Pattern last;
+
             @Override
             protected void xFunc() throws SQLException {
                 String value = Objects.requireNonNullElse(value_text(1), "");
-                Pattern pattern = REGEX.computeIfAbsent(value_text(0), Pattern::compile);
+                String regex = value_text(0);
+                Pattern pattern = last;
+                if (pattern == null || !pattern.pattern().equals(regex)) {
+                    last = pattern = REGEX.computeIfAbsent(regex, Pattern::compile);
+                }
 
                 result(pattern.matcher(value).find() ? 1 : 0);
             }
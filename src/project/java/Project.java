@@ -31,9 +31,13 @@ public class Project extends bee.api.Project {
         require("org.xerial", "sqlite-jdbc").atProvided();
         require("com.h2database", "h2").atProvided();
         require("org.duckdb", "duckdb_jdbc").atProvided();
+        require("org.apache.arrow", "arrow-vector").atProvided();
+        require("org.apache.arrow", "arrow-c-data").atProvided();
+        require("org.apache.arrow", "arrow-memory-unsafe").atTest();
         require("org.mariadb.jdbc", "mariadb-java-client").atProvided();
         require("ch.vorburger.mariaDB4j", "mariaDB4j").atProvided();
         require("de.softwareforge.testing", "pg-embedded").atProvided();
+        require("org.postgresql", "postgresql").atProvided();
         require("com.surrealdb", "surrealdb-driver").atProvided();
         require("com.github.teletha", "antibug").atTest();
         require("de.bwaldvogel", "mongo-java-server").atTest();
@@ -9,13 +9,18 @@
  */
 package typewriter.api;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
 import kiss.Signal;
 import kiss.Variable;
 import typewriter.api.model.DerivableModel;
+import typewriter.query.Aggregated;
 import typewriter.rdb.RDB;
 
 public interface AccumulableTestSet extends Testable {
@@ -188,6 +193,258 @@ public interface AccumulableTestSet extends Testable {
         assert calculated == 60;
     }
 
+    @Test
+    default void countWhere() {
+        Person model1 = new Person("A", 10);
+        Person model2 = new Person("B", 20);
+        Person model3 = new Person("C", 30);
+
+        QueryExecutor<Person, Signal<Person>, ?, ?> dao = createEmptyDB(Person.class);
+        dao.updateAll(model1, model2, model3);
+
+        assert dao.where(q -> q.findBy(Person::getAge, v -> v.isMoreThan(15))).count() == 2;
+        assert dao.where(q -> q.findBy(Person::getAge, v -> v.isMoreThan(50))).count() == 0;
+    }
+
+    @Test
+    default void aggregateWhere() {
+        Person model1 = new Person("A", 10);
+        Person model2 = new Person("B", 20);
+        Person model3 = new Person("C", 30);
+        Person model4 = new Person("C", 40);
+
+        QueryExecutor<Person, Signal<Person>, ?, ?> dao = createEmptyDB(Person.class);
+        dao.updateAll(model1, model2, model3, model4);
+
+        Accumulable<Person> accumulable = dao.where(q -> q.findBy(Person::getName, v -> v.is("C")));
+        assert accumulable.min(Person::getAge).is(30);
+        assert accumulable.max(Person::getAge).is(40);
+        assert accumulable.avg(Person::getAge).to().exact() == 35d;
+        assert accumulable.sum(Person::getAge) == 70;
+        assert accumulable.distinct(Person::getName).toList().equals(List.of("C"));
+
+        // narrow down more
+        accumulable = accumulable.where(q -> q.findBy(Person::getAge, v -> v.isLessThan(35)));
+        assert accumulable.count() == 1;
+        assert accumulable.sum(Person::getAge) == 30;
+    }
+
+    @Test
+    default void groupBy() {
+        Person model1 = new Person("A", 10);
+        Person model2 = new Person("B", 20);
+        Person model3 = new Person("B", 30);
+        Person model4 = new Person("C", 40);
+        Person model5 = new Person("C", 50);
+        Person model6 = new Person("C", 60);
+
+        QueryExecutor<Person, Signal<Person>, ?, ?> dao = createEmptyDB(Person.class);
+        dao.updateAll(model1, model2, model3, model4, model5, model6);
+
+        assert dao.groupBy(Person::getName).count().equals(Map.of("A", 1L, "B", 2L, "C", 3L));
+        assert dao.groupBy(Person::getName).min(Person::getAge).equals(Map.of("A", 10, "B", 20, "C", 40));
+        assert dao.groupBy(Person::getName).max(Person::getAge).equals(Map.of("A", 10, "B", 30, "C", 60));
+        assert dao.groupBy(Person::getName).sum(Person::getAge).equals(Map.of("A", 10, "B", 50, "C", 150));
+        assert dao.groupBy(Person::getName).avg(Person::getAge).equals(Map.of("A", 10d, "B", 25d, "C", 50d));
+
+        // ordered by key
+        assert List.copyOf(dao.groupBy(Person::getName).count().keySet()).equals(List.of("A", "B", "C"));
+    }
+
+    @Test
+    default void groupByWhere() {
+        Person model1 = new Person("A", 10);
+        Person model2 = new Person("B", 20);
+        Person model3 = new Person("B", 30);
+        Person model4 = new Person("C", 40);
+
+        QueryExecutor<Person, Signal<Person>, ?, ?> dao = createEmptyDB(Person.class);
+        dao.updateAll(model1, model2, model3, model4);
+
+        Map<String, Integer> calculated = dao.where(q -> q.findBy(Person::getAge, v -> v.isOrMoreThan(20)))
+                .groupBy(Person::getName)
+                .sum(Person::getAge);
+        assert calculated.equals(Map.of("B", 50, "C", 40));
+    }
+
+    @Test
+    default void groupByMultiple() {
+        Person model1 = new Person("A", 10);
+        Person model2 = new Person("A", 10);
+        Person model3 = new Person("A", 20);
+        Person model4 = new Person("B", 20);
+
+        QueryExecutor<Person, Signal<Person>, ?, ?> dao = createEmptyDB(Person.class);
+        dao.updateAll(model1, model2, model3, model4);
+
+        Map<List, Long> calculated = dao.groupBy(Person::getName, Person::getAge).count();
+        assert calculated.equals(Map.of(List.of("A", 10), 2L, List.of("A", 20), 1L, List.of("B", 20), 1L));
+    }
+
+    @Test
+    default void estimatedCount() {
+        Person model1 = new Person("A", 10);
+        Person model2 = new Person("B", 20);
+        Person model3 = new Person("C", 30);
+
+        QueryExecutor<Person, Signal<Person>, ?, ?> dao = createEmptyDB(Person.class);
+        dao.updateAll(model1, model2, model3);
+
+        // the catalog of the small and fresh table is exact or missing (then count exactly)
+        assert dao.estimatedCount() == 3;
+
+        // the narrowed aggregation counts exactly
+        assert dao.where(q -> q.findBy(Person::getAge, v -> v.isOrMoreThan(20))).estimatedCount() == 2;
+    }
+
+    @Test
+    default void statistics() {
+        Person model1 = new Person("A", 10);
+        Person model2 = new Person(null, 20);
+        Person model3 = new Person("B", 30);
+        Person model4 = new Person("B", 40);
+
+        QueryExecutor<Person, Signal<Person>, ?, ?> dao = createEmptyDB(Person.class);
+        dao.updateAll(model1, model2, model3, model4);
+
+        Statistics statistics = dao.statistics();
+        assert statistics.rows() == 4;
+
+        // the pair of null fraction and distinct values, NaN is allowed only when the catalog
+        // doesn't know it
+        Map<String, List<Double>> expected = Map.of("id", List.of(0d, 4d), "name", List.of(0.25, 2d), "age", List.of(0d, 4d), "marked", List.of(0d, 1d));
+        for (Statistics.Column column : statistics.columns().values()) {
+            List<Double> values = expected.get(column.name());
+            assert values != null;
+            assert Double.isNaN(column.nullFraction()) || column.nullFraction() == values.get(0);
+            assert Double.isNaN(column.distinct()) || column.distinct() == values.get(1);
+        }
+    }
+
+    @Test
+    default void aggregate() {
+        Person model1 = new Person("A", 10);
+        Person model2 = new Person("B", 20);
+        Person model3 = new Person("C", 30);
+
+        QueryExecutor<Person, Signal<Person>, ?, ?> dao = createEmptyDB(Person.class);
+        dao.updateAll(model1, model2, model3);
+
+        Aggregated<Person> calculated = dao.aggregate(a -> a.count().min(Person::getAge).max(Person::getAge).sum(Person::getAge).avg(Person::getAge));
+        assert calculated.count() == 3;
+        assert calculated.min(Person::getAge) == 10;
+        assert calculated.max(Person::getAge) == 30;
+        assert calculated.sum(Person::getAge) == 60;
+        assert calculated.avg(Person::getAge) == 20d;
+
+        calculated = dao.where(q -> q.findBy(Person::getAge, v -> v.isMoreThan(100))).aggregate(a -> a.count().max(Person::getAge));
+        assert calculated.count() == 0;
+        assert calculated.max(Person::getAge) == null;
+    }
+
+    @Test
+    default void groupByAggregate() {
+        Person model1 = new Person("A", 10);
+        Person model2 = new Person("B", 20);
+        Person model3 = new Person("B", 30);
+
+        QueryExecutor<Person, Signal<Person>, ?, ?> dao = createEmptyDB(Person.class);
+        dao.updateAll(model1, model2, model3);
+
+        Map<String, Aggregated<Person>> calculated = dao.groupBy(Person::getName).aggregate(a -> a.count().min(Person::getAge).sum(Person::getAge));
+        assert List.copyOf(calculated.keySet()).equals(List.of("A", "B"));
+        assert calculated.get("A").count() == 1;
+        assert calculated.get("A").min(Person::getAge) == 10;
+        assert calculated.get("A").sum(Person::getAge) == 10;
+        assert calculated.get("B").count() == 2;
+        assert calculated.get("B").min(Person::getAge) == 20;
+        assert calculated.get("B").sum(Person::getAge) == 50;
+    }
+
+    @Test
+    default void bucketByNumber() {
+        Person model1 = new Person("A", 10);
+        Person model2 = new Person("B", 12);
+        Person model3 = new Person("C", 35);
+
+        QueryExecutor<Person, Signal<Person>, ?, ?> dao = createEmptyDB(Person.class);
+        dao.updateAll(model1, model2, model3);
+
+        assert dao.bucketBy(Person::getAge, 10).count().equals(Map.of(10, 2L, 30, 1L));
+
+        Map<Integer, Long> filled = dao.bucketBy(Person::getAge, 10, true).count();
+        assert List.copyOf(filled.keySet()).equals(List.of(10, 20, 30));
+        assert filled.get(20) == 0;
+    }
+
+    @Test
+    default void bucketByTime() {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 9, 0);
+        Tick model1 = new Tick(base, 10);
+        Tick model2 = new Tick(base.plusSeconds(20), 30);
+        Tick model3 = new Tick(base.plusSeconds(40), 20);
+        Tick model4 = new Tick(base.plusMinutes(2).plusSeconds(10), 50);
+
+        QueryExecutor<Tick, Signal<Tick>, ?, ?> dao = createEmptyDB(Tick.class);
+        dao.updateAll(model4, model3, model2, model1);
+
+        Map<LocalDateTime, Aggregated<Tick>> ohlc = dao.bucketBy(Tick::getTime, Duration.ofMinutes(1), true)
+                .aggregate(a -> a.first(Tick::getPrice).max(Tick::getPrice).min(Tick::getPrice).last(Tick::getPrice).count());
+        assert List.copyOf(ohlc.keySet()).equals(List.of(base, base.plusMinutes(1), base.plusMinutes(2)));
+
+        Aggregated<Tick> first = ohlc.get(base);
+        assert first.first(Tick::getPrice) == 10;
+        assert first.max(Tick::getPrice) == 30;
+        assert first.min(Tick::getPrice) == 10;
+        assert first.last(Tick::getPrice) == 20;
+        assert first.count() == 3;
+
+        Aggregated<Tick> gap = ohlc.get(base.plusMinutes(1));
+        assert gap.count() == 0;
+        assert gap.first(Tick::getPrice) == null;
+
+        Aggregated<Tick> last = ohlc.get(base.plusMinutes(2));
+        assert last.first(Tick::getPrice) == 50;
+        assert last.count() == 1;
+    }
+
+    @Test
+    default void bucketByDate() {
+        // the epoch day is aligned to the week
+        LocalDate base = LocalDate.ofEpochDay(20090);
+        Daily model1 = new Daily(base, 1.5);
+        Daily model2 = new Daily(base.plusDays(1), 2.5);
+        Daily model3 = new Daily(base.plusDays(8), 11);
+
+        QueryExecutor<Daily, Signal<Daily>, ?, ?> dao = createEmptyDB(Daily.class);
+        dao.updateAll(model1, model2, model3);
+
+        assert dao.bucketBy(Daily::getDate, Duration.ofDays(7)).count().equals(Map.of(base, 2L, base.plusDays(7), 1L));
+
+        Map<LocalDate, Long> filled = dao.bucketBy(Daily::getDate, Duration.ofDays(1), true).count();
+        assert filled.size() == 9;
+        assert filled.get(base) == 1;
+        assert filled.get(base.plusDays(4)) == 0;
+        assert filled.get(base.plusDays(8)) == 1;
+    }
+
+    @Test
+    default void bucketByDouble() {
+        Daily model1 = new Daily(LocalDate.now(), 1.5);
+        Daily model2 = new Daily(LocalDate.now(), 2.5);
+        Daily model3 = new Daily(LocalDate.now(), 21);
+        Daily model4 = new Daily(LocalDate.now(), -1.5);
+
+        QueryExecutor<Daily, Signal<Daily>, ?, ?> dao = createEmptyDB(Daily.class);
+        dao.updateAll(model1, model2, model3, model4);
+
+        assert dao.bucketBy(Daily::getAmount, 10).count().equals(Map.of(-10d, 1L, 0d, 2L, 20d, 1L));
+
+        Map<Double, Long> filled = dao.bucketBy(Daily::getAmount, 10, true).count();
+        assert List.copyOf(filled.keySet()).equals(List.of(-10d, 0d, 10d, 20d));
+        assert filled.get(10d) == 0;
+    }
+
     /**
      * 
      */
@@ -268,4 +525,126 @@ public interface AccumulableTestSet extends Testable {
             this.marked = marked;
         }
     }
+
+    /**
+     * 
+     */
+    class Tick extends DerivableModel {
+
+        private LocalDateTime time;
+
+        private int price;
+
+        /**
+         * Create empty model.
+         */
+        private Tick() {
+        }
+
+        /**
+         * @param time
+         * @param price
+         */
+        private Tick(LocalDateTime time, int price) {
+            this.time = time;
+            this.price = price;
+        }
+
+        /**
+         * Get the time property of this {@link AccumulableTestSet.Tick}.
+         * 
+         * @return The time property.
+         */
+        public final LocalDateTime getTime() {
+            return time;
+        }
+
+        /**
+         * Set the time property of this {@link AccumulableTestSet.Tick}.
+         * 
+         * @param time The time value to set.
+         */
+        public final void setTime(LocalDateTime time) {
+            this.time = time;
+        }
+
+        /**
+         * Get the price property of this {@link AccumulableTestSet.Tick}.
+         * 
+         * @return The price property.
+         */
+        public final int getPrice() {
+            return price;
+        }
+
+        /**
+         * Set the price property of this {@link AccumulableTestSet.Tick}.
+         * 
+         * @param price The price value to set.
+         */
+        public final void setPrice(int price) {
+            this.price = price;
+        }
+    }
+
+    /**
+     * 
+     */
+    class Daily extends DerivableModel {
+
+        private LocalDate date;
+
+        private double amount;
+
+        /**
+         * Create empty model.
+         */
+        private Daily() {
+        }
+
+        /**
+         * @param date
+         * @param amount
+         */
+        private Daily(LocalDate date, double amount) {
+            this.date = date;
+            this.amount = amount;
+        }
+
+        /**
+         * Get the date property of this {@link AccumulableTestSet.Daily}.
+         * 
+         * @return The date property.
+         */
+        public final LocalDate getDate() {
+            return date;
+        }
+
+        /**
+         * Set the date property of this {@link AccumulableTestSet.Daily}.
+         * 
+         * @param date The date value to set.
+         */
+        public final void setDate(LocalDate date) {
+            this.date = date;
+        }
+
+        /**
+         * Get the amount property of this {@link AccumulableTestSet.Daily}.
+         * 
+         * @return The amount property.
+         */
+        public final double getAmount() {
+            return amount;
+        }
+
+        /**
+         * Set the amount property of this {@link AccumulableTestSet.Daily}.
+         * 
+         * @param amount The amount value to set.
+         */
+        public final void setAmount(double amount) {
+            this.amount = amount;
+        }
+    }
 }
\ No newline at end of file
@@ -54,6 +54,21 @@ public interface DeletableTestSet extends Testable {
         assert found.name == null;
     }
 
+    @Test
+    default void deleteAll() {
+        Person model1 = new Person("one", 10);
+        Person model2 = new Person("two", 20);
+        Person model3 = new Person("three", 30);
+
+        QueryExecutor<Person, Signal<Person>, ?, ?> dao = createEmptyDB(Person.class);
+        dao.updateAll(model1, model2, model3);
+        assert dao.count() == 3;
+
+        dao.deleteAll(model1, model3);
+        assert dao.count() == 1;
+        assert dao.findAll().to().exact().name.equals("two");
+    }
+
     /**
      * 
      */
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+import typewriter.api.model.DerivableModel;
+import typewriter.rdb.FileFormat;
+import typewriter.rdb.RDB;
+
+public interface ExportTestSet extends Testable {
+
+    @Test
+    default void exportAndImport() {
+        Person model1 = new Person("one, \"quoted\"", 10);
+        Person model2 = new Person(null, 20);
+
+        RDB<Person> source = createEmptyDB(Person.class);
+        source.updateAll(model1, model2);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        source.exportTo(output);
+
+        RDB<Person> dao = createEmptyDB(Person.class);
+        dao.importFrom(new ByteArrayInputStream(output.toByteArray()));
+        assert dao.count() == 2;
+        assert dao.findBy(model1.getId()).to().exact().name.equals("one, \"quoted\"");
+        assert dao.findBy(model2.getId()).to().exact().name == null;
+    }
+
+    @Test
+    default void exportAndImportFile() throws Exception {
+        Person model1 = new Person("one", 10);
+        Person model2 = new Person(null, 20);
+
+        RDB<Person> source = createEmptyDB(Person.class);
+        source.updateAll(model1, model2);
+
+        Path directory = Files.createTempDirectory("typewriter");
+        try {
+            for (FileFormat format : FileFormat.values()) {
+                Path file = directory.resolve("dump." + format.name().toLowerCase());
+                try {
+                    source.exportTo(file, format);
+
+                    RDB<Person> dao = createEmptyDB(Person.class);
+                    dao.importFrom(file, format);
+                    assert dao.count() == 2;
+                    assert dao.findBy(model1.getId()).to().exact().name.equals("one");
+                    assert dao.findBy(model2.getId()).to().exact().age == 20;
+                } finally {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    /**
+     * 
+     */
+    class Person extends DerivableModel {
+
+        public String name;
+
+        public int age;
+
+        /**
+         * Create empty model.
+         */
+        public Person() {
+        }
+
+        /**
+         * @param name
+         * @param age
+         */
+        public Person(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        /**
+         * Get the name property of this {@link ExportTestSet.Person}.
+         * 
+         * @return The name property.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Get the age property of this {@link ExportTestSet.Person}.
+         * 
+         * @return The age property.
+         */
+        public int getAge() {
+            return age;
+        }
+    }
+}
\ No newline at end of file
@@ -9,6 +9,8 @@
  */
 package typewriter.api;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
@@ -16,6 +18,8 @@ import org.junit.jupiter.api.Test;
 import kiss.I;
 import kiss.Signal;
 import typewriter.api.model.DerivableModel;
+import typewriter.rdb.FileFormat;
+import typewriter.rdb.RDB;
 
 public interface ListConstraintTestSet extends Testable {
 
@@ -43,6 +47,22 @@ public interface ListConstraintTestSet extends Testable {
         assert person.alias.get(2).equals("二");
     }
 
+    @Test
+    default void codecNonScalar() {
+        Route model = new Route();
+        model.points = I.list(new Point(1, 2), new Point(3, 4));
+
+        QueryExecutor<Route, Signal<Route>, ?, ?> dao = createEmptyDB(Route.class);
+        dao.update(model);
+
+        Route found = dao.findAll().to().exact();
+        assert found.points.size() == 2;
+        assert found.points.get(0).x == 1;
+        assert found.points.get(0).y == 2;
+        assert found.points.get(1).x == 3;
+        assert found.points.get(1).y == 4;
+    }
+
     @Test
     default void contains() {
         Person model1 = new Person("one", "first", "1", "common");
@@ -67,6 +87,78 @@ public interface ListConstraintTestSet extends Testable {
         assert notFound.size() == 0;
     }
 
+    @Test
+    default void containsQuote() {
+        Person model1 = new Person("one", "it's", "\"quoted\"");
+        Person model2 = new Person("two", "its");
+
+        QueryExecutor<Person, Signal<Person>, ?, ?> dao = createEmptyDB(Person.class);
+        dao.update(model1);
+        dao.update(model2);
+
+        List<Person> founds = dao.findBy(Person::getAlias, c -> c.contains("it's")).toList();
+        assert founds.size() == 1;
+        assert founds.get(0).equals(model1);
+        assert founds.get(0).alias.get(1).equals("\"quoted\"");
+    }
+
+    @Test
+    default void containsLongElement() {
+        String text = "long".repeat(1000);
+        Person model1 = new Person("one", "short", text);
+        Person model2 = new Person("two", "short", text + "!");
+
+        QueryExecutor<Person, Signal<Person>, ?, ?> dao = createEmptyDB(Person.class);
+        dao.update(model1);
+        dao.update(model2);
+
+        List<Person> founds = dao.findBy(Person::getAlias, c -> c.contains(text)).toList();
+        assert founds.size() == 1;
+        assert founds.get(0).equals(model1);
+    }
+
+    @Test
+    default void containsBoolean() {
+        Flags model1 = new Flags(true, true);
+        Flags model2 = new Flags(false);
+
+        QueryExecutor<Flags, Signal<Flags>, ?, ?> dao = createEmptyDB(Flags.class);
+        dao.update(model1);
+        dao.update(model2);
+
+        List<Flags> founds = dao.findBy(Flags::getValues, c -> c.contains(true)).toList();
+        assert founds.size() == 1;
+        assert founds.get(0).equals(model1);
+
+        founds = dao.findBy(Flags::getValues, c -> c.contains(false)).toList();
+        assert founds.size() == 1;
+        assert founds.get(0).equals(model2);
+    }
+
+    @Test
+    default void containsAfterModification() {
+        Person model1 = new Person("one", "first", "common");
+        Person model2 = new Person("two", "second", "common");
+
+        QueryExecutor<Person, Signal<Person>, ?, ?> dao = createEmptyDB(Person.class);
+        dao.update(model1);
+        dao.update(model2);
+
+        model1.alias = I.list("first", "changed");
+        dao.update(model1);
+        List<Person> founds = dao.findBy(Person::getAlias, c -> c.contains("common")).toList();
+        assert founds.size() == 1;
+        assert founds.get(0).equals(model2);
+
+        founds = dao.findBy(Person::getAlias, c -> c.contains("changed")).toList();
+        assert founds.size() == 1;
+        assert founds.get(0).equals(model1);
+
+        dao.delete(model2);
+        founds = dao.findBy(Person::getAlias, c -> c.contains("common")).toList();
+        assert founds.size() == 0;
+    }
+
     @Test
     default void size() {
         Person model1 = new Person("one", "first", "1", "一");
@@ -175,6 +267,43 @@ public interface ListConstraintTestSet extends Testable {
         assert founds.get(1).equals(model3);
     }
 
+    @Test
+    default void exportAndImportFile() throws Exception {
+        Person model1 = new Person("one", "first", "it's", "\"quoted\"", "一");
+        Person model2 = new Person("two");
+
+        RDB<Person> source = createEmptyDB(Person.class);
+        source.updateAll(model1, model2);
+
+        Path directory = Files.createTempDirectory("typewriter");
+        try {
+            for (FileFormat format : FileFormat.values()) {
+                Path file = directory.resolve("dump." + format.name().toLowerCase());
+                String h2 = "jdbc:h2:mem:portable" + Testable.randomInt();
+                String duck = "jdbc:duckdb::memory:portable" + Testable.randomInt();
+                try {
+                    source.exportTo(file, format);
+
+                    // the file is readable by this database and the others
+                    List<RDB<Person>> targets = List
+                            .of(createEmptyDB(Person.class), new RDB(Person.class, "person", RDB.H2, h2), new RDB(Person.class, "person", RDB.DuckDB, duck));
+                    for (RDB<Person> dao : targets) {
+                        dao.importFrom(file, format);
+                        assert dao.count() == 2;
+                        assert dao.findBy(model1.getId()).to().exact().alias.equals(model1.alias);
+                        assert dao.findBy(model2.getId()).to().exact().alias.isEmpty();
+                    }
+                } finally {
+                    RDB.release(h2);
+                    RDB.release(duck);
+                    Files.deleteIfExists(file);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(directory);
+        }
+    }
+
     /**
      * 
      */
@@ -201,4 +330,54 @@ public interface ListConstraintTestSet extends Testable {
             return alias;
         }
     }
+
+    /**
+     * 
+     */
+    class Flags extends DerivableModel {
+
+        public List<Boolean> values;
+
+        public Flags() {
+        }
+
+        public Flags(Boolean... values) {
+            this.values = I.list(values);
+        }
+
+        /**
+         * Get the values property of this {@link ListConstraintTestSet.Flags}.
+         * 
+         * @return The values property.
+         */
+        public final List<Boolean> getValues() {
+            return values;
+        }
+    }
+
+    /**
+     * 
+     */
+    class Route extends DerivableModel {
+
+        public List<Point> points;
+    }
+
+    /**
+     * 
+     */
+    class Point {
+
+        public int x;
+
+        public int y;
+
+        public Point() {
+        }
+
+        public Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
 }
\ No newline at end of file
@@ -9,12 +9,22 @@
  */
 package typewriter.api;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.Test;
 
 import kiss.Signal;
+import kiss.Ⅱ;
 import typewriter.api.model.DerivableModel;
+import typewriter.query.Columns;
+import typewriter.query.SingleFlight;
 
 public interface QueryExecutorTestSet extends Testable {
 
@@ -171,9 +181,406 @@ public interface QueryExecutorTestSet extends Testable {
         assert found.get(1).equals(model8);
     }
 
-    /**
-     * 
-     */
+    @Test
+    default void select() {
+        Person model1 = new Person("one", 10);
+        Person model2 = new Person("two", 20);
+
+        QueryExecutor<Person, Signal<Person>, ?, ?> dao = createEmptyDB(Person.class);
+        dao.update(model1);
+        dao.update(model2);
+
+        List<Person> found = dao.select(Person::getName).toList();
+        assert found.size() == 2;
+        assert found.get(0).getId() == model1.getId();
+        assert found.get(0).getName().equals("one");
+        assert found.get(0).getAge() == 0;
+        assert found.get(1).getId() == model2.getId();
+        assert found.get(1).getName().equals("two");
+        assert found.get(1).getAge() == 0;
+    }
+
+    @Test
+    default void selectWithQuery() {
+        Person model1 = new Person("one", 10);
+        Person model2 = new Person("two", 20);
+        Person model3 = new Person("three", 30);
+
+        QueryExecutor<Person, Signal<Person>, ?, ?> dao = createEmptyDB(Person.class);
+        dao.update(model1);
+        dao.update(model2);
+        dao.update(model3);
+
+        List<Person> found = dao.query(o -> o.select(Person::getAge).offset(1)).toList();
+        assert found.size() == 2;
+        assert found.get(0).getName() == null;
+        assert found.get(0).getAge() == 20;
+        assert found.get(1).getName() == null;
+        assert found.get(1).getAge() == 30;
+    }
+
+    @Test
+    default void tuple() {
+        Person model1 = new Person("one", 10);
+        Person model2 = new Person("two", 20);
+
+        QueryExecutor<Person, Signal<Person>, ?, ?> dao = createEmptyDB(Person.class);
+        dao.update(model1);
+        dao.update(model2);
+
+        List<Ⅱ<String, Integer>> found = dao.tuple(Person::getName, Person::getAge).toList();
+        assert found.size() == 2;
+        assert found.get(0).ⅰ.equals("one");
+        assert found.get(0).ⅱ == 10;
+        assert found.get(1).ⅰ.equals("two");
+        assert found.get(1).ⅱ == 20;
+    }
+
+    @Test
+    default void async() {
+        Person model1 = new Person("one", 10);
+        Person model2 = new Person("two", 20);
+        Person model3 = new Person("three", 30);
+
+        QueryExecutor<Person, Signal<Person>, ?, ?> dao = createEmptyDB(Person.class);
+        dao.updateAllAsync(List.of(model1, model2, model3)).join();
+
+        assert dao.countAsync().join() == 3;
+        assert dao.findByAsync(model2.getId()).join().equals(model2);
+        assert dao.findAllAsync().join().size() == 3;
+
+        dao.deleteAllAsync(List.of(model1)).join();
+        assert dao.countAsync().join() == 2;
+    }
+
+    @Test
+    @Environment(key = "typewriter.connection.max", value = "1")
+    @Environment(key = "typewriter.connection.timeout", value = "500")
+    default void publish() throws Exception {
+        Person model1 = new Person("one", 10);
+        Person model2 = new Person("two", 20);
+        Person model3 = new Person("three", 30);
+
+        QueryExecutor<Person, Signal<Person>, ?, ?> dao = createEmptyDB(Person.class);
+        dao.updateAll(model1, model2, model3);
+
+        List<Person> founds = new CopyOnWriteArrayList();
+        AtomicReference<Throwable> error = new AtomicReference();
+        CountDownLatch latch = new CountDownLatch(2);
+        dao.publishAll().subscribe(new Flow.Subscriber<Person>() {
+
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(Person item) {
+                founds.add(item);
+                latch.countDown();
+
+                if (founds.size() < 2) {
+                    subscription.request(1);
+                } else {
+                    subscription.cancel();
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                error.set(throwable);
+                while (latch.getCount() != 0) {
+                    latch.countDown();
+                }
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        assert latch.await(10, TimeUnit.SECONDS);
+        assert error.get() == null : error.get();
+        assert founds.size() == 2;
+
+        // the only connection must be back in the pool, otherwise this waits for the timeout
+        assert dao.count() == 3;
+    }
+
+    @Test
+    @Environment(key = "typewriter.connection.max", value = "1")
+    @Environment(key = "typewriter.connection.timeout", value = "500")
+    default void publishExactDemand() throws Exception {
+        Person model1 = new Person("one", 10);
+        Person model2 = new Person("two", 20);
+        Person model3 = new Person("three", 30);
+
+        QueryExecutor<Person, Signal<Person>, ?, ?> dao = createEmptyDB(Person.class);
+        dao.updateAll(model1, model2, model3);
+
+        List<Person> founds = new CopyOnWriteArrayList();
+        AtomicReference<Throwable> error = new AtomicReference();
+        CountDownLatch completed = new CountDownLatch(1);
+        dao.publishAll().subscribe(new Flow.Subscriber<Person>() {
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                // request all rows at once and never request again
+                subscription.request(3);
+            }
+
+            @Override
+            public void onNext(Person item) {
+                founds.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                error.set(throwable);
+                completed.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                completed.countDown();
+            }
+        });
+
+        assert completed.await(10, TimeUnit.SECONDS);
+        assert error.get() == null : error.get();
+        assert founds.size() == 3;
+
+        // the only connection must be back in the pool, otherwise this waits for the timeout
+        assert dao.count() == 3;
+    }
+
+    @Test
+    default void columns() {
+        Person model1 = new Person("one", 10);
+        Person model2 = new Person("two", 20);
+        Person model3 = new Person("one", 30);
+
+        QueryExecutor<Person, Signal<Person>, ?, ?> dao = createEmptyDB(Person.class);
+        dao.updateAll(model1, model2, model3);
+
+        Columns columns = dao.columns(Person::getAge, Person::getName);
+        assert columns.size() == 3;
+        assert columns.width() == 2;
+        assert columns.ints(0).sum() == 60;
+        assert columns.ints(0).min().getAsInt() == 10;
+        assert columns.ints(0).max().getAsInt() == 30;
+        assert columns.ints(0).avg() == 20;
+        assert columns.strings(1).cardinality() == 2;
+        assert columns.strings(1).toArray().length == 3;
+
+        Columns filtered = dao.columnsBy(q -> q.findBy(Person::getAge, c -> c.isMoreThan(10)), Person::getAge);
+        assert filtered.size() == 2;
+        assert filtered.ints(0).sum() == 50;
+    }
+
+    @Test
+    default void columnsByDeclaredType() {
+        QueryExecutor<Person, Signal<Person>, ?, ?> dao = createEmptyDB(Person.class);
+
+        // no value to infer the column type
+        Columns columns = dao.columns(Person::getAge);
+        assert columns.size() == 0;
+        assert columns.ints(0).count() == 0;
+    }
+
+    @Test
+    default void scan() {
+        List<Person> models = new ArrayList();
+        for (int i = 0; i < 20; i++) {
+            models.add(new Person("name" + i, i));
+        }
+
+        QueryExecutor<Person, Signal<Person>, ?, ?> dao = createEmptyDB(Person.class);
+        dao.updateAll(models);
+
+        List<Person> ordered = dao.scan(Person::getAge, 3, true).toList();
+        assert ordered.equals(models);
+
+        List<Person> unordered = dao.scan(false).toList();
+        assert unordered.size() == 20;
+        assert unordered.containsAll(models);
+    }
+
+    @Test
+    default void scanWideRange() {
+        List<Wide> models = new ArrayList();
+        models.add(new Wide(Long.MIN_VALUE));
+        models.add(new Wide(-1));
+        models.add(new Wide(0));
+        models.add(new Wide(Long.MAX_VALUE));
+
+        QueryExecutor<Wide, Signal<Wide>, ?, ?> dao = createEmptyDB(Wide.class);
+        dao.updateAll(models);
+
+        List<Wide> ordered = dao.scan(Wide::getValue, 3, true).toList();
+        assert ordered.equals(models);
+    }
+
+    @Test
+    default void scanStopsOnDisposal() {
+        List<Counted> models = new ArrayList();
+        for (int i = 0; i < 5000; i++) {
+            models.add(new Counted(i));
+        }
+
+        QueryExecutor<Counted, Signal<Counted>, ?, ?> dao = createEmptyDB(Counted.class);
+        dao.updateAll(models);
+
+        Counted.created.set(0);
+        assert dao.scan(Counted::getValue, 2, true).take(3).toList().size() == 3;
+
+        // the ranges stop reading after the disposal instead of decoding all rows
+        assert Counted.created.get() < models.size();
+        assert dao.count() == 5000;
+    }
+
+    @Test
+    @Environment(key = "typewriter.connection.max", value = "1")
+    @Environment(key = "typewriter.connection.timeout", value = "500")
+    default void scanInAsync() throws Exception {
+        // each range holds more models than its buffer (typewriter.scan.buffer)
+        List<Counted> models = new ArrayList();
+        for (int i = 0; i < 2000; i++) {
+            models.add(new Counted(i));
+        }
+
+        QueryExecutor<Counted, Signal<Counted>, ?, ?> dao = createEmptyDB(Counted.class);
+        dao.updateAll(models);
+
+        // the ranges outnumber the permits and the scan itself holds the only permit
+        List<Counted> ordered = dao.async(x -> dao.scan(Counted::getValue, 4, true).toList()).get(10, TimeUnit.SECONDS);
+        assert ordered.equals(models);
+
+        List<Counted> unordered = dao.async(x -> dao.scan(Counted::getValue, 4, false).toList()).get(10, TimeUnit.SECONDS);
+        assert unordered.size() == 2000;
+        assert unordered.stream().map(Counted::getValue).distinct().count() == 2000;
+    }
+
+    @Test
+    @Environment(key = "typewriter.connection.max", value = "1")
+    @Environment(key = "typewriter.connection.longevity", value = "true")
+    @Environment(key = "typewriter.connection.timeout", value = "500")
+    default void takeReleasesCursor() {
+        List<Counted> models = new ArrayList();
+        for (int i = 0; i < 1000; i++) {
+            models.add(new Counted(i));
+        }
+
+        QueryExecutor<Counted, Signal<Counted>, ?, ?> dao = createEmptyDB(Counted.class);
+        dao.updateAll(models);
+
+        Counted.created.set(0);
+        assert dao.findAll().take(3).toList().size() == 3;
+
+        // the remaining rows are not decoded after the disposal
+        assert Counted.created.get() < models.size();
+
+        // the single connection is back to the pool, otherwise this waits and times out
+        assert dao.count() == 1000;
+    }
+
+    @Test
+    default void singleFlight() throws Exception {
+        SingleFlight flights = new SingleFlight(true, 0, 256);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<String> leaderResult = new AtomicReference();
+        AtomicReference<String> followerResult = new AtomicReference();
+
+        Thread leader = Thread.ofVirtual().start(() -> leaderResult.set(flights.execute("same", () -> {
+            started.countDown();
+            release.await();
+            return "result";
+        })));
+        started.await();
+
+        Thread follower = Thread.ofVirtual().start(() -> followerResult.set(flights.execute("same", () -> "independent")));
+        while (flights.deduplicated() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        leader.join();
+        follower.join();
+
+        assert leaderResult.get().equals("result");
+        assert followerResult.get().equals("result");
+        assert flights.executed() == 1;
+        assert flights.deduplicated() == 1;
+        assert flights.execute("same", () -> "next").equals("next");
+    }
+
+    @Test
+    default void singleFlightQuery() throws Exception {
+        QueryExecutor<Gate, Signal<Gate>, ?, ?> dao = createEmptyDB(Gate.class);
+        dao.update(new Gate("one"));
+
+        SingleFlight flights = new SingleFlight(true, 0, 256);
+        dao.setSingleFlight(flights);
+
+        AtomicReference<List<Gate>> leaderResult = new AtomicReference();
+        AtomicReference<List<Gate>> followerResult = new AtomicReference();
+        Gate.started = new CountDownLatch(1);
+        Gate.release = new CountDownLatch(1);
+        try {
+            // the leader is blocked while decoding the row
+            Thread leader = Thread.ofVirtual().start(() -> leaderResult.set(dao.findAll().toList()));
+            Gate.started.await();
+
+            Thread follower = Thread.ofVirtual().start(() -> followerResult.set(dao.findAll().toList()));
+            while (flights.deduplicated() == 0) {
+                Thread.onSpinWait();
+            }
+            Gate.release.countDown();
+            leader.join();
+            follower.join();
+        } finally {
+            Gate.release = null;
+        }
+
+        assert leaderResult.get().size() == 1;
+        assert leaderResult.get().get(0).name.equals("one");
+        assert followerResult.get().equals(leaderResult.get());
+        assert flights.executed() == 1;
+        assert flights.deduplicated() == 1;
+    }
+
+    @Test
+    default void singleFlightWindow() {
+        QueryExecutor<Gate, Signal<Gate>, ?, ?> dao = createEmptyDB(Gate.class);
+        Gate model = new Gate("one");
+        dao.update(model);
+
+        SingleFlight flights = new SingleFlight(true, 60000, 256);
+        dao.setSingleFlight(flights);
+
+        // the completed result is shared in the window
+        assert dao.findAll().toList().get(0).name.equals("one");
+        assert dao.findAll().toList().get(0).name.equals("one");
+        assert flights.executed() == 1;
+
+        // the modification discards the shared result
+        model.name = "updated";
+        dao.update(model);
+        assert dao.findAll().toList().get(0).name.equals("updated");
+        assert flights.executed() == 2;
+
+        // the different targets never share the result
+        Gate target1 = new Gate(model.getId());
+        Gate target2 = new Gate(model.getId());
+        dao.restore(target1).to();
+        dao.restore(target2).to();
+        assert target1.name.equals("updated");
+        assert target2.name.equals("updated");
+    }
+
     class Person extends DerivableModel {
 
         private String name;
@@ -251,4 +658,147 @@ public interface QueryExecutorTestSet extends Testable {
             this.marked = marked;
         }
     }
+
+    /**
+     * The model with the long property.
+     */
+    class Wide extends DerivableModel {
+
+        private long value;
+
+        /**
+         * Create empty model.
+         */
+        private Wide() {
+        }
+
+        /**
+         * @param value
+         */
+        private Wide(long value) {
+            this.value = value;
+        }
+
+        /**
+         * Get the value property of this {@link QueryExecutorTestSet.Wide}.
+         * 
+         * @return The value property.
+         */
+        public final long getValue() {
+            return value;
+        }
+
+        /**
+         * Set the value property of this {@link QueryExecutorTestSet.Wide}.
+         * 
+         * @param value The value value to set.
+         */
+        public final void setValue(long value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * The model which counts its instantiation.
+     */
+    class Counted extends DerivableModel {
+
+        /** The number of created instances. */
+        private static final AtomicInteger created = new AtomicInteger();
+
+        private int value;
+
+        /**
+         * Create empty model.
+         */
+        private Counted() {
+            created.incrementAndGet();
+        }
+
+        /**
+         * @param value
+         */
+        private Counted(int value) {
+            this.value = value;
+        }
+
+        /**
+         * Get the value property of this {@link QueryExecutorTestSet.Counted}.
+         * 
+         * @return The value property.
+         */
+        public final int getValue() {
+            return value;
+        }
+
+        /**
+         * Set the value property of this {@link QueryExecutorTestSet.Counted}.
+         * 
+         * @param value The value value to set.
+         */
+        public final void setValue(int value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * The model which can block its instantiation.
+     */
+    class Gate extends DerivableModel {
+
+        /** The notification of the blocked instantiation. */
+        private static volatile CountDownLatch started;
+
+        /** The release of the blocked instantiation, null means no block. */
+        private static volatile CountDownLatch release;
+
+        private String name;
+
+        /**
+         * Create empty model.
+         */
+        private Gate() {
+            CountDownLatch gate = release;
+            if (gate != null) {
+                started.countDown();
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    throw new Error(e);
+                }
+            }
+        }
+
+        /**
+         * @param name
+         */
+        private Gate(String name) {
+            this.name = name;
+        }
+
+        /**
+         * @param id
+         */
+        private Gate(long id) {
+            setId(id);
+        }
+
+        /**
+         * Get the name property of this {@link QueryExecutorTestSet.Gate}.
+         * 
+         * @return The name property.
+         */
+        public final String getName() {
+            return name;
+        }
+
+        /**
+         * Set the name property of this {@link QueryExecutorTestSet.Gate}.
+         * 
+         * @param name The name value to set.
+         */
+        public final void setName(String name) {
+            this.name = name;
+        }
+    }
 }
\ No newline at end of file
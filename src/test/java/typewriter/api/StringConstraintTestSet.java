@@ -193,6 +193,31 @@ public interface StringConstraintTestSet extends Testable {
         assert founds.get(1).equals(model3);
     }
 
+    @Test
+    default void regexWithLiteral() {
+        Person model1 = new Person("prefix-alpha");
+        Person model2 = new Person("prefix-beta");
+        Person model3 = new Person("prefectures-alpha");
+
+        QueryExecutor<Person, Signal<Person>, ?, ?> dao = createEmptyDB(Person.class);
+        dao.update(model1);
+        dao.update(model2);
+        dao.update(model3);
+
+        List<Person> founds = dao.findBy(Person::getName, c -> c.regex("^prefix-al")).toList();
+        assert founds.size() == 1;
+        assert founds.get(0).equals(model1);
+
+        founds = dao.findBy(Person::getName, c -> c.regex("^pref(ix|ectures)-alpha")).toList();
+        assert founds.size() == 2;
+        assert founds.get(0).equals(model1);
+        assert founds.get(1).equals(model3);
+
+        founds = dao.findBy(Person::getName, c -> c.regex("^prefi?x?-b")).toList();
+        assert founds.size() == 1;
+        assert founds.get(0).equals(model2);
+    }
+
     @Test
     default void multipleConditions() {
         Person model1 = new Person("one");
@@ -211,6 +236,55 @@ public interface StringConstraintTestSet extends Testable {
         assert founds.get(0).equals(model4);
     }
 
+    @Test
+    default void matches() {
+        Article model1 = new Article("quick brown fox");
+        Article model2 = new Article("lazy brown dog");
+        Article model3 = new Article("quick silver");
+
+        QueryExecutor<Article, Signal<Article>, ?, ?> dao = createEmptyDB(Article.class);
+        dao.update(model1);
+        dao.update(model2);
+        dao.update(model3);
+
+        List<Article> founds = dao.findBy(Article::getText, c -> c.matches("brown")).toList();
+        assert founds.size() == 2;
+
+        founds = dao.findBy(Article::getText, c -> c.matches("quick brown")).toList();
+        assert founds.size() == 1;
+        assert founds.get(0).equals(model1);
+
+        founds = dao.findBy(Article::getText, c -> c.matches("unknown")).toList();
+        assert founds.size() == 0;
+
+        model3.text = "quick brown silver";
+        dao.update(model3);
+        founds = dao.findBy(Article::getText, c -> c.matches("quick brown")).toList();
+        assert founds.size() == 2;
+    }
+
+    @Test
+    default void matchesAfterDeletion() {
+        Article model1 = new Article("quick brown fox");
+        Article model2 = new Article("lazy brown dog");
+
+        QueryExecutor<Article, Signal<Article>, ?, ?> dao = createEmptyDB(Article.class);
+        dao.update(model1);
+        dao.update(model2);
+
+        List<Article> founds = dao.findBy(Article::getText, c -> c.matches("brown")).toList();
+        assert founds.size() == 2;
+
+        dao.delete(model1);
+        founds = dao.findBy(Article::getText, c -> c.matches("brown")).toList();
+        assert founds.size() == 1;
+        assert founds.get(0).equals(model2);
+
+        dao.delete(model2, Article::getText);
+        founds = dao.findBy(Article::getText, c -> c.matches("brown")).toList();
+        assert founds.size() == 0;
+    }
+
     /**
      * 
      */
@@ -240,4 +314,35 @@ public interface StringConstraintTestSet extends Testable {
             return name;
         }
     }
+
+    /**
+     * The full-text searchable model.
+     */
+    class Article extends DerivableModel {
+
+        @FullText
+        public String text;
+
+        /**
+         * Create empty model.
+         */
+        private Article() {
+        }
+
+        /**
+         * @param text
+         */
+        private Article(String text) {
+            this.text = text;
+        }
+
+        /**
+         * Get the text property of this {@link StringConstraintTestSet.Article}.
+         * 
+         * @return The text property.
+         */
+        public String getText() {
+            return text;
+        }
+    }
 }
\ No newline at end of file
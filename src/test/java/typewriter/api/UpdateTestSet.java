@@ -9,6 +9,7 @@
  */
 package typewriter.api;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
@@ -51,6 +52,51 @@ public interface UpdateTestSet extends Testable {
         assert restored.age == 20;
     }
 
+    @Test
+    default void updateAllParallel() {
+        List<Person> models = new ArrayList();
+        for (int i = 0; i < 25; i++) {
+            models.add(new Person("name" + i, i));
+        }
+
+        QueryExecutor<Person, Signal<Person>, ?, ?> dao = createEmptyDB(Person.class);
+        dao.updateAllParallel(models, 4, false);
+        assert dao.count() == 25;
+
+        for (Person model : models) {
+            model.age += 100;
+        }
+        dao.updateAllParallel(models, 4, true);
+        assert dao.count() == 25;
+        assert dao.findBy(models.get(24).getId()).to().exact().age == 124;
+    }
+
+    @Test
+    default void appendAll() {
+        Person model1 = new Person("one", 10);
+        Person model2 = new Person("two", 20);
+
+        QueryExecutor<Person, Signal<Person>, ?, ?> dao = createEmptyDB(Person.class);
+        dao.appendAll(List.of(model1, model2));
+        assert dao.count() == 2;
+        assert dao.findBy(model2.getId()).to().exact().name.equals("two");
+    }
+
+    @Test
+    default void mergeAll() {
+        Person model1 = new Person("one", 10);
+        Person model2 = new Person("two", 20);
+
+        QueryExecutor<Person, Signal<Person>, ?, ?> dao = createEmptyDB(Person.class);
+        dao.appendAll(List.of(model1));
+
+        model1.name = "updated";
+        dao.mergeAll(List.of(model1, model2));
+        assert dao.count() == 2;
+        assert dao.findBy(model1.getId()).to().exact().name.equals("updated");
+        assert dao.findBy(model2.getId()).to().exact().age == 20;
+    }
+
     @Test
     default void updateAll() {
         Person model1 = new Person("one", 10);
@@ -156,6 +202,26 @@ public interface UpdateTestSet extends Testable {
         assert found.name.equals("one");
     }
 
+    @Test
+    default void updateAllSpecifedPropertyOnly() {
+        Person model1 = new Person("one", 10);
+        Person model2 = new Person("two", 20);
+
+        QueryExecutor<Person, Signal<Person>, ?, ?> dao = createEmptyDB(Person.class);
+        dao.updateAll(model1, model2);
+
+        model1.age = 15;
+        model1.name = "don't update";
+        model2.age = 25;
+        dao.updateAll(List.of(model1, model2), Person::getAge);
+
+        List<Person> list = dao.findAll().toList();
+        assert list.get(0).age == 15;
+        assert list.get(0).name.equals("one");
+        assert list.get(1).age == 25;
+        assert list.get(1).name.equals("two");
+    }
+
     /**
      * 
      */
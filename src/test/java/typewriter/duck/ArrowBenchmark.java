@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.duck;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+
+import typewriter.api.Testable;
+import typewriter.api.model.DerivableModel;
+import typewriter.rdb.RDB;
+
+/**
+ * Compare the model decoding with the Arrow record batches on the in-memory DuckDB.
+ */
+public class ArrowBenchmark {
+
+    public static void main(String[] args) {
+        int size = 1000000;
+        List<Item> items = new ArrayList();
+        for (int i = 0; i < size; i++) {
+            items.add(new Item(Testable.random(), i));
+        }
+
+        String url = "jdbc:duckdb::memory:arrow";
+        RDB<Item> dao = new RDB(Item.class, "item", RDB.DuckDB, url);
+        dao.appendAll(items);
+
+        try (BufferAllocator allocator = new RootAllocator()) {
+            for (int i = 0; i < 3; i++) {
+                measure("findBy decoding", size, () -> {
+                    long sum = 0;
+                    for (Item item : dao.findAll().toList()) {
+                        sum += item.amount;
+                    }
+                    return sum;
+                });
+
+                measure("columns", size, () -> dao.columns(Item::getAmount).longs(0).sum());
+
+                measure("arrow batches", size, () -> {
+                    long[] sum = new long[1];
+                    DuckArrow.arrow(dao, allocator).to(root -> {
+                        BigIntVector vector = (BigIntVector) root.getVector("amount");
+                        for (int row = 0; row < root.getRowCount(); row++) {
+                            sum[0] += vector.get(row);
+                        }
+                    });
+                    return sum[0];
+                });
+            }
+        } finally {
+            RDB.release(url);
+        }
+    }
+
+    /**
+     * Measure the elapsed time.
+     *
+     * @param name
+     * @param size
+     * @param task
+     */
+    private static void measure(String name, int size, LongSupplier task) {
+        long start = System.nanoTime();
+        long result = task.getAsLong();
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%-20s %8d ms %12.0f rows/sec (sum %d)%n", name, elapsed / 1000000, size / (elapsed / 1000000000d), result);
+    }
+
+    /**
+     * Benchmark model.
+     */
+    public static class Item extends DerivableModel {
+
+        public String name;
+
+        public long amount;
+
+        public Item() {
+        }
+
+        Item(String name, long amount) {
+            this.name = name;
+            this.amount = amount;
+        }
+
+        public long getAmount() {
+            return amount;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.duck;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.junit.jupiter.api.Test;
+
+import typewriter.api.Testable;
+import typewriter.api.model.DerivableModel;
+import typewriter.rdb.RDB;
+
+public class ArrowTest extends DuckTestBase {
+
+    @Test
+    void batches() {
+        List<Item> items = new ArrayList();
+        for (int i = 0; i < 100; i++) {
+            items.add(new Item("name" + i, i));
+        }
+
+        RDB<Item> dao = createEmptyDB(Item.class);
+        dao.updateAll(items);
+
+        try (BufferAllocator allocator = new RootAllocator()) {
+            List<String> names = new ArrayList();
+            long[] sum = new long[1];
+            DuckArrow.arrow(dao, q -> q.findBy(Item::getAmount, c -> c.isLessThan(50L)), allocator).to(root -> {
+                BigIntVector amounts = (BigIntVector) root.getVector("amount");
+                VarCharVector texts = (VarCharVector) root.getVector("name");
+                for (int row = 0; row < root.getRowCount(); row++) {
+                    sum[0] += amounts.get(row);
+                    names.add(new String(texts.get(row), StandardCharsets.UTF_8));
+                }
+            });
+
+            assert names.size() == 50;
+            assert names.contains("name0");
+            assert names.contains("name49");
+            assert sum[0] == 49 * 50 / 2;
+
+            // the reader releases all buffers after the last batch
+            assert allocator.getAllocatedMemory() == 0;
+        }
+    }
+
+    @Test
+    void releaseOnDisposal() {
+        List<Item> items = new ArrayList();
+        for (int i = 0; i < 100; i++) {
+            items.add(new Item("name" + i, i));
+        }
+
+        RDB<Item> dao = createEmptyDB(Item.class);
+        dao.updateAll(items);
+
+        try (BufferAllocator allocator = new RootAllocator()) {
+            assert DuckArrow.arrow(dao, allocator).take(1).toList().size() == 1;
+
+            // the disposed reader releases the buffers too
+            assert allocator.getAllocatedMemory() == 0;
+        }
+    }
+
+    @Test
+    void rejectOtherDialect() {
+        String url = "jdbc:h2:mem:arrow" + Testable.randomInt();
+
+        try (BufferAllocator allocator = new RootAllocator()) {
+            RDB<Item> dao = new RDB(Item.class, "item", RDB.H2, url);
+            DuckArrow.arrow(dao, allocator);
+            assert false;
+        } catch (UnsupportedOperationException e) {
+            // expected before the query
+        } finally {
+            RDB.release(url);
+        }
+    }
+
+    /**
+     * 
+     */
+    public static class Item extends DerivableModel {
+
+        public String name;
+
+        public long amount;
+
+        public Item() {
+        }
+
+        Item(String name, long amount) {
+            this.name = name;
+            this.amount = amount;
+        }
+
+        public long getAmount() {
+            return amount;
+        }
+    }
+}
\ No newline at end of file
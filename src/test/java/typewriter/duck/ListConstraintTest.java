@@ -9,7 +9,40 @@
  */
 package typewriter.duck;
 
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+
 import typewriter.api.ListConstraintTestSet;
+import typewriter.api.Testable;
+import typewriter.rdb.RDB;
 
 public class ListConstraintTest extends DuckTestBase implements ListConstraintTestSet {
+
+    @Test
+    void migrateQuotedElements() throws Exception {
+        String url = "jdbc:duckdb::memory:legacy" + Testable.randomInt();
+
+        try (Connection connection = RDB.DuckDB.createConnection(url, new Properties());
+                Statement statement = connection.createStatement()) {
+            // the JSON-quoted elements which are written by the previous version
+            statement.execute("CREATE TABLE legacy (id bigint PRIMARY KEY, name varchar, alias varchar[])");
+            statement.execute("INSERT INTO legacy VALUES (1, 'one', ['\"first\"', '\"it''s\"']), (2, 'two', NULL)");
+
+            RDB<Person> dao = new RDB(Person.class, "legacy", RDB.DuckDB, url);
+            assert dao.findBy(1L).to().exact().alias.equals(List.of("first", "it's"));
+            assert dao.findBy(2L).to().exact().alias == null;
+            assert dao.findBy(Person::getAlias, c -> c.contains("it's")).toList().size() == 1;
+
+            // the migrated column is not migrated again
+            dao.update(new Person("three", "\"quoted\""));
+            dao = new RDB(Person.class, "legacy", RDB.DuckDB, url);
+            assert dao.findBy(Person::getAlias, c -> c.contains("\"quoted\"")).toList().size() == 1;
+        } finally {
+            RDB.release(url);
+        }
+    }
 }
\ No newline at end of file
@@ -9,7 +9,33 @@
  */
 package typewriter.duck;
 
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import kiss.I;
 import typewriter.api.StringConstraintTestSet;
+import typewriter.rdb.RDB;
 
 public class StringConstraintTest extends DuckTestBase implements StringConstraintTestSet {
+
+    @Test
+    void matchesAfterTransaction() {
+        Article model1 = I.make(Article.class);
+        model1.text = "quick brown fox";
+        Article model2 = I.make(Article.class);
+        model2.text = "lazy brown dog";
+
+        RDB<Article> dao = createEmptyDB(Article.class);
+        dao.update(model1);
+        assert dao.findBy(Article::getText, c -> c.matches("brown")).toList().size() == 1;
+
+        // the write in the transaction stales the index of the origin
+        dao.transact(on -> {
+            on.update(model2);
+        });
+        List<Article> founds = dao.findBy(Article::getText, c -> c.matches("lazy")).toList();
+        assert founds.size() == 1;
+        assert founds.get(0).equals(model2);
+    }
 }
\ No newline at end of file
@@ -9,7 +9,41 @@
  */
 package typewriter.h2;
 
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import kiss.I;
+import kiss.Signal;
+import typewriter.api.QueryExecutor;
 import typewriter.api.StringConstraintTestSet;
 
 public class StringConstraintTest extends H2TestBase implements StringConstraintTestSet {
+
+    @Test
+    void matchesWildcard() {
+        Article model1 = I.make(Article.class);
+        model1.text = "100% pure";
+        Article model2 = I.make(Article.class);
+        model2.text = "1000 pure";
+        Article model3 = I.make(Article.class);
+        model3.text = "snake_case";
+        Article model4 = I.make(Article.class);
+        model4.text = "snakeXcase";
+
+        QueryExecutor<Article, Signal<Article>, ?, ?> dao = createEmptyDB(Article.class);
+        dao.update(model1);
+        dao.update(model2);
+        dao.update(model3);
+        dao.update(model4);
+
+        // the LIKE wildcards in the words are matched literally
+        List<Article> founds = dao.findBy(Article::getText, c -> c.matches("100%")).toList();
+        assert founds.size() == 1;
+        assert founds.get(0).equals(model1);
+
+        founds = dao.findBy(Article::getText, c -> c.matches("e_c")).toList();
+        assert founds.size() == 1;
+        assert founds.get(0).equals(model3);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.maria;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.RandomUtils;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import psychopath.Directory;
+import psychopath.Locator;
+import typewriter.api.Testable;
+import typewriter.api.model.DerivableModel;
+import typewriter.rdb.RDB;
+
+/**
+ * Compare the multi-row INSERT with LOAD DATA LOCAL INFILE on the embedded MariaDB.
+ */
+public class BulkLoadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int size = 100000;
+        List<Item> items = new ArrayList();
+        for (int i = 0; i < size; i++) {
+            items.add(new Item(Testable.random(), i));
+        }
+
+        Directory dir = Locator.temporaryDirectory();
+        DB db = DB.newEmbeddedDB(DBConfigurationBuilder.newBuilder()
+                .setPort(RandomUtils.secure().randomInt(1024, 49151))
+                .setDataDir(dir.asJavaFile())
+                .setDeletingTemporaryBaseAndDataDirsOnShutdown(true)
+                .build());
+        db.start();
+
+        try {
+            for (int i = 0; i < 3; i++) {
+                String url = "jdbc:mariadb://localhost:" + db.getConfiguration().getPort() + "/bench" + i;
+
+                RDB<Item> insert = new RDB(Item.class, "insert", RDB.MariaDB, url);
+                measure("updateAll by INSERT", size, () -> insert.updateAll(items));
+
+                RDB<Item> load = new RDB(Item.class, "load", RDB.MariaDB, url);
+                measure("appendAll by LOAD", size, () -> load.appendAll(items));
+                measure("mergeAll by LOAD", size, () -> load.mergeAll(items));
+
+                RDB.release(url);
+            }
+        } finally {
+            db.stop();
+            dir.delete();
+        }
+    }
+
+    /**
+     * Measure the elapsed time.
+     *
+     * @param name
+     * @param size
+     * @param task
+     */
+    private static void measure(String name, int size, Runnable task) {
+        long start = System.nanoTime();
+        task.run();
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%-20s %8d ms %10.0f rows/sec%n", name, elapsed / 1000000, size / (elapsed / 1000000000d));
+    }
+
+    /**
+     * Benchmark model.
+     */
+    public static class Item extends DerivableModel {
+
+        public String name;
+
+        public int value;
+
+        public Item() {
+        }
+
+        Item(String name, int value) {
+            this.name = name;
+            this.value = value;
+        }
+    }
+}
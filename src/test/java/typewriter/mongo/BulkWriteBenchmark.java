@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.mongo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import typewriter.api.Testable;
+import typewriter.api.model.DerivableModel;
+
+/**
+ * Compare the round-trip per document with the bulk write on the embedded mongo server.
+ */
+public class BulkWriteBenchmark {
+
+    public static void main(String[] args) {
+        int size = 20000;
+        List<Item> items = new ArrayList();
+        for (int i = 0; i < size; i++) {
+            items.add(new Item(Testable.random(), i));
+        }
+
+        MongoServer server = new MongoServer(new MemoryBackend());
+        try (MongoClient client = MongoClients.create("mongodb:/" + server.bind())) {
+            for (int i = 0; i < 3; i++) {
+                Mongo<Item> single = new Mongo(Item.class, client, "single" + i);
+                measure("update one by one", size, () -> items.forEach(single::update));
+
+                Mongo<Item> bulk = new Mongo(Item.class, client, "bulk" + i);
+                measure("updateAll by bulk", size, () -> bulk.updateAll(items));
+                measure("deleteAll by bulk", size, () -> bulk.deleteAll(items));
+            }
+        } finally {
+            server.shutdownNow();
+        }
+    }
+
+    /**
+     * Measure the elapsed time.
+     *
+     * @param name
+     * @param size
+     * @param task
+     */
+    private static void measure(String name, int size, Runnable task) {
+        long start = System.nanoTime();
+        task.run();
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%-20s %8d ms %10.0f docs/sec%n", name, elapsed / 1000000, size / (elapsed / 1000000000d));
+    }
+
+    /**
+     * Benchmark model.
+     */
+    public static class Item extends DerivableModel {
+
+        public String name;
+
+        public int value;
+
+        public Item() {
+        }
+
+        Item(String name, int value) {
+            this.name = name;
+            this.value = value;
+        }
+    }
+}
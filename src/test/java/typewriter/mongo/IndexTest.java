@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.mongo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.mongodb.MongoException;
+
+import typewriter.api.model.DerivableModel;
+
+public class IndexTest extends MongoTestBase {
+
+    @Test
+    void declaredIndexes() {
+        Mongo<Person> dao = createEmptyDB(Person.class);
+
+        List<String> names = dao.indexes().map(IndexStatus::name).toList();
+        assert names.contains("_id_");
+        assert names.contains("name_1");
+        assert names.contains("age_1_name_-1");
+    }
+
+    @Test
+    void unique() {
+        Mongo<Person> dao = createEmptyDB(Person.class);
+        dao.update(new Person("one", 10));
+
+        assertThrows(MongoException.class, () -> dao.update(new Person("one", 20)));
+        assert dao.count() == 1;
+    }
+
+    @Test
+    void hint() {
+        Person model1 = new Person("one", 10);
+        Person model2 = new Person("two", 20);
+        Mongo<Person> dao = createDB(model1, model2);
+
+        List<Person> founds = dao.findBy(new MongoQuery<Person>().findBy(Person::getAge, v -> v.is(20)).hint(Person::getName)).toList();
+        assert founds.size() == 1;
+        assert founds.get(0).name.equals("two");
+    }
+
+    /**
+     * 
+     */
+    @Index({"age", "-name"})
+    public static class Person extends DerivableModel {
+
+        @Index(unique = true)
+        public String name;
+
+        public int age;
+
+        /**
+         * Create empty model.
+         */
+        public Person() {
+        }
+
+        /**
+         * @param name
+         * @param age
+         */
+        public Person(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        /**
+         * Get the name property of this {@link IndexTest.Person}.
+         * 
+         * @return The name property.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Get the age property of this {@link IndexTest.Person}.
+         * 
+         * @return The age property.
+         */
+        public int getAge() {
+            return age;
+        }
+    }
+}
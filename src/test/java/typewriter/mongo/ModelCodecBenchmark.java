@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.mongo;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.io.BasicOutputBuffer;
+
+import com.mongodb.MongoClientSettings;
+import com.sun.management.ThreadMXBean;
+
+import kiss.I;
+import kiss.Model;
+import kiss.Property;
+import typewriter.api.Testable;
+import typewriter.api.model.DerivableModel;
+
+/**
+ * Compare the direct model codec with the intermediate {@link Document} conversion.
+ */
+public class ModelCodecBenchmark {
+
+    private static final CodecRegistry registry = CodecRegistries
+            .fromRegistries(CodecRegistries.fromProviders(ModelCodec.PROVIDER), MongoClientSettings.getDefaultCodecRegistry());
+
+    private static final ThreadMXBean thread = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+        int size = 100000;
+        List<Item> items = new ArrayList();
+        for (int i = 0; i < size; i++) {
+            items.add(new Item(Testable.random(), i, i % 2 == 0 ? Kind.A : Kind.B));
+        }
+
+        Codec<Item> codec = registry.get(Item.class);
+        Codec<Document> document = registry.get(Document.class);
+        Model<Item> model = Model.of(Item.class);
+
+        for (int i = 0; i < 5; i++) {
+            measure("model codec", size, () -> {
+                for (Item item : items) {
+                    codec.decode(reader(write(codec, item)), DecoderContext.builder().build());
+                }
+            });
+
+            measure("document", size, () -> {
+                for (Item item : items) {
+                    Document doc = new Document();
+                    model.walk(item, (m, p, v) -> doc.put(p.name, p.model.type.isEnum() ? I.transform(v, String.class) : v));
+
+                    Document decoded = document.decode(reader(write(document, doc)), DecoderContext.builder().build());
+                    Item object = I.make(Item.class);
+                    for (Entry<String, Object> entry : decoded.entrySet()) {
+                        Property property = model.property(entry.getKey());
+                        Object value = entry.getValue();
+                        if (property.model.type.isEnum()) value = I.transform(value, property.model.type);
+                        object = model.set(object, property, value);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Encode to binary.
+     */
+    private static <T> BasicOutputBuffer write(Codec<T> codec, T value) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        codec.encode(new BsonBinaryWriter(buffer), value, EncoderContext.builder().build());
+        return buffer;
+    }
+
+    /**
+     * Decode from binary.
+     */
+    private static BsonBinaryReader reader(BasicOutputBuffer buffer) {
+        return new BsonBinaryReader(ByteBuffer.wrap(buffer.toByteArray()));
+    }
+
+    /**
+     * Measure the elapsed time and the allocated memory.
+     *
+     * @param name
+     * @param size
+     * @param task
+     */
+    private static void measure(String name, int size, Runnable task) {
+        long id = Thread.currentThread().threadId();
+        long memory = thread.getThreadAllocatedBytes(id);
+        long start = System.nanoTime();
+        task.run();
+        long elapsed = System.nanoTime() - start;
+        long allocated = thread.getThreadAllocatedBytes(id) - memory;
+
+        System.out.printf("%-12s %6d ms %10.0f docs/sec %8d bytes/doc%n", name, elapsed / 1000000, size / (elapsed / 1000000000d), allocated / size);
+    }
+
+    /**
+     * Benchmark model.
+     */
+    public static class Item extends DerivableModel {
+
+        public String name;
+
+        public int value;
+
+        public Kind kind;
+
+        public Item() {
+        }
+
+        Item(String name, int value, Kind kind) {
+            this.name = name;
+            this.value = value;
+            this.kind = kind;
+        }
+    }
+
+    /**
+     * Benchmark enum.
+     */
+    public enum Kind {
+        A, B;
+    }
+}
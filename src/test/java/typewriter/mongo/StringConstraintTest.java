@@ -9,7 +9,67 @@
  */
 package typewriter.mongo;
 
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import kiss.I;
+import typewriter.api.FullText;
 import typewriter.api.StringConstraintTestSet;
+import typewriter.api.model.DerivableModel;
 
 public class StringConstraintTest extends MongoTestBase implements StringConstraintTestSet {
+
+    @Test
+    void matchesSpecifiedProperty() {
+        Post model1 = I.make(Post.class);
+        model1.title = "brown fox";
+        model1.body = "quick silver";
+        Post model2 = I.make(Post.class);
+        model2.title = "lazy dog";
+        model2.body = "quick brown";
+
+        Mongo<Post> dao = createEmptyDB(Post.class);
+        dao.update(model1);
+        dao.update(model2);
+
+        // the text index covers both properties, but only the specified one is matched
+        List<Post> founds = dao.findBy(Post::getTitle, c -> c.matches("brown")).toList();
+        assert founds.size() == 1;
+        assert founds.get(0).equals(model1);
+
+        founds = dao.findBy(Post::getBody, c -> c.matches("brown")).toList();
+        assert founds.size() == 1;
+        assert founds.get(0).equals(model2);
+    }
+
+    /**
+     * 
+     */
+    public static class Post extends DerivableModel {
+
+        @FullText
+        public String title;
+
+        @FullText
+        public String body;
+
+        /**
+         * Get the title property of this {@link StringConstraintTest.Post}.
+         * 
+         * @return The title property.
+         */
+        public String getTitle() {
+            return title;
+        }
+
+        /**
+         * Get the body property of this {@link StringConstraintTest.Post}.
+         * 
+         * @return The body property.
+         */
+        public String getBody() {
+            return body;
+        }
+    }
 }
\ No newline at end of file
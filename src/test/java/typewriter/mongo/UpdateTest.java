@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.mongo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import typewriter.api.UpdateTestSet;
+
+public class UpdateTest extends MongoTestBase implements UpdateTestSet {
+
+    @Test
+    void updateAllOverBulkSize() {
+        List<Person> models = new ArrayList();
+        for (int i = 0; i < 2500; i++) {
+            models.add(new Person("name" + i, i));
+        }
+
+        Mongo<Person> dao = createEmptyDB(Person.class);
+        dao.updateAll(models);
+        assert dao.count() == 2500;
+
+        // replace
+        for (Person model : models) {
+            model.age += 10000;
+        }
+        dao.updateAll(models);
+        assert dao.count() == 2500;
+        assert dao.findBy(models.get(0).getId()).to().exact().age == 10000;
+        assert dao.findBy(models.get(2499).getId()).to().exact().age == 12499;
+
+        // update the specified property only
+        for (Person model : models) {
+            model.age = 0;
+            model.name = "updated";
+        }
+        dao.updateAll(models, Person::getName);
+        assert dao.count() == 2500;
+        Person found = dao.findBy(models.get(1500).getId()).to().exact();
+        assert found.name.equals("updated");
+        assert found.age == 11500;
+    }
+}
\ No newline at end of file
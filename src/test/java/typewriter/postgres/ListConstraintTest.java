@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.postgres;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+
+import typewriter.api.ListConstraintTestSet;
+import typewriter.api.Testable;
+import typewriter.rdb.Dialect;
+import typewriter.rdb.RDB;
+
+public class ListConstraintTest extends PostgresTestBase implements ListConstraintTestSet {
+
+    @Test
+    void migrateJSONText() throws Exception {
+        try (Connection connection = RDB.PostgreSQL.createConnection(url, new Properties());
+                Statement statement = connection.createStatement()) {
+            // the list column which is written by the previous version
+            statement.execute("DROP TABLE IF EXISTS \"legacy\"");
+            statement.execute("CREATE TABLE \"legacy\" (id bigint PRIMARY KEY, name varchar, alias varchar)");
+            statement.execute("INSERT INTO \"legacy\" VALUES (1, 'one', '[\"first\",\"it''s\"]'), (2, 'two', NULL)");
+
+            RDB<Person> dao = createEmptyDB(Person.class, "legacy");
+            assert dao.findBy(1L).to().exact().alias.equals(List.of("first", "it's"));
+            assert dao.findBy(2L).to().exact().alias == null;
+            assert dao.findBy(Person::getAlias, c -> c.contains("it's")).toList().size() == 1;
+            assert dao.findBy(Person::getAlias, c -> c.size(2)).toList().size() == 1;
+        }
+    }
+
+    @Test
+    void indexByGIN() throws Exception {
+        String name = "gin" + Testable.randomInt();
+        createEmptyDB(Person.class, name);
+
+        try (Connection connection = RDB.PostgreSQL.createConnection(url, new Properties());
+                PreparedStatement statement = connection.prepareStatement("SELECT indexdef FROM pg_indexes WHERE indexname = ?")) {
+            statement.setString(1, Dialect.listTableName(name, "alias"));
+            try (ResultSet result = statement.executeQuery()) {
+                assert result.next();
+                assert result.getString(1).contains("USING gin");
+            }
+        }
+    }
+}
\ No newline at end of file
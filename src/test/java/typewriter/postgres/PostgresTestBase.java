@@ -22,7 +22,8 @@ public class PostgresTestBase implements Testable {
     /** The test database. */
     private static EmbeddedPostgres db;
 
-    private static String url;
+    /** The test database address. */
+    static String url;
 
     static {
         try {
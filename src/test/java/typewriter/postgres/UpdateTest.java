@@ -9,7 +9,31 @@
  */
 package typewriter.postgres;
 
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
 import typewriter.api.UpdateTestSet;
+import typewriter.rdb.RDB;
 
 public class UpdateTest extends PostgresTestBase implements UpdateTestSet {
+
+    @Test
+    void appendAllRollsBackOnFailure() {
+        Person model1 = new Person("one", 10);
+        Person model2 = new Person("two", 20);
+
+        RDB<Person> dao = createEmptyDB(Person.class);
+        dao.appendAll(List.of(model1));
+
+        // the duplicated identifier fails the whole append
+        try {
+            dao.appendAll(List.of(model2, model1));
+            assert false;
+        } catch (Exception e) {
+            // expected
+        }
+        assert dao.count() == 1;
+        assert dao.findBy(model2.getId()).to().isAbsent();
+    }
 }
\ No newline at end of file
@@ -9,7 +9,62 @@
  */
 package typewriter.sqlite;
 
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
 import typewriter.api.AccumulableTestSet;
+import typewriter.api.Statistics;
+import typewriter.api.Testable;
+import typewriter.api.model.DerivableModel;
+import typewriter.rdb.RDB;
 
 public class AccumulableTest extends SQLiteTestBase implements AccumulableTestSet {
+
+    @Test
+    void statisticsWithPartialIndex() throws Exception {
+        String url = "jdbc:sqlite:file:stats" + Testable.randomInt() + "?mode=memory&cache=shared";
+
+        try (Connection connection = RDB.SQLite.createConnection(url, new Properties());
+                Statement statement = connection.createStatement()) {
+            RDB<Item> dao = new RDB(Item.class, "item", RDB.SQLite, url);
+            dao.updateAll(new Item("A", 10), new Item(null, 20), new Item("B", 30), new Item("B", 40));
+
+            // the partial index counts only the named rows
+            statement.execute("CREATE INDEX item_name ON item (name) WHERE name IS NOT NULL");
+            statement.execute("ANALYZE");
+
+            assert dao.estimatedCount() == 4;
+
+            // the catalog knows only the indexed column, the others are scanned
+            Statistics statistics = dao.statistics();
+            assert statistics.rows() == 4;
+            assert statistics.columns().keySet().equals(Set.of("id", "name", "age"));
+            assert statistics.columns().get("age").nullFraction() == 0;
+            assert statistics.columns().get("age").distinct() == 4;
+        } finally {
+            RDB.release(url);
+        }
+    }
+
+    /**
+     * 
+     */
+    public static class Item extends DerivableModel {
+
+        public String name;
+
+        public int age;
+
+        public Item() {
+        }
+
+        Item(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+    }
 }
\ No newline at end of file
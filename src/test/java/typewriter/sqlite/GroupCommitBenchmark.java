@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.sqlite;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import kiss.I;
+import typewriter.api.Testable;
+import typewriter.api.model.DerivableModel;
+import typewriter.rdb.RDB;
+
+/**
+ * Compare the mixed read/write throughput of the single connection with the WAL readers and the
+ * group commit writer on the file database.
+ */
+public class GroupCommitBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int clients = 32;
+        int operations = 500;
+        Path dir = Files.createTempDirectory("typewriter");
+
+        for (int i = 0; i < 3; i++) {
+            String single = "jdbc:sqlite:" + dir.resolve("single" + i + ".db");
+            measure("single connection", clients, operations, new RDB(Item.class, "item", RDB.SQLite, single));
+            RDB.release(single);
+
+            String group = "jdbc:sqlite:" + dir.resolve("group" + i + ".db");
+            I.env("typewriter.sqlite.wal." + group, true);
+            measure("WAL + group commit", clients, operations, new RDB(Item.class, "item", RDB.SQLite, group));
+            RDB.release(group);
+        }
+    }
+
+    /**
+     * Measure the throughput of the concurrent clients which read 4 times per write.
+     *
+     * @param name
+     * @param clients
+     * @param operations
+     * @param dao
+     */
+    private static void measure(String name, int clients, int operations, RDB<Item> dao) throws Exception {
+        List<Item> items = new ArrayList();
+        for (int i = 0; i < 1000; i++) {
+            items.add(new Item(Testable.random(), i));
+        }
+        dao.updateAll(items);
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future> futures = new ArrayList();
+            for (int c = 0; c < clients; c++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int o = 0; o < operations; o++) {
+                        Item item = items.get(random.nextInt(items.size()));
+                        if (o % 5 == 0) {
+                            item.value++;
+                            dao.update(item);
+                        } else {
+                            dao.findBy(item.getId()).to();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future future : futures) {
+                future.get();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        int size = clients * operations;
+
+        System.out.printf("%-20s %8d ms %10.0f ops/sec%n", name, elapsed / 1000000, size / (elapsed / 1000000000d));
+    }
+
+    /**
+     * Benchmark model.
+     */
+    public static class Item extends DerivableModel {
+
+        public String name;
+
+        public int value;
+
+        public Item() {
+        }
+
+        Item(String name, int value) {
+            this.name = name;
+            this.value = value;
+        }
+    }
+}
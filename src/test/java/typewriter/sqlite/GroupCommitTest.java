@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.sqlite;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import kiss.Signal;
+import typewriter.api.QueryExecutor;
+import typewriter.api.model.DerivableModel;
+
+public class GroupCommitTest extends SQLiteWALTestBase {
+
+    @Test
+    void concurrentWriters() throws Exception {
+        QueryExecutor<Item, Signal<Item>, ?, ?> dao = createEmptyDB(Item.class);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future> futures = new ArrayList();
+            for (int c = 0; c < 32; c++) {
+                int client = c;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        Item item = new Item("client" + client, i);
+                        dao.update(item);
+                        assert dao.findBy(item.getId()).to().exact().value == i;
+                    }
+                    return null;
+                }));
+            }
+
+            // any SQLITE_BUSY fails here
+            for (Future future : futures) {
+                future.get();
+            }
+        }
+        assert dao.count() == 32 * 50;
+    }
+
+    @Test
+    void rollbackFailedTaskOnly() throws Exception {
+        QueryExecutor<Item, Signal<Item>, ?, ?> dao = createEmptyDB(Item.class);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future> futures = new ArrayList();
+            for (int c = 0; c < 32; c++) {
+                int client = c;
+                futures.add(executor.submit(() -> {
+                    dao.transact(on -> {
+                        on.update(new Item("client" + client, client));
+
+                        // the odd transactions fail after writing
+                        if (client % 2 == 1) {
+                            throw new IllegalStateException("rollback " + client);
+                        }
+                    });
+                    return null;
+                }));
+            }
+
+            int failed = 0;
+            for (Future future : futures) {
+                try {
+                    future.get();
+                } catch (Exception e) {
+                    failed++;
+                }
+            }
+            assert failed == 16;
+        }
+
+        // the statements in the same group as the failed ones are committed
+        assert dao.count() == 16;
+        assert dao.findAll().toList().stream().allMatch(item -> item.value % 2 == 0);
+    }
+
+    @Test
+    void writeAfterFailure() {
+        QueryExecutor<Item, Signal<Item>, ?, ?> dao = createEmptyDB(Item.class);
+
+        try {
+            dao.transact(on -> {
+                on.update(new Item("one", 1));
+                throw new IllegalStateException();
+            });
+            assert false;
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        // the writer keeps writing after the failure
+        dao.update(new Item("two", 2));
+        assert dao.count() == 1;
+    }
+
+    @Test
+    void writeInTransaction() {
+        QueryExecutor<Item, Signal<Item>, ?, ?> dao = createEmptyDB(Item.class);
+
+        // the original executor writes on the writer thread
+        dao.transact(on -> {
+            on.update(new Item("one", 1));
+            dao.update(new Item("two", 2));
+        });
+        assert dao.count() == 2;
+
+        // the failed transaction rolls back the nested write too
+        try {
+            dao.transact(on -> {
+                dao.update(new Item("three", 3));
+                throw new IllegalStateException();
+            });
+            assert false;
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assert dao.count() == 2;
+    }
+
+    /**
+     * 
+     */
+    public static class Item extends DerivableModel {
+
+        public String name;
+
+        public int value;
+
+        public Item() {
+        }
+
+        Item(String name, int value) {
+            this.name = name;
+            this.value = value;
+        }
+    }
+}
\ No newline at end of file
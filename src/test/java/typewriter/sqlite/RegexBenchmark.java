@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.sqlite;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import typewriter.api.Testable;
+import typewriter.api.model.DerivableModel;
+import typewriter.rdb.RDB;
+
+/**
+ * Compare the regular expression search on 1M rows with and without the literal prefilter. The
+ * inline flag group disables the prefilter of the equivalent expression.
+ */
+public class RegexBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Path dir = Files.createTempDirectory("typewriter");
+        RDB<Item> dao = new RDB(Item.class, "item", RDB.SQLite, "jdbc:sqlite:" + dir.resolve("regex.db"));
+
+        List<Item> items = new ArrayList();
+        for (int i = 0; i < 1000000; i++) {
+            items.add(new Item(Testable.random() + " " + Testable.random()));
+            if (items.size() == 100000) {
+                dao.updateAll(items);
+                items.clear();
+            }
+        }
+
+        for (int i = 0; i < 5; i++) {
+            measure("REGEXP only", dao, "(?-i)^abc.*xyz");
+            measure("LIKE prefilter", dao, "^abc.*xyz");
+        }
+    }
+
+    /**
+     * Measure the search time.
+     *
+     * @param name
+     * @param dao
+     * @param regex
+     */
+    private static void measure(String name, RDB<Item> dao, String regex) {
+        long start = System.nanoTime();
+        int size = dao.findBy(Item::getText, c -> c.regex(regex)).toList().size();
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%-16s %8d ms %8d rows%n", name, elapsed / 1000000, size);
+    }
+
+    /**
+     * Benchmark model.
+     */
+    public static class Item extends DerivableModel {
+
+        public String text;
+
+        public Item() {
+        }
+
+        Item(String text) {
+            this.text = text;
+        }
+
+        public String getText() {
+            return text;
+        }
+    }
+}
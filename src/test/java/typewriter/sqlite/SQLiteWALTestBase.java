@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.sqlite;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInfo;
+
+import kiss.I;
+import kiss.Signal;
+import typewriter.api.Identifiable;
+import typewriter.api.QueryExecutor;
+import typewriter.api.Testable;
+import typewriter.rdb.RDB;
+
+/**
+ * The file database in WAL mode, which reads on the pooled connections and writes by the group
+ * commit writer.
+ */
+public class SQLiteWALTestBase implements Testable {
+
+    /** The temporary database file. */
+    private Path file;
+
+    /** The temporary database address. */
+    private String db;
+
+    @BeforeEach
+    void setup(TestInfo info) throws Exception {
+        file = Files.createTempFile("typewriter", ".db");
+        db = "jdbc:sqlite:" + file;
+
+        I.env("typewriter.sqlite.wal." + db, true);
+        Testable.configure(info, db);
+    }
+
+    @AfterEach
+    void cleanup() throws Exception {
+        RDB.release(db);
+
+        for (String suffix : new String[] {"", "-wal", "-shm"}) {
+            Files.deleteIfExists(Path.of(file + suffix));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <M extends Identifiable, Q extends QueryExecutor<M, Signal<M>, ?, Q>> Q createEmptyDB(Class<M> type, String name) {
+        return (Q) new RDB(type, name, RDB.SQLite, db);
+    }
+}
\ No newline at end of file
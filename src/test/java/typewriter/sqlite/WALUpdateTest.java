@@ -0,0 +1,15 @@
+/*
+ * Copyright (C) 2025 The TYPEWRITER Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package typewriter.sqlite;
+
+import typewriter.api.UpdateTestSet;
+
+public class WALUpdateTest extends SQLiteWALTestBase implements UpdateTestSet {
+}
\ No newline at end of file
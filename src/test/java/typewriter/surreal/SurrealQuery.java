@@ -192,6 +192,15 @@ public class SurrealQuery<M> implements Queryable<M, SurrealQuery<M>> {
         return findBy(constraint.apply(new ForList(specifier)));
     }
 
+    /**
+     * The projection is not supported yet, so reject it rather than returning the full models
+     * silently.
+     */
+    @Override
+    public SurrealQuery<M> select(Specifier<M, ?>... specifiers) {
+        throw new UnsupportedOperationException("SurrealDB doesn't support projection.");
+    }
+
     /**
      * {@inheritDoc}
      */